@@ -0,0 +1,6 @@
+package yw.monsterInc.Product.constant;
+
+public enum ProductImportFormat {
+    NDJSON, // 한 줄에 JSON 객체 하나
+    CSV     // 첫 줄은 헤더 (name,imageUrl,modelUrl,monWidth,monHigh,basePrice,status)
+}
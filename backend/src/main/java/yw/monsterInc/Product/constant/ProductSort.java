@@ -0,0 +1,8 @@
+package yw.monsterInc.Product.constant;
+
+public enum ProductSort {
+    PRICE_ASC,
+    PRICE_DESC,
+    NEWEST,
+    OLDEST
+}
@@ -1,16 +1,37 @@
 package yw.monsterInc.Product.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import yw.monsterInc.Product.constant.ProductImportFormat;
 import yw.monsterInc.Product.dto.*;
+import yw.monsterInc.Product.entity.MaterialProperties;
 import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.service.CatalogSnapshot;
+import yw.monsterInc.Product.service.CatalogSnapshotService;
+import yw.monsterInc.Product.service.PopularConfigurationService;
+import yw.monsterInc.Product.service.ProductCounterService;
+import yw.monsterInc.Product.service.ProductImportService;
 import yw.monsterInc.Product.service.ProductService;
+import yw.monsterInc.Product.service.ResolvedConfigurationService;
+import yw.monsterInc.global.AcceptEncoding;
 import yw.monsterInc.global.CustomUserDetails;
+import yw.monsterInc.global.EntityTags;
+import yw.monsterInc.global.exception.CustomException;
+import yw.monsterInc.global.json.JsonPatches;
+import yw.monsterInc.member.constant.MemberRole;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/products") // 이 컨트롤러의 모든 API는 '/api'로 시작
@@ -19,6 +40,20 @@ public class ProductController {
 
     // final로 선언해서 의존성 주입을 받을 Service (아직 만들진 않았어)
     private final ProductService productService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductImportService productImportService;
+    private final ProductCounterService productCounterService;
+    private final PopularConfigurationService popularConfigurationService;
+    private final ResolvedConfigurationService resolvedConfigurationService;
+
+    /**
+     * 상품 상세 일괄 조회 (주문 내역, 저장 옵션 목록처럼 여러 상품이 필요한 화면용)
+     * 예: /api/products/batch?ids=3,1,7 → 요청 순서대로 응답, 없는 상품은 missingIds
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ProductBatchResponseDto> getProductDetails(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.findProductsByIds(ids));
+    }
 
     /**
      * ✅ [추가] 상품 상세 정보를 조회하는 API
@@ -28,21 +63,257 @@ public class ProductController {
     public ResponseEntity<ProductDetailDto> getProductDetail(@PathVariable Long productId) {
         // 1. Service에게 상품 조회를 위임
         ProductDetailDto productDto = productService.findProductById(productId);
+        productCounterService.recordView(productId); // 존재하는 상품만 집계 (없으면 위에서 404)
 
         // 2. 조회된 DTO를 ResponseEntity에 담아 성공(200 OK) 상태와 함께 반환
         return ResponseEntity.ok(productDto);
     }
 
-    @GetMapping("/grid") // GET /api/products 요청을 처리
-    public List<ProductResponseDto> getProducts() {
-        // Service에게 상품 목록 조회를 위임하고, 결과를 그대로 반환.
-        return productService.findAllProducts();
+    /**
+     * 커스터마이저 진입 기록. 상세 페이지에서 모델이 로드되어 파츠 편집이 가능해졌을 때 호출된다.
+     */
+    @PostMapping("/{productId}/configurator-opens")
+    public ResponseEntity<Void> recordConfiguratorOpen(@PathVariable Long productId) {
+        productService.findProductById(productId); // 캐시 조회, 없는 상품이면 404
+        productCounterService.recordConfiguratorOpen(productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 상품 조회수 / 커스터마이저 진입 수 조회
+     */
+    @GetMapping("/{productId}/counters")
+    public ResponseEntity<ProductCounterDto> getProductCounters(@PathVariable Long productId) {
+        return ResponseEntity.ok(productCounterService.getCounts(productId));
+    }
+
+    /**
+     * 전체 상품 카운터 (관리자 전용, 조회수 많은 순)
+     */
+    @GetMapping("/counters")
+    public ResponseEntity<List<ProductCounterDto>> getAllProductCounters(
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(productCounterService.getAllCounts());
+    }
+
+    /**
+     * 이 상품에서 많이 저장/주문된 재질 조합 (근사치, 많은 순)
+     */
+    @GetMapping("/{productId}/popular-configurations")
+    public ResponseEntity<List<PopularConfigurationDto>> getPopularConfigurations(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(popularConfigurationService.getTopConfigurations(productId, Math.max(limit, 1)));
+    }
+
+    /**
+     * 상품 그리드 목록 API
+     * 미리 직렬화/압축해 둔 카탈로그 스냅샷 바이트를 그대로 내려준다. (DB 조회, JSON 직렬화 없음)
+     */
+    @GetMapping("/grid")
+    public ResponseEntity<byte[]> getProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        boolean notModified = EntityTags.matchesIfNoneMatch(ifNoneMatch, snapshot.getEtag());
+
+        // 304도 200과 같은 캐시 헤더를 보내야 클라이언트가 저장해 둔 헤더를 갱신한다.
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache()) // 캐시는 하되 매번 ETag로 재검증
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header("X-Catalog-Version", String.valueOf(snapshot.getVersion()));
+
+        // 1. 클라이언트가 들고 있는 버전과 같으면 304로 본문 없이 응답
+        if (notModified) {
+            return builder.build();
+        }
+
+        // 2. Accept-Encoding에 맞는 압축본 선택 (br > gzip > 원본)
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (snapshot.hasBrotli() && AcceptEncoding.accepts(acceptEncoding, "br")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "br").body(snapshot.getBrotli());
+        }
+        if (AcceptEncoding.accepts(acceptEncoding, "gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return builder.body(snapshot.getJson());
+    }
+
+    /**
+     * 상품 그리드 페이지 조회 API (필터 + 정렬 + 커서 페이징)
+     * 첫 페이지는 cursor 없이 요청하고, 이후에는 응답의 nextCursor를 그대로 넘긴다.
+     */
+    @GetMapping("/grid/page")
+    public ResponseEntity<ProductGridPageDto> getProductGridPage(@ModelAttribute ProductGridRequestDto condition) {
+        return ResponseEntity.ok(productService.findProductGridPage(condition));
+    }
+
+    /**
+     * 상품 판매 상태 변경 API (관리자 전용)
+     */
+    @PatchMapping("/{productId}/status")
+    public ResponseEntity<Void> changeProductStatus(
+            @PathVariable Long productId,
+            @RequestBody ProductStatusUpdateDto requestDto,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        productService.changeProductStatus(productId, requestDto.getStatus());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 상품 재고 변경 API (관리자 전용). stock이 null이면 재고 제한 해제
+     */
+    @PatchMapping("/{productId}/stock")
+    public ResponseEntity<Void> changeProductStock(
+            @PathVariable Long productId,
+            @RequestBody ProductStockUpdateDto requestDto,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        productService.changeProductStock(productId, requestDto.getStock());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 상품 기본 재질 맵 교체 API (관리자 전용)
+     */
+    @PutMapping("/{productId}/materials")
+    public ResponseEntity<Void> updateProductMaterials(
+            @PathVariable Long productId,
+            @RequestBody Map<String, MaterialProperties> materialMap,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        productService.updateProductMaterials(productId, materialMap);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 상품 대량 등록 API (관리자 전용)
+     * 요청 본문을 NDJSON(한 줄에 상품 하나) 또는 CSV로 받아 스트리밍으로 처리한다. multipart가 아니라 본문 그대로 보낸다.
+     * format 파라미터가 없으면 Content-Type(text/csv)으로 판단한다.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ProductImportResultDto> importProducts(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) throws IOException {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ProductImportFormat importFormat;
+        if (format != null) {
+            try {
+                importFormat = ProductImportFormat.valueOf(format.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        } else {
+            String contentType = request.getContentType();
+            importFormat = contentType != null && contentType.contains("csv") ? ProductImportFormat.CSV : ProductImportFormat.NDJSON;
+        }
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(productImportService.importProducts(body, importFormat));
+        }
+    }
+
+    /**
+     * 대량 등록 작업 목록 / 진행 상황 조회 (관리자 전용)
+     */
+    @GetMapping("/import")
+    public ResponseEntity<List<ProductImportResultDto>> getImportJobs(
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(productImportService.findJobs());
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ProductImportResultDto> getImportJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return productImportService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{productId}/options")
+    public List<OptionDto> getProductOption(@PathVariable Long productId){
+        return productService.findOptionsByProductId(productId);
+    }
+
+    /**
+     * 상품 옵션 목록 교체 API (관리자 전용)
+     */
+    @PutMapping("/{productId}/options")
+    public ResponseEntity<Void> replaceProductOptions(
+            @PathVariable Long productId,
+            @RequestBody List<OptionDto> options,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        productService.replaceProductOptions(productId, options);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 커스터마이저 견적 API. 옵션을 바꿀 때마다 호출해도 되도록 캐시된 가격표로 계산한다.
+     */
+    @PostMapping("/{productId}/quote")
+    public ResponseEntity<PriceQuoteDto> quote(
+            @PathVariable Long productId,
+            @RequestBody PriceQuoteRequestDto requestDto
+    ) {
+        return ResponseEntity.ok(productService.quote(productId, requestDto.getSelectedOptions()));
     }
-//
-//    @GetMapping("{productId}/options")
-//    public List<OptionDto> getProductOption(@PathVariable Long productId){
-//        return productService.findOptionsByProductId(productId);
-//    }
 
     @PostMapping("/options")
     public ResponseEntity<SaveOptionResponseDto> saveSelectedOptions(
@@ -76,4 +347,102 @@ public class ProductController {
         return ResponseEntity.ok(myOptions);
     }
 
+    /**
+     * 저장 옵션의 재질을 기본값까지 펼친 전체 JSON으로 조회 (목록에는 델타만 내려가므로 필요할 때만 호출)
+     */
+    @GetMapping(value = "/me/saved-options/{saveOptionId}/materials", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getExpandedMaterials(
+            @PathVariable Long saveOptionId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        SavedOptionMaterialsDto materials = productService.findExpandedMaterialOverrides(saveOptionId, userDetails.getMember().getId());
+        return ResponseEntity.ok()
+                .eTag(materials.getEtag()) // PATCH 때 If-Match로 그대로 보내면 된다
+                .body(materials.getMaterialOverrides() == null ? "{}" : materials.getMaterialOverrides());
+    }
+
+    /**
+     * 저장 옵션 재질 부분 수정 (자동 저장용). 바꾼 파츠만 보낸다.
+     * - Content-Type: application/json-patch+json  → [{"op":"replace","path":"/Body/color","value":"#ff0000"}]
+     * - Content-Type: application/merge-patch+json → {"Body":{"color":"#ff0000"}}  (null이면 기본값으로 되돌림)
+     * If-Match에 마지막으로 받은 ETag가 필요하다. (없으면 428, 그 사이 다른 탭에서 고쳤으면 412)
+     */
+    @PatchMapping(value = "/me/saved-options/{saveOptionId}/materials",
+            consumes = {JsonPatches.JSON_PATCH, JsonPatches.MERGE_PATCH},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> patchMaterials(
+            @PathVariable Long saveOptionId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request
+    ) throws IOException {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match 헤더가 필요합니다.");
+        }
+        SavedOptionMaterialsDto materials = productService.patchMaterialOverrides(
+                saveOptionId, userDetails.getMember().getId(), parseVersion(ifMatch), contentType, request.getInputStream());
+        return ResponseEntity.ok()
+                .eTag(materials.getEtag())
+                .body(materials.getMaterialOverrides() == null ? "{}" : materials.getMaterialOverrides());
+    }
+
+    // If-Match: "3" 또는 W/"3" → 3. 숫자가 아니면 어떤 버전과도 맞지 않는다.
+    private static Long parseVersion(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new CustomException("다른 곳에서 먼저 수정된 옵션입니다. 다시 불러온 뒤 수정해주세요.", 412);
+        }
+    }
+
+    /**
+     * 해시로 재질 설정 조회. 내용 기반 주소라서 바뀌지 않으므로 영구 캐시를 허용한다.
+     */
+    @GetMapping(value = "/material-configs/{contentHash}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getMaterialConfig(
+            @PathVariable String contentHash,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        String etag = "\"" + contentHash + "\"";
+        CacheControl immutable = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        if (EntityTags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(immutable).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(immutable)
+                .body(productService.findMaterialConfigJson(contentHash));
+    }
+
+    /**
+     * 저장 옵션을 바로 렌더링할 수 있는 해석된 설정 (기본값 스냅샷 + 델타). 델타가 없으면 deltaHash 자리에 "-".
+     * 두 해시로 내용이 결정되므로 공유/재주문한 디자인을 열 때도 캐시된 GET 한 번이면 된다.
+     */
+    @GetMapping(value = "/resolved-configs/{baseHash}/{deltaHash}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getResolvedConfiguration(
+            @PathVariable String baseHash,
+            @PathVariable String deltaHash,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        String etag = ResolvedConfigurationService.etagOf(baseHash, deltaHash);
+        CacheControl immutable = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        if (EntityTags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(immutable).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(immutable)
+                .body(resolvedConfigurationService.resolve(baseHash, deltaHash));
+    }
 }
@@ -0,0 +1,11 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PopularConfigurationDto {
+    private String configHash;   // /api/products/material-configs/{hash} 로 델타를 받을 수 있음. null이면 기본 재질
+    private long estimatedCount; // 저장/주문 가중 합의 근사치 (실제보다 작게 나오지는 않음)
+}
@@ -0,0 +1,25 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import yw.monsterInc.Product.constant.OptionCategory;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PriceQuoteDto {
+    private Long productId;
+    private int basePrice;
+    private List<Line> lines;
+    private int totalPrice;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Line {
+        private OptionCategory category;
+        private Long optionId;
+        private String optionName;
+        private int price;
+    }
+}
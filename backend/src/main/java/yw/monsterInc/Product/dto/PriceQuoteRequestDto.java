@@ -0,0 +1,17 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import yw.monsterInc.Product.constant.OptionCategory;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PriceQuoteRequestDto {
+    // 카테고리별로 고른 옵션 ID (선택하지 않은 카테고리는 빼면 된다)
+    private Map<OptionCategory, Long> selectedOptions = new EnumMap<>(OptionCategory.class);
+}
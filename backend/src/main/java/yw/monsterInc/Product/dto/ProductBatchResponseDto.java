@@ -0,0 +1,16 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 일괄 조회 응답. products는 요청한 id 순서(중복 제거)대로, 없는 상품 id는 missingIds로 따로 알려준다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductBatchResponseDto {
+    private List<ProductDetailDto> products;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,12 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductCounterDto {
+    private Long productId;
+    private long viewCount;
+    private long configuratorOpenCount;
+}
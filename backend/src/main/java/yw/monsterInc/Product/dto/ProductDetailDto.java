@@ -1,49 +1,53 @@
 package yw.monsterInc.Product.dto;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yw.monsterInc.Product.entity.MaterialProperties;
+import yw.monsterInc.Product.entity.ModelLod;
 import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.Product.service.MaterialMaps;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // Redis 캐시에서 역직렬화할 때 사용
 public class ProductDetailDto {
 
     private Long id;
     private String name;
     private int basePrice;
     private String modelUrl;
-    private Map<String, String> materialMap;
+    private Map<String, MaterialProperties> materialMap; // 불변 + 인터닝된 맵 (요청마다 파싱하지 않음)
+    private int materialVersion; // 기본 재질 버전 (저장 옵션 델타의 기준)
+    private List<ModelLod> modelLods = List.of(); // 가벼운 모델부터 먼저 받을 수 있도록 제공 (level이 클수록 가벼움)
+    private List<OptionDto> options = List.of(); // 카테고리별 선택 옵션 (가격표 컴파일에도 사용)
     // 💡 [고려 필요] 3D 뷰어에 사용할 기본 이미지 URL이나,
     // 상품 설명 같은 다른 필드들도 여기에 추가하면 좋아.
 
     @Builder
-    public ProductDetailDto(Product entity, ObjectMapper objectMapper) {
+    public ProductDetailDto(Product entity) {
         this.id = entity.getId();
         this.name = entity.getName();
         this.basePrice = entity.getBasePrice();
         this.modelUrl = entity.getModelUrl();
-
-        // ✅ [핵심 3] 생성자에서 문자열을 Map 객체로 파싱!
+        // ✅ 저장 시점에 이미 검증/구조화된 재질을 그대로 공유 (JSON 파싱 없음)
+        this.materialMap = MaterialMaps.intern(entity.getMaterials());
+        this.materialVersion = entity.getMaterialVersion();
+        this.modelLods = List.copyOf(entity.getModelLods());
     }
 
-    private Map<String, String> parseMaterialMap(String jsonString, ObjectMapper objectMapper) {
-        // DB에 저장된 값이 null이거나 비어있으면, 빈 Map을 반환
-        if (jsonString == null || jsonString.isBlank()) {
-            return Collections.emptyMap();
-        }
+    public ProductDetailDto(Product entity, List<OptionDto> options) {
+        this(entity);
+        this.options = List.copyOf(options);
+    }
 
-        try {
-            // Jackson ObjectMapper를 사용해서 JSON 문자열을 Map 객체로 변환
-            return objectMapper.readValue(jsonString, new TypeReference<>() {});
-        } catch (JsonProcessingException e) {
-            // 만약 JSON 파싱에 실패하면 (데이터가 깨졌거나), 로그를 남기고 빈 Map을 반환
-            System.err.println("MaterialMap JSON 파싱 실패: " + e.getMessage());
-            return Collections.emptyMap();
-        }
+    // L2 캐시에서 역직렬화될 때도 같은 인터닝된 인스턴스를 쓰도록 한다.
+    @JsonSetter("materialMap")
+    private void setMaterialMap(Map<String, MaterialProperties> materialMap) {
+        this.materialMap = MaterialMaps.intern(materialMap);
     }
-}
\ No newline at end of file
+}
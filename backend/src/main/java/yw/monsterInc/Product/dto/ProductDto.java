@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import yw.monsterInc.Product.constant.ProductStatus;
+import yw.monsterInc.Product.entity.MaterialProperties;
+
 import java.util.Map;
 
 @Getter
@@ -18,4 +20,6 @@ public class ProductDto {
     private int monHigh;
     private int basePrice;
     private ProductStatus status;
+    private Integer stock; // null이면 재고 제한 없음
+    private Map<String, MaterialProperties> materialMap; // 파츠 이름 → 기본 재질
 }
\ No newline at end of file
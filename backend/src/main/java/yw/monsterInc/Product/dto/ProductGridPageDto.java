@@ -0,0 +1,14 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductGridPageDto {
+    private List<ProductResponseDto> items;
+    private String nextCursor; // 다음 페이지가 없으면 null
+    private boolean hasNext;
+}
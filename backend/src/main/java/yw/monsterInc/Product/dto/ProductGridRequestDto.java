@@ -0,0 +1,23 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import yw.monsterInc.Product.constant.ProductSort;
+import yw.monsterInc.Product.constant.ProductStatus;
+
+import java.util.List;
+
+/**
+ * 상품 그리드 페이지 조회 조건 (쿼리 파라미터로 받는다)
+ * 예: /api/products/grid/page?status=ON_SALE&minPrice=10&sort=PRICE_ASC&size=20&cursor=...
+ */
+@Getter
+@Setter
+public class ProductGridRequestDto {
+    private List<ProductStatus> status; // 비어 있으면 전체 상태
+    private Integer minPrice;
+    private Integer maxPrice;
+    private ProductSort sort = ProductSort.NEWEST;
+    private String cursor;              // 이전 페이지 응답의 nextCursor (첫 페이지는 비움)
+    private int size = 20;
+}
@@ -0,0 +1,45 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 대량 등록 진행 상황/결과
+ */
+@Getter
+public class ProductImportResultDto {
+
+    private final String jobId;
+    private final String status;        // RUNNING, COMPLETED, FAILED
+    private final long processedRows;
+    private final long importedRows;
+    private final long failedRows;
+    private final double rowsPerSecond;
+    private final LocalDateTime startedAt;
+    private final List<RowError> errors; // 최대 1000건까지만 담는다
+
+    public ProductImportResultDto(String jobId, String status, long processedRows, long importedRows, long failedRows,
+                                  double rowsPerSecond, LocalDateTime startedAt, List<RowError> errors) {
+        this.jobId = jobId;
+        this.status = status;
+        this.processedRows = processedRows;
+        this.importedRows = importedRows;
+        this.failedRows = failedRows;
+        this.rowsPerSecond = rowsPerSecond;
+        this.startedAt = startedAt;
+        this.errors = errors;
+    }
+
+    @Getter
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import yw.monsterInc.Product.entity.MaterialProperties;
+
+import java.util.Map;
+
+/**
+ * 대량 등록 파일(NDJSON 한 줄 / CSV 한 행)의 상품 한 건
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductImportRowDto {
+    private String name;
+    private String imageUrl;
+    private String modelUrl;
+    private Integer monWidth;
+    private Integer monHigh;
+    private Integer basePrice;
+    private String status;
+    private Map<String, MaterialProperties> materialMap; // NDJSON에서만 지원
+}
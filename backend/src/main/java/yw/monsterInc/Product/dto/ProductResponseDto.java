@@ -4,6 +4,10 @@ import lombok.Builder;
 import lombok.Getter;
 import yw.monsterInc.Product.constant.ProductStatus;
 import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.asset.dto.ImageSourceDto;
+import yw.monsterInc.asset.service.ImageDerivativeService;
+
+import java.util.List;
 
 @Getter
 public class ProductResponseDto {
@@ -15,6 +19,7 @@ public class ProductResponseDto {
     private int monHigh;
     private int basePrice;
     private ProductStatus status;
+    private List<ImageSourceDto> imageSrcset; // 그리드 썸네일용 고정 폭 파생본 (srcset)
 
     @Builder
     public ProductResponseDto(Product entity) {
@@ -26,5 +31,20 @@ public class ProductResponseDto {
         this.monHigh = entity.getMonHigh();
         this.basePrice = entity.getBasePrice();
         this.status = entity.getStatus();
+        this.imageSrcset = ImageDerivativeService.srcset(this.id, entity.getImageVersion());
+    }
+
+    // QueryDSL 프로젝션용 생성자 (엔티티를 거치지 않고 필요한 컬럼만 받는다)
+    public ProductResponseDto(Long id, String name, String imageUrl, String modelUrl,
+                              int monWidth, int monHigh, int basePrice, ProductStatus status, String imageVersion) {
+        this.id = id;
+        this.name = name;
+        this.imageUrl = imageUrl;
+        this.modelUrl = modelUrl;
+        this.monWidth = monWidth;
+        this.monHigh = monHigh;
+        this.basePrice = basePrice;
+        this.status = status;
+        this.imageSrcset = ImageDerivativeService.srcset(id, imageVersion);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import yw.monsterInc.Product.constant.ProductStatus;
+
+@Getter
+@Setter
+public class ProductStatusUpdateDto {
+    private ProductStatus status;
+}
@@ -0,0 +1,10 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ProductStockUpdateDto {
+    private Integer stock; // null이면 재고 제한 해제
+}
@@ -2,7 +2,9 @@ package yw.monsterInc.Product.dto;
 
 import lombok.Getter;
 import lombok.Setter;
-import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.Product.constant.OptionCategory;
+
+import java.util.Map;
 
 @Getter
 @Setter
@@ -10,4 +12,5 @@ public class SaveOptionDto {
     private Long mon;
     private String saveName;
     private String materialOverrides;
+    private Map<OptionCategory, Long> selectedOptions; // 카테고리별 옵션 ID (없으면 기본 구성)
 }
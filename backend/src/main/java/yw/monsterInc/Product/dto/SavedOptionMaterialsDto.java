@@ -0,0 +1,18 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 저장 옵션의 펼친 재질 JSON과 그 시점의 버전. 버전은 ETag로 내려가고 PATCH 때 If-Match로 돌아온다.
+ */
+@Getter
+@AllArgsConstructor
+public class SavedOptionMaterialsDto {
+    private String materialOverrides; // 기본값까지 펼친 전체 JSON (오버라이드가 없으면 null)
+    private Long version;
+
+    public String getEtag() {
+        return "\"" + version + "\"";
+    }
+}
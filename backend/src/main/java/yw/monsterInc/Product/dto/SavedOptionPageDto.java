@@ -0,0 +1,14 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SavedOptionPageDto {
+    private List<SavedOptionSummaryDto> items;
+    private Long nextCursor; // 마지막 항목의 id. 다음 페이지가 없으면 null
+    private boolean hasNext;
+}
@@ -2,18 +2,26 @@ package yw.monsterInc.Product.dto;
 
 import lombok.Getter;
 import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.service.ResolvedConfigurationService;
 
 @Getter
 public class SavedOptionSimpleDto {
     private Long id;
     private String saveName;
     private String modelUrl;
-    private String materialOverrides; // ✅ [추가] 재질 정보 필드
+    private String materialOverrides; // ✅ [추가] 재질 정보 필드 (상품 기본값과 다른 파츠만 담긴 델타)
+    private String baseMaterialHash;  // 델타의 기준이 되는 기본값 스냅샷 해시 (null이면 델타가 곧 전체)
+    private Integer materialVersion;
+    private String resolvedConfigUrl; // 기본값과 델타를 서버에서 합친 문서 (불변 URL, 영구 캐시 가능)
 
-    public SavedOptionSimpleDto(SaveOption saveOption) {
+    // materialOverrides: 델타 JSON (목록에서는 MaterialConfigService.findDeltaJsonOf로 한 번에 읽어서 넘긴다)
+    public SavedOptionSimpleDto(SaveOption saveOption, String materialOverrides) {
         this.id = saveOption.getId();
         this.saveName = saveOption.getSaveName();
         this.modelUrl = saveOption.getMon().getModelUrl();
-        this.materialOverrides = saveOption.getMaterialOverrides(); // ✅ [추가] Entity에서 값을 가져옵니다.
+        this.materialOverrides = materialOverrides;
+        this.baseMaterialHash = saveOption.getBaseMaterialHash();
+        this.materialVersion = saveOption.getMaterialVersion();
+        this.resolvedConfigUrl = ResolvedConfigurationService.urlOf(saveOption.getBaseMaterialHash(), saveOption.getMaterialHash());
     }
 }
\ No newline at end of file
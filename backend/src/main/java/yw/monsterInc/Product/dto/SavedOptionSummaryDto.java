@@ -0,0 +1,41 @@
+package yw.monsterInc.Product.dto;
+
+import lombok.Getter;
+import yw.monsterInc.Product.service.ResolvedConfigurationService;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장 옵션 목록 페이지용 프로젝션. 엔티티를 올리지 않고 조인 쿼리 한 번으로 채운다.
+ * includeOverrides=false로 조회하면 materialOverrides는 null이다. (materialHash로 나중에 따로 받을 수 있음)
+ */
+@Getter
+public class SavedOptionSummaryDto {
+    private Long id;
+    private String saveName;
+    private Long productId;
+    private String productName;
+    private String modelUrl;
+    private LocalDateTime savedAt;
+    private String materialOverrides;  // 상품 기본값과 다른 파츠만 담긴 델타
+    private String materialHash;       // 델타 설정의 해시 (/api/products/material-configs/{hash})
+    private String baseMaterialHash;
+    private Integer materialVersion;
+    private String resolvedConfigUrl; // 기본값과 델타를 서버에서 합친 문서 (불변 URL, 영구 캐시 가능)
+
+    public SavedOptionSummaryDto(Long id, String saveName, Long productId, String productName, String modelUrl,
+                                 LocalDateTime savedAt, String materialOverrides, String materialHash,
+                                 String baseMaterialHash, Integer materialVersion) {
+        this.id = id;
+        this.saveName = saveName;
+        this.productId = productId;
+        this.productName = productName;
+        this.modelUrl = modelUrl;
+        this.savedAt = savedAt;
+        this.materialOverrides = materialOverrides;
+        this.materialHash = materialHash;
+        this.baseMaterialHash = baseMaterialHash;
+        this.materialVersion = materialVersion;
+        this.resolvedConfigUrl = ResolvedConfigurationService.urlOf(baseMaterialHash, materialHash);
+    }
+}
@@ -0,0 +1,41 @@
+package yw.monsterInc.Product.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yw.monsterInc.global.BaseEntity;
+
+/**
+ * 재질 오버라이드 JSON을 내용 기준으로 한 번만 저장하는 테이블.
+ * 같은 설정을 저장한 SaveOption들은 이 행 하나를 함께 참조한다. 한 번 만들어지면 바뀌지 않는다.
+ */
+@Getter
+@Entity
+@Table(name = "material_config", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_material_config_hash", columnNames = "content_hash")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MaterialConfig extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "material_config_id")
+    private Long id;
+
+    // 정규화된 JSON의 SHA-256 (hex)
+    @Column(name = "content_hash", length = 64, nullable = false, updatable = false, columnDefinition = "CHAR(64)")
+    private String contentHash;
+
+    // 키 정렬 + 공백 제거된 정규화 JSON
+    // 해시로 참조만 할 때(중복 확인, 목록의 기본값 해시)는 필요 없으므로 지연 로딩한다. (바이트코드 향상 필요)
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "canonical_json", nullable = false, updatable = false)
+    private String canonicalJson;
+
+    public MaterialConfig(String contentHash, String canonicalJson) {
+        this.contentHash = contentHash;
+        this.canonicalJson = canonicalJson;
+    }
+}
@@ -0,0 +1,41 @@
+package yw.monsterInc.Product.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * 파츠 하나의 재질 값 (프론트엔드 MaterialProperties 타입과 같은 모양)
+ * 한 번 만들어지면 바뀌지 않는 값 객체라서 여러 상품/응답이 같은 인스턴스를 공유할 수 있다.
+ */
+@Getter
+@Embeddable
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MaterialProperties {
+
+    @Column(name = "color", length = 7, nullable = false)
+    private String color;       // #rrggbb (소문자로 정규화)
+
+    @Column(name = "metalness", nullable = false)
+    private double metalness;   // 0.0 ~ 1.0
+
+    @Column(name = "roughness", nullable = false)
+    private double roughness;   // 0.0 ~ 1.0
+
+    @JsonCreator
+    public MaterialProperties(@JsonProperty("color") String color,
+                              @JsonProperty("metalness") double metalness,
+                              @JsonProperty("roughness") double roughness) {
+        this.color = color == null ? null : color.toLowerCase(Locale.ROOT);
+        this.metalness = metalness;
+        this.roughness = roughness;
+    }
+}
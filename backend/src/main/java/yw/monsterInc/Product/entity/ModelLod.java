@@ -0,0 +1,44 @@
+package yw.monsterInc.Product.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 모델의 단순화 버전(LOD) 하나. 프론트엔드는 level이 가장 큰(가장 가벼운) 모델을 먼저 띄우고
+ * 원본(modelUrl)이 받아지면 교체한다.
+ */
+@Getter
+@Embeddable
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ModelLod {
+
+    @Column(name = "lod_level", nullable = false)
+    private int level;          // 1부터, 클수록 거칠다
+
+    @Column(name = "url", nullable = false)
+    private String url;         // 해시 주소 (/api/assets/models/{hash}.glb)
+
+    @Column(name = "triangle_count", nullable = false)
+    private int triangleCount;
+
+    @Column(name = "byte_size", nullable = false)
+    private long byteSize;
+
+    @JsonCreator
+    public ModelLod(@JsonProperty("level") int level,
+                    @JsonProperty("url") String url,
+                    @JsonProperty("triangleCount") int triangleCount,
+                    @JsonProperty("byteSize") long byteSize) {
+        this.level = level;
+        this.url = url;
+        this.triangleCount = triangleCount;
+        this.byteSize = byteSize;
+    }
+}
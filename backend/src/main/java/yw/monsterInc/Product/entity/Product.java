@@ -5,9 +5,20 @@ import lombok.*;
 import yw.monsterInc.Product.constant.ProductStatus;
 import yw.monsterInc.global.BaseEntity;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Setter
-@Table(name="product")
+@Table(name="product", indexes = {
+        // 그리드 키셋 페이징용 복합 인덱스 (필터 컬럼 + 정렬 컬럼 + PK 순서)
+        @Index(name = "idx_product_status_price", columnList = "status, base_price, product_id"),
+        @Index(name = "idx_product_status_reg_time", columnList = "status, reg_time, product_id"),
+        @Index(name = "idx_product_price", columnList = "base_price, product_id"),
+        @Index(name = "idx_product_reg_time", columnList = "reg_time, product_id")
+})
 @Entity
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -15,13 +26,20 @@ import yw.monsterInc.global.BaseEntity;
 public class Product  extends BaseEntity {
     @Id
     @Column(name = "product_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 안 된다 → 시퀀스(pooled)로 미리 여러 개를 할당받는다.
+    // (MySQL에는 시퀀스가 없으므로 Hibernate가 product_seq 테이블로 흉내 낸다)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 500)
     private Long id;
 
     private String name;
 
     private String imageUrl;
 
+    // 이미지 원본 내용의 SHA-256 앞 16자리. 썸네일 파생본 URL(?v=)과 파일 이름에 쓴다. 후처리 전이면 null
+    @Column(length = 16)
+    private String imageVersion;
+
     private String modelUrl;
 
     private int monWidth;
@@ -33,5 +51,26 @@ public class Product  extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private ProductStatus status;
 
+    // 판매 가능 재고 (확정된 판매만 반영). null이면 제한 없음. 결제 대기 중인 예약은 StockReservationEngine이 따로 관리한다.
+    private Integer stock;
+
+    // 파츠 이름(displayName) → 기본 재질 값. 저장 시점에 검증된 값만 들어온다.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "product_material", joinColumns = @JoinColumn(name = "product_id"))
+    @MapKeyColumn(name = "part_name", length = 100)
+    @Builder.Default
+    private Map<String, MaterialProperties> materials = new HashMap<>();
+
+    // 모델 후처리로 만든 단순화 모델들 (level 오름차순으로 넣는다)
+    // 순서 컬럼이 있는 리스트라서 materials와 함께 fetch join 해도 행이 곱해져 중복되지 않는다. (bag이면 파츠 수만큼 반복됨)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "product_model_lod", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "lod_index")
+    @Builder.Default
+    private List<ModelLod> modelLods = new ArrayList<>();
+
+    // 기본 재질이 바뀔 때마다 1씩 올라간다. 저장 옵션이 어떤 기본값 기준의 델타인지 표시하는 데 쓴다.
+    private int materialVersion;
+
 
 }
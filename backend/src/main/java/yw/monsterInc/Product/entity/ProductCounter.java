@@ -0,0 +1,28 @@
+package yw.monsterInc.Product.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품별 누적 조회수 / 커스터마이저 진입 수.
+ * 요청마다 쓰지 않고 ProductCounterService가 메모리에 모은 증가분을 주기적으로 더한다. (INSERT ... ON DUPLICATE KEY UPDATE)
+ */
+@Getter
+@Entity
+@Table(name = "product_counter")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductCounter {
+
+    // 상품 PK를 그대로 쓴다. (행 하나 = 상품 하나)
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "configurator_open_count", nullable = false)
+    private long configuratorOpenCount;
+}
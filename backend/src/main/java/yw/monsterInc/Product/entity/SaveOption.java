@@ -2,9 +2,13 @@ package yw.monsterInc.Product.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import yw.monsterInc.Product.constant.OptionCategory;
 import yw.monsterInc.global.BaseEntity;
 import yw.monsterInc.member.entity.Member;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @Entity
@@ -29,8 +33,45 @@ public class SaveOption extends BaseEntity {
     @JoinColumn(name = "member_id ")
     private Member member;
 
-    // ✅ [추가] JSON 문자열을 저장할 새로운 컬럼
-    @Lob // Large Object의 약자로, TEXT 타입 컬럼에 매핑됩니다.
-    @Column(name = "material_overrides")
-    private String materialOverrides;
-}
\ No newline at end of file
+    // ✅ 재질 오버라이드는 내용 기준으로 한 번만 저장된 MaterialConfig를 참조한다. (같은 설정이면 참조만 추가)
+    // 상품 기본값과 다른 파츠만 담긴 델타다.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "material_config_id")
+    private MaterialConfig materialConfig;
+
+    // 저장 당시 상품 기본 재질 스냅샷 (같은 기본값이면 모든 저장 옵션이 한 행을 공유). 기본값이 없었으면 null
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "base_material_config_id")
+    private MaterialConfig baseMaterialConfig;
+
+    // 저장 당시 상품의 materialVersion
+    private Integer materialVersion;
+
+    // 낙관적 락 버전. 두 탭에서 동시에 고쳐도 나중 저장이 앞의 저장을 덮어쓰지 않도록 한다. (PATCH의 ETag)
+    @Version
+    private Long version;
+
+    // 카테고리별로 고른 옵션 ID. 결제 금액은 이 선택으로 PricingEngine이 계산한다.
+    @ElementCollection
+    @CollectionTable(name = "save_option_selection", joinColumns = @JoinColumn(name = "save_option_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "category")
+    @Column(name = "option_id", nullable = false)
+    @Builder.Default
+    private Map<OptionCategory, Long> selectedOptions = new HashMap<>();
+
+    // 델타 JSON (고객이 실제로 바꾼 파츠만)
+    public String getMaterialOverrides() {
+        return materialConfig != null ? materialConfig.getCanonicalJson() : null;
+    }
+
+    // 델타 설정의 해시. 인기 조합 집계 키로 쓴다. (null이면 기본 재질 그대로)
+    public String getMaterialHash() {
+        return materialConfig != null ? materialConfig.getContentHash() : null;
+    }
+
+    // 기본값 스냅샷의 해시. 클라이언트는 이 값으로 기본값을 한 번만 받아 캐시하고 델타를 펼친다.
+    public String getBaseMaterialHash() {
+        return baseMaterialConfig != null ? baseMaterialConfig.getContentHash() : null;
+    }
+}
@@ -0,0 +1,21 @@
+package yw.monsterInc.Product.event;
+
+import lombok.Getter;
+
+/**
+ * 고객이 어떤 재질 조합(룩)을 골랐음을 알리는 이벤트. 옵션 저장, 주문 완료 시 발행된다.
+ * 인기 조합 집계(PopularConfigurationService)에서 사용한다.
+ */
+@Getter
+public class ConfigurationChosenEvent {
+
+    private final Long productId;
+    private final String configHash; // 델타 MaterialConfig 해시, null이면 기본 재질 그대로
+    private final boolean ordered;   // true면 주문 완료 (저장보다 가중치를 높게 준다)
+
+    public ConfigurationChosenEvent(Long productId, String configHash, boolean ordered) {
+        this.productId = productId;
+        this.configHash = configHash;
+        this.ordered = ordered;
+    }
+}
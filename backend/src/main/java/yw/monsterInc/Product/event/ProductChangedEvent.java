@@ -0,0 +1,33 @@
+package yw.monsterInc.Product.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 데이터(등록, 상태 변경 등)가 바뀌었음을 알리는 이벤트.
+ * 트랜잭션 커밋 이후에 카탈로그 스냅샷 등 파생 데이터를 다시 만드는 데 사용한다.
+ */
+@Getter
+public class ProductChangedEvent {
+
+    private final Long productId; // null이면 여러 상품이 한꺼번에 바뀐 경우
+    private final List<Long> productIds; // 여러 상품이 바뀌었을 때 어떤 상품인지 알면 그 목록 (모르면 빈 목록)
+
+    public ProductChangedEvent(Long productId) {
+        this.productId = productId;
+        this.productIds = List.of();
+    }
+
+    private ProductChangedEvent(List<Long> productIds) {
+        this.productId = null;
+        this.productIds = List.copyOf(productIds);
+    }
+
+    /**
+     * 대량 등록처럼 여러 상품이 한꺼번에 바뀐 경우. 캐시/스냅샷은 한 번에 갱신하고, 상품별 후처리는 이 목록만 한다.
+     */
+    public static ProductChangedEvent ofProducts(List<Long> productIds) {
+        return new ProductChangedEvent(productIds);
+    }
+}
@@ -0,0 +1,23 @@
+package yw.monsterInc.Product.event;
+
+import lombok.Getter;
+
+/**
+ * 관리자가 상품/옵션 재고를 바꿨음을 알리는 이벤트.
+ * 커밋 후 재고 예약 카운터를 차이만큼 맞추는 데 사용한다.
+ */
+@Getter
+public class StockChangedEvent {
+
+    private final Long productId;
+    private final Long optionId;    // null이면 상품 재고
+    private final Integer oldStock; // null이면 제한 없음
+    private final Integer newStock; // null이면 제한 없음 (옵션 삭제 포함)
+
+    public StockChangedEvent(Long productId, Long optionId, Integer oldStock, Integer newStock) {
+        this.productId = productId;
+        this.optionId = optionId;
+        this.oldStock = oldStock;
+        this.newStock = newStock;
+    }
+}
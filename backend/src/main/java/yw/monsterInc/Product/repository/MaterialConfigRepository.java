@@ -0,0 +1,18 @@
+package yw.monsterInc.Product.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yw.monsterInc.Product.entity.MaterialConfig;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MaterialConfigRepository extends JpaRepository<MaterialConfig, Long> {
+    Optional<MaterialConfig> findByContentHash(String contentHash);
+
+    // 목록 화면용: 지연 로딩되는 JSON을 행마다 따로 읽지 않고 한 번에 가져온다. [id, canonicalJson]
+    @Query("select c.id, c.canonicalJson from MaterialConfig c where c.id in :ids")
+    List<Object[]> findCanonicalJsonByIdIn(@Param("ids") Collection<Long> ids);
+}
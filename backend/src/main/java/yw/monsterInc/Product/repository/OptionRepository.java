@@ -1,10 +1,24 @@
-//package yw.monsterInc.Product.repository;
-//
-//import org.springframework.data.jpa.repository.JpaRepository;
-//import yw.monsterInc.Product.entity.Option;
-//
-//import java.util.List;
-//
-//public interface OptionRepository extends JpaRepository<Option, Long> {
-//    List<Option> findAllByMon_Id(Long mon);
-//}
+package yw.monsterInc.Product.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yw.monsterInc.Product.entity.Option;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OptionRepository extends JpaRepository<Option, Long> {
+    List<Option> findAllByMon_Id(Long mon);
+
+    List<Option> findAllByMon_IdIn(Collection<Long> mons);
+
+    @Query("select o.stock from Option o where o.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Option o set o.stock = o.stock - :quantity where o.id = :id and o.stock >= :quantity")
+    int decreaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+}
@@ -0,0 +1,7 @@
+package yw.monsterInc.Product.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import yw.monsterInc.Product.entity.ProductCounter;
+
+public interface ProductCounterRepository extends JpaRepository<ProductCounter, Long> {
+}
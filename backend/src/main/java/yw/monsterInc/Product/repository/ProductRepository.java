@@ -1,7 +1,43 @@
 package yw.monsterInc.Product.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import yw.monsterInc.Product.entity.Product;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    // 상세 조회용: 재질/LOD 컬렉션까지 한 번에 가져온다. (트랜잭션 밖에서 DTO로 변환하기 때문)
+    @EntityGraph(attributePaths = {"materials", "modelLods"})
+    Optional<Product> findWithMaterialsById(Long id);
+
+    // 여러 상품 상세를 IN 쿼리 한 번으로 (일괄 조회 캐시 미스분)
+    // modelLods는 순서 컬럼이 있는 리스트라서 materials와 같이 join 해도 LOD가 파츠 수만큼 중복되지 않는다.
+    @EntityGraph(attributePaths = {"materials", "modelLods"})
+    List<Product> findWithMaterialsByIdIn(Collection<Long> ids);
+
+    // 후처리가 아직 안 된 상품 id 목록 (모델이 해시 주소가 아니거나, 이미지 내용 해시를 아직 계산하지 않은 것)
+    @Query("select p.id from Product p where (p.modelUrl is not null and p.modelUrl not like concat(:prefix, '%')) " +
+            "or (p.imageUrl is not null and p.imageVersion is null)")
+    List<Long> findIdsPendingIngest(@Param("prefix") String prefix);
+
+    // 재고 예약 카운터 초기화용 (락 없는 단순 조회)
+    @Query("select p.stock from Product p where p.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    // 결제 확정 시 재고 차감. 남은 재고가 부족하면 0을 반환한다. (SELECT FOR UPDATE 없이 한 문장으로 처리)
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity where p.id = :id and p.stock >= :quantity")
+    int decreaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update Product p set p.status = yw.monsterInc.Product.constant.ProductStatus.OUT_OF_STOCK " +
+            "where p.id = :id and p.stock = 0 and p.status <> yw.monsterInc.Product.constant.ProductStatus.OUT_OF_STOCK")
+    int markOutOfStockIfEmpty(@Param("id") Long id);
 }
@@ -0,0 +1,8 @@
+package yw.monsterInc.Product.repository;
+
+import yw.monsterInc.Product.dto.ProductGridPageDto;
+import yw.monsterInc.Product.dto.ProductGridRequestDto;
+
+public interface ProductRepositoryCustom {
+    ProductGridPageDto findGridPage(ProductGridRequestDto condition);
+}
@@ -0,0 +1,148 @@
+package yw.monsterInc.Product.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import yw.monsterInc.Product.constant.ProductSort;
+import yw.monsterInc.Product.dto.ProductGridPageDto;
+import yw.monsterInc.Product.dto.ProductGridRequestDto;
+import yw.monsterInc.Product.dto.ProductResponseDto;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static yw.monsterInc.Product.entity.QProduct.product;
+
+/**
+ * 상품 그리드 키셋(커서) 페이징 구현.
+ * OFFSET 없이 "마지막으로 본 (정렬값, id)" 다음부터 읽기 때문에 페이지가 뒤로 가도 비용이 일정하다.
+ */
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public ProductGridPageDto findGridPage(ProductGridRequestDto condition) {
+        ProductSort sort = condition.getSort() != null ? condition.getSort() : ProductSort.NEWEST;
+        int size = Math.max(1, Math.min(condition.getSize(), MAX_PAGE_SIZE));
+
+        BooleanBuilder where = new BooleanBuilder();
+        if (condition.getStatus() != null && !condition.getStatus().isEmpty()) {
+            where.and(product.status.in(condition.getStatus()));
+        }
+        if (condition.getMinPrice() != null) {
+            where.and(product.basePrice.goe(condition.getMinPrice()));
+        }
+        if (condition.getMaxPrice() != null) {
+            where.and(product.basePrice.loe(condition.getMaxPrice()));
+        }
+        if (condition.getCursor() != null && !condition.getCursor().isBlank()) {
+            where.and(afterCursor(sort, condition.getCursor()));
+        }
+
+        // 엔티티 대신 그리드에 필요한 컬럼만 조회 (+ 커서 계산용 regTime)
+        // size + 1개를 읽어서 다음 페이지 존재 여부를 판단한다.
+        List<Tuple> rows = queryFactory
+                .select(Projections.constructor(ProductResponseDto.class,
+                                product.id, product.name, product.imageUrl, product.modelUrl,
+                                product.monWidth, product.monHigh, product.basePrice, product.status,
+                                product.imageVersion),
+                        product.regTime)
+                .from(product)
+                .where(where)
+                .orderBy(orderBy(sort))
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasNext = rows.size() > size;
+        List<Tuple> page = hasNext ? rows.subList(0, size) : rows;
+
+        List<ProductResponseDto> items = new ArrayList<>(page.size());
+        for (Tuple row : page) {
+            items.add(row.get(0, ProductResponseDto.class));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Tuple last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(sort, last.get(0, ProductResponseDto.class), last.get(product.regTime));
+        }
+        return new ProductGridPageDto(items, nextCursor, hasNext);
+    }
+
+    private OrderSpecifier<?>[] orderBy(ProductSort sort) {
+        return switch (sort) {
+            case PRICE_ASC -> new OrderSpecifier<?>[]{product.basePrice.asc(), product.id.asc()};
+            case PRICE_DESC -> new OrderSpecifier<?>[]{product.basePrice.desc(), product.id.desc()};
+            case OLDEST -> new OrderSpecifier<?>[]{product.regTime.asc(), product.id.asc()};
+            case NEWEST -> new OrderSpecifier<?>[]{product.regTime.desc(), product.id.desc()};
+        };
+    }
+
+    // (정렬값, id) 튜플 비교를 OR 조건으로 풀어서 인덱스 범위 스캔이 가능하게 만든다.
+    private BooleanExpression afterCursor(ProductSort sort, String cursor) {
+        String[] parts = decodeCursor(sort, cursor);
+        try {
+            long id = Long.parseLong(parts[1]);
+            return switch (sort) {
+                case PRICE_ASC -> {
+                    int price = Integer.parseInt(parts[0]);
+                    yield product.basePrice.gt(price)
+                            .or(product.basePrice.eq(price).and(product.id.gt(id)));
+                }
+                case PRICE_DESC -> {
+                    int price = Integer.parseInt(parts[0]);
+                    yield product.basePrice.lt(price)
+                            .or(product.basePrice.eq(price).and(product.id.lt(id)));
+                }
+                case OLDEST -> {
+                    LocalDateTime regTime = LocalDateTime.parse(parts[0]);
+                    yield product.regTime.gt(regTime)
+                            .or(product.regTime.eq(regTime).and(product.id.gt(id)));
+                }
+                case NEWEST -> {
+                    LocalDateTime regTime = LocalDateTime.parse(parts[0]);
+                    yield product.regTime.lt(regTime)
+                            .or(product.regTime.eq(regTime).and(product.id.lt(id)));
+                }
+            };
+        } catch (RuntimeException e) {
+            throw new CustomException("잘못된 커서 값입니다.", 400);
+        }
+    }
+
+    // 커서 = base64url("정렬키|정렬값|id"). 정렬 조건이 바뀐 커서는 거부한다.
+    private String encodeCursor(ProductSort sort, ProductResponseDto last, LocalDateTime regTime) {
+        String sortValue = switch (sort) {
+            case PRICE_ASC, PRICE_DESC -> String.valueOf(last.getBasePrice());
+            case NEWEST, OLDEST -> String.valueOf(regTime);
+        };
+        String raw = sort.name() + "|" + sortValue + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(ProductSort sort, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("잘못된 커서 값입니다.", 400);
+        }
+        String[] parts = raw.split("\\|");
+        if (parts.length != 3 || !parts[0].equals(sort.name())) {
+            throw new CustomException("잘못된 커서 값입니다.", 400);
+        }
+        return new String[]{parts[1], parts[2]};
+    }
+}
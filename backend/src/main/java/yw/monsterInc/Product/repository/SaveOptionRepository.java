@@ -1,12 +1,26 @@
 package yw.monsterInc.Product.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import yw.monsterInc.Product.entity.SaveOption;
 import yw.monsterInc.member.entity.Member;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface SaveOptionRepository extends JpaRepository<SaveOption,Long> {
+public interface SaveOptionRepository extends JpaRepository<SaveOption,Long>, SaveOptionRepositoryCustom {
     List<SaveOption> findByMember(Member member);
+
+    // 목록 응답에서 상품/재질 정보를 바로 쓰므로 한 번에 가져온다. (행마다 추가 조회 방지)
+    @EntityGraph(attributePaths = {"mon", "materialConfig", "baseMaterialConfig"})
     List<SaveOption> findAllByMember_Id(Long memberId);
+
+    @EntityGraph(attributePaths = {"materialConfig", "baseMaterialConfig"})
+    Optional<SaveOption> findWithMaterialsByIdAndMember_Id(Long id, Long memberId);
+
+    // 인기 조합 스케치 초기 구축용 (상품 ID, 델타 해시). 트랜잭션 안에서 스트림으로 읽는다.
+    @Query("SELECT s.mon.id, c.contentHash FROM SaveOption s LEFT JOIN s.materialConfig c")
+    Stream<Object[]> streamMaterialHashes();
 }
@@ -0,0 +1,7 @@
+package yw.monsterInc.Product.repository;
+
+import yw.monsterInc.Product.dto.SavedOptionPageDto;
+
+public interface SaveOptionRepositoryCustom {
+    SavedOptionPageDto findSavedOptionPage(Long memberId, Long cursor, int size, boolean includeOverrides);
+}
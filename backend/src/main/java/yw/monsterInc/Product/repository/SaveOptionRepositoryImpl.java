@@ -0,0 +1,65 @@
+package yw.monsterInc.Product.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import yw.monsterInc.Product.dto.SavedOptionPageDto;
+import yw.monsterInc.Product.dto.SavedOptionSummaryDto;
+import yw.monsterInc.Product.entity.QMaterialConfig;
+
+import java.util.List;
+
+import static yw.monsterInc.Product.entity.QProduct.product;
+import static yw.monsterInc.Product.entity.QSaveOption.saveOption;
+
+/**
+ * 저장 옵션 목록 키셋(커서) 페이징 구현.
+ * 최신 저장순(id 내림차순)으로 "마지막으로 본 id" 다음부터 읽는다. (member_id FK 인덱스 + PK로 범위 스캔)
+ */
+@RequiredArgsConstructor
+public class SaveOptionRepositoryImpl implements SaveOptionRepositoryCustom {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public SavedOptionPageDto findSavedOptionPage(Long memberId, Long cursor, int size, boolean includeOverrides) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        QMaterialConfig delta = new QMaterialConfig("delta");
+        QMaterialConfig base = new QMaterialConfig("base");
+
+        BooleanBuilder where = new BooleanBuilder(saveOption.member.id.eq(memberId));
+        if (cursor != null) {
+            where.and(saveOption.id.lt(cursor));
+        }
+
+        // 오버라이드 본문(Lob)이 필요 없으면 컬럼 자체를 SELECT 하지 않는다.
+        Expression<String> overrides = includeOverrides
+                ? delta.canonicalJson
+                : Expressions.nullExpression(String.class);
+
+        // size + 1개를 읽어서 다음 페이지 존재 여부를 판단한다.
+        List<SavedOptionSummaryDto> rows = queryFactory
+                .select(Projections.constructor(SavedOptionSummaryDto.class,
+                        saveOption.id, saveOption.saveName, product.id, product.name, product.modelUrl,
+                        saveOption.regTime, overrides, delta.contentHash, base.contentHash,
+                        saveOption.materialVersion))
+                .from(saveOption)
+                .join(saveOption.mon, product)
+                .leftJoin(saveOption.materialConfig, delta)
+                .leftJoin(saveOption.baseMaterialConfig, base)
+                .where(where)
+                .orderBy(saveOption.id.desc())
+                .limit(pageSize + 1)
+                .fetch();
+
+        boolean hasNext = rows.size() > pageSize;
+        List<SavedOptionSummaryDto> items = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+        return new SavedOptionPageDto(items, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,29 @@
+package yw.monsterInc.Product.service;
+
+import lombok.Getter;
+
+/**
+ * 상품 그리드(/api/products/grid) 응답을 미리 직렬화해 둔 불변 스냅샷.
+ * 원본 JSON과 gzip, brotli 압축본을 함께 들고 있어서 요청마다 직렬화/압축을 하지 않는다.
+ */
+@Getter
+public class CatalogSnapshot {
+
+    private final long version;
+    private final String etag;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final byte[] brotli; // brotli 네이티브 라이브러리를 못 쓰는 환경이면 null
+
+    public CatalogSnapshot(long version, String etag, byte[] json, byte[] gzip, byte[] brotli) {
+        this.version = version;
+        this.etag = etag;
+        this.json = json;
+        this.gzip = gzip;
+        this.brotli = brotli;
+    }
+
+    public boolean hasBrotli() {
+        return brotli != null;
+    }
+}
@@ -0,0 +1,170 @@
+package yw.monsterInc.Product.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yw.monsterInc.Product.dto.ProductResponseDto;
+import yw.monsterInc.Product.event.ProductChangedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 그리드 카탈로그 스냅샷 엔진.
+ * 상품이 바뀔 때만 DB 조회 + 직렬화 + 압축을 한 번 수행하고, 조회 요청은 만들어진 바이트를 그대로 내려준다.
+ * 재빌드는 전용 스레드에서 rebuild-debounce 만큼 모았다가 한 번 한다. 그동안은 이전 스냅샷을 내려준다.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    // 재빌드 전용 스레드. TaskScheduler 빈으로 등록하면 @Scheduled 작업 전체가 이 스레드로 몰리므로 빈으로 두지 않는다.
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Duration rebuildDebounce;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    public CatalogSnapshotService(ProductService productService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${product.catalog.rebuild-debounce:200ms}") Duration rebuildDebounce) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.rebuildDebounce = rebuildDebounce;
+    }
+
+    /**
+     * 현재 스냅샷을 반환한다. 아직 만들어지지 않았다면 그 자리에서 한 번 만든다.
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    // 애플리케이션 기동(초기 데이터 생성 포함)이 끝나면 첫 스냅샷을 미리 만들어 둔다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    // 상품 변경 트랜잭션이 커밋된 뒤에 스냅샷을 다시 만든다. (커밋 전 데이터가 섞이지 않도록)
+    // 커밋한 요청 스레드는 기다리지 않는다. 재빌드 예약 중에 들어온 변경은 그 한 번의 재빌드에 묶인다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.schedule(this::scheduledRebuild, rebuildDebounce.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            rebuildScheduled.set(false); // 종료 중
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void scheduledRebuild() {
+        // 재빌드 전에 풀어야 재빌드 중에 커밋된 변경이 다음 재빌드를 예약할 수 있다.
+        rebuildScheduled.set(false);
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("카탈로그 스냅샷 재생성 실패 (이전 스냅샷 유지): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * DB에서 그리드 데이터를 읽어 새 스냅샷을 만들고, 원자적으로 교체한다.
+     * 동시에 여러 번 호출되더라도 재빌드는 한 번에 하나씩만 수행한다.
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        List<ProductResponseDto> products = productService.findAllProducts();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("카탈로그 스냅샷 직렬화 실패", e);
+        }
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(
+                versionSequence.incrementAndGet(),
+                "W/\"" + sha256Hex(json).substring(0, 32) + "\"", // 내용 기반 ETag라서 노드가 달라도 같은 값이 나온다
+                json,
+                gzip(json),
+                brotli(json)
+        );
+        current.set(snapshot);
+
+        log.info("카탈로그 스냅샷 재생성: version={}, products={}, json={}B, gzip={}B, br={}B",
+                snapshot.getVersion(), products.size(), json.length, snapshot.getGzip().length,
+                snapshot.hasBrotli() ? snapshot.getBrotli().length : -1);
+        return snapshot;
+    }
+
+    private static byte[] gzip(byte[] source) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            { def.setLevel(Deflater.BEST_COMPRESSION); } // 한 번만 압축하니까 최고 압축률을 쓴다
+        }) {
+            gzip.write(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] source) {
+        if (!Brotli4jLoader.isAvailable()) {
+            return null;
+        }
+        try {
+            return Encoder.compress(source, new Encoder.Parameters().setQuality(11));
+        } catch (IOException e) {
+            log.warn("brotli 압축 실패, gzip만 사용합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String sha256Hex(byte[] source) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(source));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
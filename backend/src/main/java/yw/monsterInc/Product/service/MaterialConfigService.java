@@ -0,0 +1,233 @@
+package yw.monsterInc.Product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.Product.entity.MaterialConfig;
+import yw.monsterInc.Product.entity.MaterialProperties;
+import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.repository.MaterialConfigRepository;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 재질 오버라이드 JSON을 정규화 → 해시해서 material_config 테이블에 내용 기준으로 한 번만 저장한다.
+ * 이미 같은 설정이 있으면 INSERT 없이 기존 행을 돌려준다.
+ */
+@Slf4j
+@Service
+public class MaterialConfigService {
+
+    private final MaterialConfigRepository materialConfigRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate requiresNew;
+
+    public MaterialConfigService(MaterialConfigRepository materialConfigRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.materialConfigRepository = materialConfigRepository;
+        this.objectMapper = objectMapper;
+        // 동시에 같은 설정이 처음 저장될 때 유니크 충돌이 나도 바깥 트랜잭션이 롤백 전용이 되지 않도록 별도 트랜잭션으로 INSERT 한다.
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 오버라이드 JSON에 해당하는 MaterialConfig를 찾거나 새로 만든다.
+     * null/빈 문자열이면 null을 반환한다. (오버라이드 없음)
+     */
+    public MaterialConfig resolve(String materialOverridesJson) {
+        if (materialOverridesJson == null || materialOverridesJson.isBlank()) {
+            return null;
+        }
+        return resolve(canonicalTree(materialOverridesJson));
+    }
+
+    /**
+     * 상품 기본 재질 맵의 스냅샷을 MaterialConfig로 저장한다. 같은 기본값이면 모든 저장 옵션이 한 행을 공유한다.
+     */
+    public MaterialConfig resolveDefaults(Map<String, MaterialProperties> defaults) {
+        if (defaults == null || defaults.isEmpty()) {
+            return null;
+        }
+        return resolve((ObjectNode) sorted(objectMapper.valueToTree(defaults)));
+    }
+
+    private MaterialConfig resolve(ObjectNode canonical) {
+        if (canonical.isEmpty()) {
+            return null;
+        }
+        String canonicalJson = canonical.toString();
+        String contentHash = sha256Hex(canonicalJson);
+
+        return materialConfigRepository.findByContentHash(contentHash)
+                .orElseGet(() -> insertOrGet(contentHash, canonicalJson));
+    }
+
+    private MaterialConfig insertOrGet(String contentHash, String canonicalJson) {
+        try {
+            return requiresNew.execute(status ->
+                    materialConfigRepository.saveAndFlush(new MaterialConfig(contentHash, canonicalJson)));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 같은 설정을 저장한 경우 → 그 행을 그대로 쓴다.
+            log.debug("material_config 동시 저장 충돌, 기존 행 재사용: hash={}", contentHash);
+            return materialConfigRepository.findByContentHash(contentHash)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    public Optional<String> findCanonicalJson(String contentHash) {
+        return materialConfigRepository.findByContentHash(contentHash).map(MaterialConfig::getCanonicalJson);
+    }
+
+    /**
+     * 저장 옵션들의 델타 JSON을 쿼리 한 번으로 읽는다. (MaterialConfig id → JSON)
+     * canonicalJson은 지연 로딩이라 목록에서 행마다 꺼내면 행 수만큼 조회가 나가기 때문이다.
+     */
+    public Map<Long, String> findDeltaJsonOf(List<SaveOption> saveOptions) {
+        List<Long> ids = saveOptions.stream()
+                .map(SaveOption::getMaterialConfig)
+                .filter(Objects::nonNull)
+                .map(MaterialConfig::getId)
+                .distinct()
+                .toList();
+        Map<Long, String> result = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : materialConfigRepository.findCanonicalJsonByIdIn(ids)) {
+                result.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 고객이 보낸 전체 오버라이드에서 상품 기본값과 같은 파츠를 빼고, 실제로 바꾼 파츠만 남긴 델타를 저장한다.
+     * 기본값이 없으면 전체 오버라이드가 그대로 델타가 된다.
+     */
+    public MaterialConfig resolveDelta(String materialOverridesJson, Map<String, MaterialProperties> defaults) {
+        if (materialOverridesJson == null || materialOverridesJson.isBlank()) {
+            return null;
+        }
+        ObjectNode overrides = canonicalTree(materialOverridesJson);
+        if (defaults == null || defaults.isEmpty()) {
+            return resolve(overrides);
+        }
+
+        ObjectNode delta = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonNode> field : overrides.properties()) {
+            if (!isDefault(defaults.get(field.getKey()), field.getValue())) {
+                delta.set(field.getKey(), field.getValue());
+            }
+        }
+        return resolve(delta);
+    }
+
+    /**
+     * 저장 당시의 기본값 스냅샷을 기준으로 델타를 다시 만든다. (저장 옵션 수정 시 상품 기본값이 그 뒤에 바뀌었어도 기준이 흔들리지 않도록)
+     */
+    public MaterialConfig resolveDeltaOnBase(String materialOverridesJson, MaterialConfig base) {
+        if (base == null) {
+            return resolve(materialOverridesJson);
+        }
+        try {
+            Map<String, MaterialProperties> defaults = objectMapper.readValue(
+                    base.getCanonicalJson(), new TypeReference<Map<String, MaterialProperties>>() {});
+            return resolveDelta(materialOverridesJson, defaults);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("기본값 스냅샷 파싱 실패: hash=" + base.getContentHash(), e);
+        }
+    }
+
+    /**
+     * 저장된 기본값 스냅샷 위에 델타를 덮어써서 원래의 전체 오버라이드 JSON으로 펼친다.
+     */
+    public String expand(MaterialConfig base, MaterialConfig delta) {
+        if (base == null) {
+            return delta != null ? delta.getCanonicalJson() : null;
+        }
+        ObjectNode merged = canonicalTree(base.getCanonicalJson());
+        if (delta != null) {
+            merged.setAll(canonicalTree(delta.getCanonicalJson()));
+        }
+        return sorted(merged).toString();
+    }
+
+    // 오버라이드 항목이 기본값과 같은지 비교한다. (색상 대소문자 차이 등은 같은 값으로 본다)
+    private boolean isDefault(MaterialProperties defaultMaterial, JsonNode override) {
+        if (defaultMaterial == null || !override.isObject() || override.size() != 3) {
+            return false;
+        }
+        try {
+            return defaultMaterial.equals(objectMapper.treeToValue(override, MaterialProperties.class));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return false; // 모양이 다르면 기본값과 다른 값으로 취급
+        }
+    }
+
+    /**
+     * 키를 사전순으로 정렬하고 공백을 없앤 JSON 트리로 바꾼다.
+     * 키 순서나 숫자 표기(0.50 / 0.5)만 다른 설정은 같은 문자열이 된다.
+     */
+    private ObjectNode canonicalTree(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (node == null || !node.isObject()) {
+                throw new CustomException("잘못된 재질 정보 형식입니다.", 400);
+            }
+            return (ObjectNode) sorted(node);
+        } catch (JsonProcessingException e) {
+            throw new CustomException("잘못된 재질 정보 형식입니다.", 400);
+        }
+    }
+
+    private JsonNode sorted(JsonNode node) {
+        if (node.isObject()) {
+            List<Map.Entry<String, JsonNode>> fields = new ArrayList<>(node.properties());
+            fields.sort(Map.Entry.comparingByKey());
+
+            ObjectNode result = objectMapper.createObjectNode();
+            for (Map.Entry<String, JsonNode> field : fields) {
+                result.set(field.getKey(), sorted(field.getValue()));
+            }
+            return result;
+        }
+        if (node.isArray()) {
+            ArrayNode result = objectMapper.createArrayNode();
+            node.forEach(child -> result.add(sorted(child)));
+            return result;
+        }
+        if (node.isFloatingPointNumber()) {
+            // 0.50, 5e-1 처럼 표기만 다른 숫자를 하나로 맞춘다.
+            return objectMapper.getNodeFactory().numberNode(node.doubleValue());
+        }
+        return node;
+    }
+
+    private static String sha256Hex(String source) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
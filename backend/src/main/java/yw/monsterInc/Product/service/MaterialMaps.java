@@ -0,0 +1,85 @@
+package yw.monsterInc.Product.service;
+
+import yw.monsterInc.Product.entity.MaterialProperties;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 재질 맵(파츠 이름 → 재질 값) 검증 및 인터닝 유틸.
+ * 저장할 때 한 번만 검증하고, 메모리에는 불변 + 중복 제거된 맵 하나만 들고 있도록 한다.
+ */
+public final class MaterialMaps {
+
+    public static final int MAX_PARTS = 64;
+    public static final int MAX_PART_NAME_LENGTH = 100;
+    private static final Pattern COLOR_PATTERN = Pattern.compile("^#[0-9a-fA-F]{6}$");
+
+    // 같은 내용의 맵/재질 값은 같은 인스턴스를 재사용한다. (상품 수가 많지 않아 크기 제한만 둔다)
+    private static final int MAX_INTERNED = 10_000;
+    private static final Map<Map<String, MaterialProperties>, Map<String, MaterialProperties>> INTERNED_MAPS = new ConcurrentHashMap<>();
+    private static final Map<MaterialProperties, MaterialProperties> INTERNED_VALUES = new ConcurrentHashMap<>();
+
+    private MaterialMaps() {
+    }
+
+    /**
+     * 재질 맵을 검증한다. 잘못된 값이 있으면 400 CustomException을 던진다.
+     * @return 검증된 맵 (null이면 빈 맵)
+     */
+    public static Map<String, MaterialProperties> validate(Map<String, MaterialProperties> materials) {
+        if (materials == null) {
+            return Collections.emptyMap();
+        }
+        if (materials.size() > MAX_PARTS) {
+            throw new CustomException("재질 파츠는 최대 " + MAX_PARTS + "개까지 등록할 수 있습니다.", 400);
+        }
+        materials.forEach(MaterialMaps::validateEntry);
+        return materials;
+    }
+
+    public static void validateEntry(String partName, MaterialProperties material) {
+        if (partName == null || partName.isBlank() || partName.length() > MAX_PART_NAME_LENGTH) {
+            throw new CustomException("잘못된 파츠 이름입니다: " + partName, 400);
+        }
+        if (material == null || material.getColor() == null || !COLOR_PATTERN.matcher(material.getColor()).matches()) {
+            throw new CustomException("잘못된 색상 값입니다. (#rrggbb) part=" + partName, 400);
+        }
+        if (!inUnitRange(material.getMetalness()) || !inUnitRange(material.getRoughness())) {
+            throw new CustomException("metalness/roughness는 0~1 사이여야 합니다. part=" + partName, 400);
+        }
+    }
+
+    /**
+     * 파츠 이름 순으로 정렬된 불변 맵을 만들고, 같은 내용이 이미 있으면 그 인스턴스를 돌려준다.
+     */
+    public static Map<String, MaterialProperties> intern(Map<String, MaterialProperties> materials) {
+        if (materials == null || materials.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, MaterialProperties> sorted = new LinkedHashMap<>();
+        new TreeMap<>(materials).forEach((part, material) -> sorted.put(part.intern(), internValue(material)));
+        Map<String, MaterialProperties> canonical = Collections.unmodifiableMap(sorted);
+
+        if (INTERNED_MAPS.size() >= MAX_INTERNED) {
+            INTERNED_MAPS.clear();
+        }
+        return INTERNED_MAPS.computeIfAbsent(canonical, key -> key);
+    }
+
+    private static MaterialProperties internValue(MaterialProperties material) {
+        if (INTERNED_VALUES.size() >= MAX_INTERNED) {
+            INTERNED_VALUES.clear();
+        }
+        return INTERNED_VALUES.computeIfAbsent(material, key -> key);
+    }
+
+    private static boolean inUnitRange(double value) {
+        return value >= 0.0 && value <= 1.0; // NaN은 여기서 걸러진다
+    }
+}
@@ -0,0 +1,257 @@
+package yw.monsterInc.Product.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.Product.dto.PopularConfigurationDto;
+import yw.monsterInc.Product.event.ConfigurationChosenEvent;
+import yw.monsterInc.Product.repository.SaveOptionRepository;
+import yw.monsterInc.global.sketch.CountMinSketch;
+import yw.monsterInc.global.sketch.TopK;
+import yw.monsterInc.order.constant.OrderStatus;
+import yw.monsterInc.order.repository.OrderRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 상품별 인기 재질 조합(룩) 집계.
+ * 상품마다 Count-Min 스케치 + 상위 K개 힙을 메모리에 두고, 옵션 저장/주문 완료 이벤트가 올 때마다 조금씩 갱신한다. (조회 시 스캔 없음)
+ * 이벤트는 Redis pub/sub으로 모든 노드에 퍼뜨리고, 주기적으로 Redis에 스냅샷을 남겨 새 노드가 바로 이어받는다.
+ */
+@Slf4j
+@Service
+public class PopularConfigurationService implements MessageListener {
+
+    private static final String SNAPSHOT_KEY = "PopularConfig:snapshot"; // hash: productId -> 스냅샷
+    private static final ChannelTopic EVENT_TOPIC = new ChannelTopic("popular-config-events");
+    private static final String DEFAULT_LOOK = "-"; // 기본 재질 그대로 저장한 경우의 키
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final SaveOptionRepository saveOptionRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int sketchDepth;
+    private final int sketchWidth;
+    private final int topK;
+    private final int orderWeight;
+
+    private final Map<Long, ProductSketch> sketches = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet(); // 마지막 스냅샷 이후 바뀐 상품
+
+    public PopularConfigurationService(StringRedisTemplate redisTemplate,
+                                       RedisMessageListenerContainer listenerContainer,
+                                       SaveOptionRepository saveOptionRepository,
+                                       OrderRepository orderRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${product.popular.sketch-depth:4}") int sketchDepth,
+                                       @Value("${product.popular.sketch-width:1024}") int sketchWidth,
+                                       @Value("${product.popular.top-k:32}") int topK,
+                                       @Value("${product.popular.order-weight:3}") int orderWeight) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.saveOptionRepository = saveOptionRepository;
+        this.orderRepository = orderRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.sketchDepth = sketchDepth;
+        this.sketchWidth = sketchWidth;
+        this.topK = topK;
+        this.orderWeight = orderWeight;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, EVENT_TOPIC);
+    }
+
+    /**
+     * 상품의 인기 조합 상위 limit개 (추정 빈도 높은 순)
+     */
+    public List<PopularConfigurationDto> getTopConfigurations(Long productId, int limit) {
+        ProductSketch sketch = sketches.get(productId);
+        if (sketch == null) {
+            return List.of();
+        }
+        return sketch.top(Math.min(limit, topK)).stream()
+                .map(entry -> new PopularConfigurationDto(
+                        DEFAULT_LOOK.equals(entry.getItem()) ? null : entry.getItem(), entry.getCount()))
+                .toList();
+    }
+
+    // 저장/주문이 커밋된 뒤에 모든 노드로 퍼뜨린다. (자기 자신도 메시지를 받아서 반영)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onConfigurationChosen(ConfigurationChosenEvent event) {
+        String key = event.getConfigHash() != null ? event.getConfigHash() : DEFAULT_LOOK;
+        int weight = event.isOrdered() ? orderWeight : 1;
+        try {
+            redisTemplate.convertAndSend(EVENT_TOPIC.getTopic(), event.getProductId() + ":" + key + ":" + weight);
+        } catch (DataAccessException e) {
+            // Redis 장애 시에는 이 노드에만이라도 반영한다.
+            log.warn("인기 조합 이벤트 전송 실패, 로컬에만 반영합니다: productId={}, error={}", event.getProductId(), e.getMessage());
+            record(event.getProductId(), key, weight);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        try {
+            record(Long.valueOf(parts[0]), parts[1], Integer.parseInt(parts[2]));
+        } catch (RuntimeException e) {
+            log.warn("알 수 없는 인기 조합 이벤트: {}", body);
+        }
+    }
+
+    private void record(Long productId, String key, int weight) {
+        sketches.computeIfAbsent(productId, id -> new ProductSketch(new CountMinSketch(sketchDepth, sketchWidth), new TopK(topK)))
+                .add(key, weight);
+        dirty.add(productId);
+    }
+
+    /**
+     * 바뀐 상품의 스케치만 Redis에 저장한다. 모든 노드가 같은 이벤트를 받으므로 어느 노드가 써도 같은 내용이다.
+     */
+    @Scheduled(fixedDelayString = "${product.popular.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Long productId : List.copyOf(dirty)) {
+            dirty.remove(productId);
+            ProductSketch sketch = sketches.get(productId);
+            if (sketch != null) {
+                fields.put(productId.toString(), sketch.serialize());
+            }
+        }
+        try {
+            redisTemplate.opsForHash().putAll(SNAPSHOT_KEY, fields);
+            log.debug("인기 조합 스냅샷 저장: products={}", fields.size());
+        } catch (DataAccessException e) {
+            log.warn("인기 조합 스냅샷 저장 실패, 다음 주기에 재시도합니다: {}", e.getMessage());
+            fields.keySet().forEach(id -> dirty.add(Long.valueOf(id)));
+        }
+    }
+
+    /**
+     * 기동 시 Redis 스냅샷에서 바로 복원한다. 스냅샷이 아예 없을 때(첫 배포)만 DB를 한 번 훑어서 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Object, Object> stored;
+        try {
+            stored = redisTemplate.opsForHash().entries(SNAPSHOT_KEY);
+        } catch (DataAccessException e) {
+            log.warn("인기 조합 스냅샷 조회 실패, DB에서 다시 만듭니다: {}", e.getMessage());
+            stored = Map.of();
+        }
+
+        if (!stored.isEmpty()) {
+            stored.forEach((productId, value) -> {
+                try {
+                    // 구독은 기동 때 이미 시작됐으므로 그 사이 받은 이벤트를 덮어쓰지 않고 스냅샷과 합친다.
+                    sketches.merge(Long.valueOf((String) productId), ProductSketch.deserialize((String) value, topK),
+                            ProductSketch::merge);
+                } catch (RuntimeException e) {
+                    log.warn("인기 조합 스냅샷 복원 실패: productId={}, error={}", productId, e.getMessage());
+                }
+            });
+            log.info("인기 조합 스냅샷 복원: products={}", sketches.size());
+            return;
+        }
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> saved = saveOptionRepository.streamMaterialHashes()) {
+                saved.forEach(row -> record((Long) row[0], row[1] != null ? (String) row[1] : DEFAULT_LOOK, 1));
+            }
+            try (Stream<Object[]> ordered = orderRepository.streamMaterialHashesByStatus(OrderStatus.COMPLETED)) {
+                ordered.forEach(row -> record((Long) row[0], row[1] != null ? (String) row[1] : DEFAULT_LOOK, orderWeight));
+            }
+        });
+        log.info("인기 조합 스케치 초기 구축: products={}", sketches.size());
+    }
+
+    // 상품 하나의 스케치 + 상위 K개. 둘을 함께 갱신해야 해서 객체 단위로 동기화한다.
+    private static final class ProductSketch {
+        private final CountMinSketch sketch;
+        private final TopK top;
+
+        private ProductSketch(CountMinSketch sketch, TopK top) {
+            this.sketch = sketch;
+            this.top = top;
+        }
+
+        synchronized void add(String key, int weight) {
+            top.offer(key, sketch.add(key, weight));
+        }
+
+        // 스케치는 칸마다 더하고, 상위 K개는 양쪽 후보를 합친 스케치로 다시 추정해서 채운다.
+        ProductSketch merge(ProductSketch other) {
+            List<TopK.Entry> candidates = other.top(Integer.MAX_VALUE);
+            synchronized (this) {
+                sketch.merge(other.sketch);
+                for (TopK.Entry entry : top.top(Integer.MAX_VALUE)) {
+                    top.offer(entry.getItem(), sketch.estimate(entry.getItem()));
+                }
+                for (TopK.Entry entry : candidates) {
+                    top.offer(entry.getItem(), sketch.estimate(entry.getItem()));
+                }
+            }
+            return this;
+        }
+
+        synchronized List<TopK.Entry> top(int limit) {
+            return top.top(limit);
+        }
+
+        // "base64(스케치)|키=값,키=값..." 형태
+        synchronized String serialize() {
+            StringBuilder builder = new StringBuilder(Base64.getEncoder().encodeToString(sketch.toBytes()));
+            List<TopK.Entry> entries = top.top(Integer.MAX_VALUE);
+            builder.append('|');
+            for (int i = 0; i < entries.size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(entries.get(i).getItem()).append('=').append(entries.get(i).getCount());
+            }
+            return builder.toString();
+        }
+
+        static ProductSketch deserialize(String value, int capacity) {
+            String[] parts = value.split("\\|", -1);
+            CountMinSketch sketch = CountMinSketch.fromBytes(Base64.getDecoder().decode(parts[0]));
+            TopK top = new TopK(capacity);
+            if (!parts[1].isEmpty()) {
+                for (String entry : parts[1].split(",")) {
+                    int separator = entry.lastIndexOf('=');
+                    top.offer(entry.substring(0, separator), Long.parseLong(entry.substring(separator + 1)));
+                }
+            }
+            return new ProductSketch(sketch, top);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package yw.monsterInc.Product.service;
+
+import yw.monsterInc.Product.constant.OptionCategory;
+import yw.monsterInc.Product.dto.OptionDto;
+import yw.monsterInc.Product.dto.ProductDetailDto;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 상품 하나의 컴파일된 가격표 (불변).
+ * OptionCategory.ordinal()마다 옵션 ID를 정렬한 배열과 같은 순서의 가격/이름 배열을 둔다.
+ * 견적 = 기본가 + 카테고리마다 이진 탐색 한 번 + 배열 조회.
+ */
+final class PriceTable {
+
+    private static final int CATEGORY_COUNT = OptionCategory.values().length;
+
+    private final ProductDetailDto source; // 이 표를 만든 상세 DTO. 캐시가 새로 로딩되면 인스턴스가 바뀌어서 다시 컴파일된다.
+    private final int basePrice;
+    private final long[][] optionIds;
+    private final int[][] prices;
+    private final String[][] names;
+
+    private PriceTable(ProductDetailDto source, long[][] optionIds, int[][] prices, String[][] names) {
+        this.source = source;
+        this.basePrice = source.getBasePrice();
+        this.optionIds = optionIds;
+        this.prices = prices;
+        this.names = names;
+    }
+
+    static PriceTable compile(ProductDetailDto detail) {
+        long[][] optionIds = new long[CATEGORY_COUNT][];
+        int[][] prices = new int[CATEGORY_COUNT][];
+        String[][] names = new String[CATEGORY_COUNT][];
+
+        for (OptionCategory category : OptionCategory.values()) {
+            List<OptionDto> options = detail.getOptions().stream()
+                    .filter(option -> option.getParts() == category && option.getId() != null)
+                    .sorted(Comparator.comparing(OptionDto::getId))
+                    .toList();
+            int c = category.ordinal();
+            optionIds[c] = new long[options.size()];
+            prices[c] = new int[options.size()];
+            names[c] = new String[options.size()];
+            for (int i = 0; i < options.size(); i++) {
+                optionIds[c][i] = options.get(i).getId();
+                prices[c][i] = options.get(i).getOptionPrice();
+                names[c][i] = options.get(i).getOptionName();
+            }
+        }
+        return new PriceTable(detail, optionIds, prices, names);
+    }
+
+    boolean isCompiledFrom(ProductDetailDto detail) {
+        return source == detail;
+    }
+
+    int getBasePrice() {
+        return basePrice;
+    }
+
+    /**
+     * 카테고리 안에서 옵션의 위치. 이 상품/카테고리의 옵션이 아니면 -1
+     */
+    int indexOf(OptionCategory category, long optionId) {
+        int index = Arrays.binarySearch(optionIds[category.ordinal()], optionId);
+        return index >= 0 ? index : -1;
+    }
+
+    int priceAt(OptionCategory category, int index) {
+        return prices[category.ordinal()][index];
+    }
+
+    String nameAt(OptionCategory category, int index) {
+        return names[category.ordinal()][index];
+    }
+}
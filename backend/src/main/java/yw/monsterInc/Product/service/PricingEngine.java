@@ -0,0 +1,63 @@
+package yw.monsterInc.Product.service;
+
+import org.springframework.stereotype.Component;
+import yw.monsterInc.Product.constant.OptionCategory;
+import yw.monsterInc.Product.dto.PriceQuoteDto;
+import yw.monsterInc.Product.dto.ProductDetailDto;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 옵션 가격 계산기. 커스터마이저 견적 API와 결제 준비(preparePayment)가 같은 계산을 쓴다.
+ * 가격표는 상품 상세 캐시(ProductDetailCache)의 DTO에서 컴파일해 두고, 상세가 다시 로딩되면(상품 변경 → 무효화) 새로 만든다.
+ */
+@Component
+public class PricingEngine {
+
+    private final Map<Long, PriceTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * 기본가 + 카테고리별로 고른 옵션 가격의 합을 계산한다.
+     * 이 상품에 없는 옵션이거나 카테고리가 맞지 않으면 400을 던진다.
+     */
+    public PriceQuoteDto quote(ProductDetailDto detail, Map<OptionCategory, Long> selectedOptions) {
+        PriceTable table = tableOf(detail);
+        List<PriceQuoteDto.Line> lines = new ArrayList<>();
+        long total = table.getBasePrice();
+
+        if (selectedOptions != null) {
+            // 카테고리 순서대로 돌아서 응답 줄 순서가 항상 같게 한다.
+            for (OptionCategory category : OptionCategory.values()) {
+                Long optionId = selectedOptions.get(category);
+                if (optionId == null) {
+                    continue;
+                }
+                int index = table.indexOf(category, optionId);
+                if (index < 0) {
+                    throw new CustomException("선택할 수 없는 옵션입니다. category=" + category + ", optionId=" + optionId, 400);
+                }
+                int price = table.priceAt(category, index);
+                total += price;
+                lines.add(new PriceQuoteDto.Line(category, optionId, table.nameAt(category, index), price));
+            }
+        }
+
+        if (total < 0 || total > Integer.MAX_VALUE) {
+            throw new CustomException("견적 금액이 올바르지 않습니다.", 400);
+        }
+        return new PriceQuoteDto(detail.getId(), table.getBasePrice(), lines, (int) total);
+    }
+
+    private PriceTable tableOf(ProductDetailDto detail) {
+        PriceTable table = tables.get(detail.getId());
+        if (table == null || !table.isCompiledFrom(detail)) {
+            table = PriceTable.compile(detail);
+            tables.put(detail.getId(), table);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,134 @@
+package yw.monsterInc.Product.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yw.monsterInc.Product.dto.ProductCounterDto;
+import yw.monsterInc.Product.entity.ProductCounter;
+import yw.monsterInc.Product.repository.ProductCounterRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 조회수 / 커스터마이저 진입 수 카운터.
+ * 요청 스레드는 상품별 LongAdder에 더하기만 하고(락/DB 없음), 스케줄러가 몇 초마다 쌓인 증가분을 한 번의 배치 UPSERT로 반영한다.
+ * 증가분을 더하는 방식이라 여러 노드가 동시에 반영해도 값이 덮어써지지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductCounterService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO product_counter (product_id, view_count, configurator_open_count) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count), " +
+            "configurator_open_count = configurator_open_count + VALUES(configurator_open_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCounterRepository productCounterRepository;
+
+    // 아직 DB에 반영하지 않은 증가분. 존재하는 상품만 기록하므로 상품 수 이상으로 커지지 않는다.
+    private final Map<Long, Cells> pending = new ConcurrentHashMap<>();
+
+    public void recordView(Long productId) {
+        cellsOf(productId).views.increment();
+    }
+
+    public void recordConfiguratorOpen(Long productId) {
+        cellsOf(productId).configuratorOpens.increment();
+    }
+
+    private Cells cellsOf(Long productId) {
+        Cells cells = pending.get(productId);
+        return cells != null ? cells : pending.computeIfAbsent(productId, id -> new Cells());
+    }
+
+    /**
+     * 쌓인 증가분을 꺼내서(0으로 리셋) 한 번에 반영한다. 실패하면 꺼낸 값을 다시 되돌려 다음 주기에 재시도한다.
+     */
+    @Scheduled(fixedDelayString = "${product.counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        pending.forEach((productId, cells) -> {
+            long views = cells.views.sumThenReset();
+            long opens = cells.configuratorOpens.sumThenReset();
+            if (views != 0 || opens != 0) {
+                rows.add(new Object[]{productId, views, opens});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            log.debug("상품 카운터 반영: products={}", rows.size());
+        } catch (DataAccessException e) {
+            log.warn("상품 카운터 반영 실패, 다음 주기에 재시도합니다: products={}, error={}", rows.size(), e.getMessage());
+            for (Object[] row : rows) {
+                Cells cells = cellsOf((Long) row[0]);
+                cells.views.add((Long) row[1]);
+                cells.configuratorOpens.add((Long) row[2]);
+            }
+        }
+    }
+
+    // 종료 전에 남은 증가분을 반영한다.
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 현재 카운트 = DB에 반영된 값 + 아직 반영 안 된 이 노드의 증가분
+     */
+    public ProductCounterDto getCounts(Long productId) {
+        long views = 0;
+        long opens = 0;
+        ProductCounter stored = productCounterRepository.findById(productId).orElse(null);
+        if (stored != null) {
+            views = stored.getViewCount();
+            opens = stored.getConfiguratorOpenCount();
+        }
+        Cells cells = pending.get(productId);
+        if (cells != null) {
+            views += cells.views.sum();
+            opens += cells.configuratorOpens.sum();
+        }
+        return new ProductCounterDto(productId, views, opens);
+    }
+
+    /**
+     * 전체 상품 카운트 (조회수 많은 순)
+     */
+    public List<ProductCounterDto> getAllCounts() {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (ProductCounter stored : productCounterRepository.findAll()) {
+            totals.put(stored.getProductId(), new long[]{stored.getViewCount(), stored.getConfiguratorOpenCount()});
+        }
+        pending.forEach((productId, cells) -> {
+            long[] total = totals.computeIfAbsent(productId, id -> new long[2]);
+            total[0] += cells.views.sum();
+            total[1] += cells.configuratorOpens.sum();
+        });
+        return totals.entrySet().stream()
+                .map(entry -> new ProductCounterDto(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingLong(ProductCounterDto::getViewCount).reversed())
+                .toList();
+    }
+
+    private static final class Cells {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder configuratorOpens = new LongAdder();
+    }
+}
@@ -0,0 +1,286 @@
+package yw.monsterInc.Product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yw.monsterInc.Product.dto.ProductDetailDto;
+import yw.monsterInc.Product.event.ProductChangedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 상품 상세(ProductDetailDto) 2단 캐시.
+ * L1: 노드 내 Caffeine (크기 제한 + 만료), L2: Redis (노드 간 공유).
+ * 같은 키에 대한 동시 미스는 Caffeine이 한 번만 로딩하도록 묶어준다. (single-flight)
+ * 상품이 바뀌면 Redis pub/sub으로 모든 노드의 L1을 비운다.
+ * L2는 세대 번호로 보호한다. 무효화할 때마다 세대를 올리고, DB 로딩 전에 읽은 세대가 그대로일 때만 L2에 쓴다.
+ * (무효화 직전에 옛날 데이터를 읽은 로딩이 무효화 뒤에 L2를 다시 채우는 것을 막는다)
+ */
+@Slf4j
+@Component
+public class ProductDetailCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "ProductDetail:";
+    private static final ChannelTopic INVALIDATION_TOPIC = new ChannelTopic("product-detail-invalidation");
+    private static final String INVALIDATE_ALL = "*";
+    private static final String GENERATION_KEY = "ProductDetailGeneration"; // KEY_PREFIX 밖에 둬야 전체 삭제에 안 걸린다
+    private static final int SCAN_BATCH = 500;
+
+    // 세대가 로딩 시작 때와 같을 때만 저장한다.
+    // KEYS: 세대 키, 상세 키들 / ARGV: 읽은 세대, ttl(ms), 값들 (KEYS[i + 1] = ARGV[i + 2])
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then return 0 end
+            for i = 2, #KEYS do
+              redis.call('SET', KEYS[i], ARGV[i + 1], 'PX', ARGV[2])
+            end
+            return #KEYS - 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Duration l2Ttl;
+    private final Cache<Long, ProductDetailDto> l1;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Timer loadTimer;
+
+    public ProductDetailCache(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              RedisMessageListenerContainer listenerContainer,
+                              MeterRegistry meterRegistry,
+                              @Value("${product.cache.l1-max-size:10000}") long l1MaxSize,
+                              @Value("${product.cache.l1-ttl:10m}") Duration l1Ttl,
+                              @Value("${product.cache.l2-ttl:30m}") Duration l2Ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.l2Ttl = l2Ttl;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+
+        // L1 hit/miss/eviction은 Caffeine 통계로, L2와 DB 로딩 시간은 직접 기록한다.
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "productDetail.l1");
+        this.l2Hits = Counter.builder("product.detail.cache.l2").tag("result", "hit").register(meterRegistry);
+        this.l2Misses = Counter.builder("product.detail.cache.l2").tag("result", "miss").register(meterRegistry);
+        this.loadTimer = Timer.builder("product.detail.cache.load")
+                .description("L1/L2 모두 미스일 때 DB에서 상세 정보를 만드는 데 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, INVALIDATION_TOPIC);
+    }
+
+    /**
+     * 캐시에서 상품 상세를 꺼낸다. L1 → L2 → DB(loader) 순서로 찾는다.
+     * @param loader L1, L2 모두 없을 때 DB에서 DTO를 만드는 함수
+     */
+    public ProductDetailDto get(Long productId, Function<Long, ProductDetailDto> loader) {
+        return l1.get(productId, id -> loadFromL2OrDb(id, loader));
+    }
+
+    /**
+     * 여러 상품을 한 번에 꺼낸다. L1에 없는 것만 모아서 L2는 MGET 한 번, 그래도 없는 것은 bulkLoader 한 번으로 채운다.
+     * 존재하지 않는 상품은 결과 맵에서 빠진다.
+     * @param bulkLoader 없는 id 목록을 받아 DB에서 한 번에 DTO를 만드는 함수
+     */
+    public Map<Long, ProductDetailDto> getAll(Collection<Long> productIds,
+                                              Function<Set<Long>, Map<Long, ProductDetailDto>> bulkLoader) {
+        return l1.getAll(productIds, missing -> loadAllFromL2OrDb(missing, bulkLoader));
+    }
+
+    /**
+     * 해당 상품의 캐시를 모든 노드에서 무효화한다. (null이면 전체)
+     */
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(productId);
+        }
+        try {
+            // 세대를 먼저 올려야 지금 DB를 읽고 있는 로딩이 삭제 뒤에 옛날 값을 쓰지 못한다.
+            redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (productId != null) {
+                redisTemplate.delete(KEY_PREFIX + productId);
+            } else {
+                deleteAllL2();
+            }
+            redisTemplate.convertAndSend(INVALIDATION_TOPIC.getTopic(),
+                    productId == null ? INVALIDATE_ALL : productId.toString());
+        } catch (DataAccessException e) {
+            log.warn("상품 상세 캐시 무효화 메시지 전송 실패: productId={}, error={}", productId, e.getMessage());
+        }
+    }
+
+    // 상품 변경이 커밋된 후에 무효화해야 다른 노드가 옛날 데이터를 다시 채우지 않는다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    // 다른 노드(자기 자신 포함)에서 보낸 무효화 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (INVALIDATE_ALL.equals(body)) {
+            l1.invalidateAll();
+            return;
+        }
+        try {
+            l1.invalidate(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("알 수 없는 캐시 무효화 메시지: {}", body);
+        }
+    }
+
+    // KEYS는 키 전체를 훑는 동안 Redis를 막으므로 SCAN으로 조금씩 찾아서 나눠 지운다.
+    private void deleteAllL2() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH).build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.unlink(batch);
+        }
+    }
+
+    // L2 저장 전 비교할 세대. Redis 장애면 null (이때는 L2에 쓰지 않는다)
+    private String currentGeneration() {
+        try {
+            String generation = redisTemplate.opsForValue().get(GENERATION_KEY);
+            return generation == null ? "0" : generation;
+        } catch (DataAccessException e) {
+            log.warn("상품 상세 캐시 세대 조회 실패: error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeL2(String generation, Map<Long, ProductDetailDto> values) throws JsonProcessingException {
+        if (generation == null || values.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(values.size() + 1);
+        List<String> args = new ArrayList<>(values.size() + 2);
+        keys.add(GENERATION_KEY);
+        args.add(generation);
+        args.add(String.valueOf(l2Ttl.toMillis()));
+        for (Map.Entry<Long, ProductDetailDto> entry : values.entrySet()) {
+            keys.add(KEY_PREFIX + entry.getKey());
+            args.add(objectMapper.writeValueAsString(entry.getValue()));
+        }
+        Long written = redisTemplate.execute(SET_IF_GENERATION, keys, args.toArray());
+        if (written == null || written == 0) {
+            log.debug("로딩 중 무효화가 있어 L2 저장을 건너뜀: ids={}", values.keySet());
+        }
+    }
+
+    private Map<Long, ProductDetailDto> loadAllFromL2OrDb(Set<? extends Long> productIds,
+                                                          Function<Set<Long>, Map<Long, ProductDetailDto>> bulkLoader) {
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, ProductDetailDto> result = new HashMap<>();
+
+        // 1. L2(Redis) MGET. 세대는 L2/DB를 읽기 전에 잡아둔다.
+        String generation = currentGeneration();
+        try {
+            List<String> cached = redisTemplate.opsForValue().multiGet(ids.stream().map(id -> KEY_PREFIX + id).toList());
+            for (int i = 0; cached != null && i < ids.size(); i++) {
+                if (cached.get(i) != null) {
+                    result.put(ids.get(i), objectMapper.readValue(cached.get(i), ProductDetailDto.class));
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("상품 상세 L2 캐시 일괄 조회 실패: ids={}, error={}", ids.size(), e.getMessage());
+        }
+        l2Hits.increment(result.size());
+        l2Misses.increment(ids.size() - result.size());
+
+        // 2. 남은 것만 DB에서 한 번에
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(result.keySet());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        Map<Long, ProductDetailDto> loaded = loadTimer.record(() -> bulkLoader.apply(missing));
+
+        // 3. L2 채우기 (스크립트 한 번으로, 그 사이 무효화가 없었을 때만)
+        try {
+            writeL2(generation, loaded);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("상품 상세 L2 캐시 일괄 저장 실패: ids={}, error={}", loaded.size(), e.getMessage());
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    private ProductDetailDto loadFromL2OrDb(Long productId, Function<Long, ProductDetailDto> loader) {
+        String key = KEY_PREFIX + productId;
+
+        // 1. L2(Redis) 조회. Redis 장애 시에는 DB로 바로 넘어간다. 세대는 L2/DB를 읽기 전에 잡아둔다.
+        String generation = currentGeneration();
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                l2Hits.increment();
+                return objectMapper.readValue(cached, ProductDetailDto.class);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("상품 상세 L2 캐시 조회 실패: productId={}, error={}", productId, e.getMessage());
+        }
+        l2Misses.increment();
+
+        // 2. DB에서 로딩 (Caffeine이 같은 키의 동시 요청을 이 한 번의 호출로 묶어준다)
+        ProductDetailDto loaded = loadTimer.record(() -> loader.apply(productId));
+
+        // 3. L2 채우기 (그 사이 무효화가 없었을 때만)
+        try {
+            writeL2(generation, Map.of(productId, loaded));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("상품 상세 L2 캐시 저장 실패: productId={}, error={}", productId, e.getMessage());
+        }
+        return loaded;
+    }
+}
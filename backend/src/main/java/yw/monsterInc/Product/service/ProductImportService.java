@@ -0,0 +1,346 @@
+package yw.monsterInc.Product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.Product.constant.ProductImportFormat;
+import yw.monsterInc.Product.constant.ProductStatus;
+import yw.monsterInc.Product.dto.ProductImportResultDto;
+import yw.monsterInc.Product.dto.ProductImportRowDto;
+import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.Product.event.ProductChangedEvent;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 대량 등록 (NDJSON / CSV 스트리밍).
+ * 요청 본문을 한 줄씩 읽으면서 검증하고, batchSize 건씩 persist → flush → clear 해서 JDBC 배치로 INSERT 한다.
+ * 파일 전체를 메모리에 올리지 않으며, 잘못된 행은 줄 번호와 함께 기록하고 나머지는 계속 진행한다.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final int MAX_ERRORS = 1000;
+    private static final int MAX_FINISHED_JOBS = 20;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ProductImportService(EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                @Value("${product.import.batch-size:1000}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.rowReader = objectMapper.readerFor(ProductImportRowDto.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 스트림을 끝까지 읽어 등록하고 최종 결과를 반환한다. 진행 중에는 findJob/findJobs로 진행 상황을 볼 수 있다.
+     */
+    public ProductImportResultDto importProducts(InputStream body, ProductImportFormat format) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        log.info("상품 대량 등록 시작: jobId={}, format={}", job.id, format);
+
+        List<Product> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        List<Long> assetProductIds = new ArrayList<>(); // 후처리가 필요한 상품 (modelUrl이나 imageUrl이 있는 것만)
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            Map<String, Integer> csvColumns = format == ProductImportFormat.CSV ? readCsvHeader(reader) : null;
+            long lineNumber = format == ProductImportFormat.CSV ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                job.processed.incrementAndGet();
+                try {
+                    ProductImportRowDto row = csvColumns != null ? parseCsvRow(line, csvColumns) : rowReader.readValue(line);
+                    batch.add(toProduct(row));
+                    batchLines.add(lineNumber);
+                } catch (JsonProcessingException e) {
+                    job.fail(lineNumber, "JSON 형식 오류: " + e.getOriginalMessage());
+                } catch (CustomException | IllegalArgumentException e) {
+                    job.fail(lineNumber, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch, batchLines, job, assetProductIds);
+                }
+            }
+            flush(batch, batchLines, job, assetProductIds);
+            job.status = "COMPLETED";
+        } catch (IOException | CustomException e) {
+            job.status = "FAILED";
+            job.fail(0, "업로드를 읽는 중 중단되었습니다: " + e.getMessage());
+        } finally {
+            job.finishedNanos = System.nanoTime();
+            if (job.imported.get() > 0) {
+                // 카탈로그 스냅샷/상세 캐시 등은 상품 하나씩이 아니라 한 번만 갱신한다.
+                // 모델/이미지 후처리는 전체 상품을 다시 훑지 않고 이번에 들어온 상품만 넘긴다.
+                eventPublisher.publishEvent(ProductChangedEvent.ofProducts(assetProductIds));
+            }
+            trimFinishedJobs();
+        }
+
+        ProductImportResultDto result = job.toDto();
+        log.info("상품 대량 등록 종료: jobId={}, status={}, imported={}, failed={}, {} rows/s",
+                job.id, result.getStatus(), result.getImportedRows(), result.getFailedRows(),
+                Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    public Optional<ProductImportResultDto> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toDto);
+    }
+
+    public List<ProductImportResultDto> findJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .map(ImportJob::toDto)
+                .toList();
+    }
+
+    // 한 배치를 한 트랜잭션으로 저장한다. 실패하면 그 배치의 행들을 모두 실패로 기록한다.
+    private void flush(List<Product> batch, List<Long> batchLines, ImportJob job, List<Long> assetProductIds) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Product product : batch) {
+                    entityManager.persist(product);
+                }
+                entityManager.flush();
+                entityManager.clear(); // 영속성 컨텍스트가 계속 커지지 않도록 비운다
+            });
+            job.imported.addAndGet(batch.size());
+            for (Product product : batch) {
+                if (product.getModelUrl() != null || product.getImageUrl() != null) {
+                    assetProductIds.add(product.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("상품 대량 등록 배치 저장 실패: jobId={}, rows={}, cause={}", job.id, batch.size(), e.getMessage());
+            for (Long line : batchLines) {
+                job.fail(line, "DB 저장 실패: " + e.getMessage());
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private Product toProduct(ProductImportRowDto row) {
+        String name = row.getName() == null ? "" : row.getName().trim();
+        if (name.isEmpty() || name.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("상품 이름은 1~" + MAX_TEXT_LENGTH + "자여야 합니다.");
+        }
+        if (row.getBasePrice() == null || row.getBasePrice() < 0) {
+            throw new IllegalArgumentException("basePrice는 0 이상이어야 합니다.");
+        }
+        int monWidth = row.getMonWidth() == null ? 0 : row.getMonWidth();
+        int monHigh = row.getMonHigh() == null ? 0 : row.getMonHigh();
+        if (monWidth < 0 || monHigh < 0) {
+            throw new IllegalArgumentException("monWidth/monHigh는 0 이상이어야 합니다.");
+        }
+        checkLength("imageUrl", row.getImageUrl());
+        checkLength("modelUrl", row.getModelUrl());
+
+        ProductStatus status = ProductStatus.ON_SALE; // 지정하지 않으면 판매중
+        if (row.getStatus() != null && !row.getStatus().isBlank()) {
+            try {
+                status = ProductStatus.valueOf(row.getStatus().trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("알 수 없는 상품 상태입니다: " + row.getStatus());
+            }
+        }
+
+        return Product.builder()
+                .name(name)
+                .imageUrl(blankToNull(row.getImageUrl()))
+                .modelUrl(blankToNull(row.getModelUrl()))
+                .monWidth(monWidth)
+                .monHigh(monHigh)
+                .basePrice(row.getBasePrice())
+                .status(status)
+                .materials(new HashMap<>(MaterialMaps.validate(row.getMaterialMap())))
+                .build();
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(field + "는 " + MAX_TEXT_LENGTH + "자 이하여야 합니다.");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // ---------------------------------------------------------------- CSV
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new CustomException("CSV 헤더가 없습니다.", 400);
+        }
+        if (header.startsWith("﻿")) {
+            header = header.substring(1); // 엑셀이 붙이는 BOM 제거
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("basePrice")) {
+            throw new CustomException("CSV 헤더에 name, basePrice 컬럼이 필요합니다.", 400);
+        }
+        return columns;
+    }
+
+    private ProductImportRowDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        ProductImportRowDto row = new ProductImportRowDto();
+        row.setName(field(fields, columns, "name"));
+        row.setImageUrl(field(fields, columns, "imageUrl"));
+        row.setModelUrl(field(fields, columns, "modelUrl"));
+        row.setMonWidth(intField(fields, columns, "monWidth"));
+        row.setMonHigh(intField(fields, columns, "monHigh"));
+        row.setBasePrice(intField(fields, columns, "basePrice"));
+        row.setStatus(field(fields, columns, "status"));
+        return row;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static Integer intField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    /**
+     * RFC 4180 형태의 한 줄을 나눈다. 따옴표 안의 쉼표와 "" 이스케이프를 지원한다. (여러 줄에 걸친 값은 지원하지 않음)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c == '"' && current.length() == 0) {
+                quoted = true;
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("따옴표가 닫히지 않았습니다.");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    // ---------------------------------------------------------------- 진행 상황
+
+    private void trimFinishedJobs() {
+        List<ImportJob> finished = jobs.values().stream()
+                .filter(job -> !"RUNNING".equals(job.status))
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static class ImportJob {
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ProductImportResultDto.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile long finishedNanos;
+
+        ImportJob(String id) {
+            this.id = id;
+        }
+
+        void fail(long line, String message) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new ProductImportResultDto.RowError(line, message));
+            }
+        }
+
+        ProductImportResultDto toDto() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            double seconds = Math.max((end - startedNanos) / 1e9, 1e-6);
+            List<ProductImportResultDto.RowError> snapshot;
+            synchronized (errors) {
+                snapshot = List.copyOf(errors);
+            }
+            return new ProductImportResultDto(id, status, processed.get(), imported.get(), failed.get(),
+                    processed.get() / seconds, startedAt, snapshot);
+        }
+    }
+}
@@ -1,30 +1,57 @@
 package yw.monsterInc.Product.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import yw.monsterInc.Product.constant.OptionCategory;
+import yw.monsterInc.Product.constant.ProductStatus;
 import yw.monsterInc.Product.dto.*;
+import yw.monsterInc.Product.entity.MaterialConfig;
+import yw.monsterInc.Product.entity.MaterialProperties;
+import yw.monsterInc.Product.entity.ModelLod;
+import yw.monsterInc.Product.entity.Option;
 import yw.monsterInc.Product.entity.Product;
 import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.event.ConfigurationChosenEvent;
+import yw.monsterInc.Product.event.ProductChangedEvent;
+import yw.monsterInc.Product.event.StockChangedEvent;
+import yw.monsterInc.Product.repository.OptionRepository;
 import yw.monsterInc.Product.repository.ProductRepository;
 import yw.monsterInc.Product.repository.SaveOptionRepository;
+import yw.monsterInc.global.exception.CustomException;
+import yw.monsterInc.global.json.JsonPatches;
 import yw.monsterInc.member.Repository.MemberRepository;
 import yw.monsterInc.member.entity.Member;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service // 이 클래스가 비즈니스 로직을 담당하는 서비스 계층임을 명시
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final ProductRepository productRepository; // 데이터 조회를 위해 Repository를 주입받음
     private final SaveOptionRepository saveOptionRepository;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductDetailCache productDetailCache;
+    private final MaterialConfigService materialConfigService;
+    private final OptionRepository optionRepository;
+    private final PricingEngine pricingEngine;
     private final ObjectMapper objectMapper;
 
 
@@ -39,6 +66,18 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 필터/정렬 조건에 맞는 상품 그리드를 커서(키셋) 방식으로 한 페이지씩 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public ProductGridPageDto findProductGridPage(ProductGridRequestDto condition) {
+        if (condition.getMinPrice() != null && condition.getMaxPrice() != null
+                && condition.getMinPrice() > condition.getMaxPrice()) {
+            throw new CustomException("최소 가격이 최대 가격보다 클 수 없습니다.", 400);
+        }
+        return productRepository.findGridPage(condition);
+    }
+
 //    public void saveOption(OptionDto optionDto) {
 //        // 1. DTO에서 productId를 이용해 Product 엔터티를 조회합니다.
 //        Product product = productRepository.getReferenceById(optionDto.getProductId());
@@ -62,7 +101,7 @@ public class ProductService {
     @Transactional // 데이터를 저장하므로 readOnly=false (기본값)
     public void saveProduct(ProductDto productDto) {
 
-        productRepository.save(
+        Product saved = productRepository.save(
                 Product.builder()
                         .name(productDto.getName())
                         .imageUrl(productDto.getImageUrl())
@@ -71,8 +110,93 @@ public class ProductService {
                         .monHigh(productDto.getMonHigh())
                         .basePrice(productDto.getBasePrice())
                         .status(productDto.getStatus())
+                        .stock(productDto.getStock())
+                        // 재질은 저장할 때 한 번만 검증한다.
+                        .materials(new HashMap<>(MaterialMaps.validate(productDto.getMaterialMap())))
                         .build()
         );
+        // 커밋 후 카탈로그 스냅샷이 다시 만들어지도록 변경 이벤트 발행
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
+    }
+
+    /**
+     * 상품의 기본 재질 맵을 통째로 교체한다. (검증은 여기서 한 번만)
+     */
+    @Transactional
+    public void updateProductMaterials(Long productId, Map<String, MaterialProperties> materialMap) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        Map<String, MaterialProperties> validated = MaterialMaps.validate(materialMap);
+        product.getMaterials().clear();
+        product.getMaterials().putAll(validated);
+        product.setMaterialVersion(product.getMaterialVersion() + 1);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+    }
+
+    /**
+     * 이미지 원본을 읽어 계산한 내용 해시를 기록한다. 그 사이 imageUrl이 바뀌었거나 값이 같으면 아무것도 하지 않는다.
+     */
+    @Transactional
+    public boolean updateImageVersion(Long productId, String expectedUrl, String imageVersion) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || !Objects.equals(product.getImageUrl(), expectedUrl)
+                || Objects.equals(product.getImageVersion(), imageVersion)) {
+            return false;
+        }
+        product.setImageVersion(imageVersion);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return true;
+    }
+
+    /**
+     * 모델 후처리가 끝난 뒤 modelUrl을 해시 주소로 바꾸고, 만들어진 LOD 목록으로 교체한다.
+     * 그 사이 관리자가 modelUrl을 바꿨다면(expectedUrl과 다르면) 덮어쓰지 않는다.
+     */
+    @Transactional
+    public boolean replaceModel(Long productId, String expectedUrl, String newUrl, List<ModelLod> modelLods) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || !Objects.equals(product.getModelUrl(), expectedUrl)) {
+            return false;
+        }
+        product.setModelUrl(newUrl);
+        product.getModelLods().clear();
+        modelLods.stream()
+                .sorted(Comparator.comparingInt(ModelLod::getLevel)) // 리스트 순서가 곧 level 순서 (lod_index)
+                .forEach(product.getModelLods()::add);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return true;
+    }
+
+    /**
+     * 상품 판매 상태를 변경한다. (품절, 판매 중지 등)
+     */
+    @Transactional
+    public void changeProductStatus(Long productId, ProductStatus status) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        if (product.getStatus() == status) {
+            return;
+        }
+        product.setStatus(status);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+    }
+
+    /**
+     * 상품 재고를 바꾼다. (관리자) null이면 재고 제한을 없앤다.
+     */
+    @Transactional
+    public void changeProductStock(Long productId, Integer stock) {
+        if (stock != null && stock < 0) {
+            throw new CustomException("재고는 0 이상이어야 합니다.", 400);
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        Integer oldStock = product.getStock();
+        if (Objects.equals(oldStock, stock)) {
+            return;
+        }
+        product.setStock(stock);
+        eventPublisher.publishEvent(new StockChangedEvent(productId, null, oldStock, stock));
     }
 
     public SaveOption  saveSaveOption(SaveOptionDto saveOptionDto, Long memberId){
@@ -83,44 +207,212 @@ public class ProductService {
         }
         Member member = memberRepository.getReferenceById(memberId);
 
-        return saveOptionRepository.save(
+        // 상품 기본 재질(캐시된 상세 정보)과 비교해서 고객이 실제로 바꾼 파츠만 저장한다.
+        ProductDetailDto detail = findProductById(saveOptionDto.getMon());
+        // 고른 옵션이 이 상품의 옵션인지 견적 계산으로 한 번 검증한다.
+        pricingEngine.quote(detail, saveOptionDto.getSelectedOptions());
+
+        SaveOption saved = saveOptionRepository.save(
                 SaveOption.builder()
                         .saveName(saveOptionDto.getSaveName())
                         .mon(mon)
                         .member(member)
-                        .materialOverrides(saveOptionDto.getMaterialOverrides())
+                        .baseMaterialConfig(materialConfigService.resolveDefaults(detail.getMaterialMap()))
+                        .materialConfig(materialConfigService.resolveDelta(
+                                saveOptionDto.getMaterialOverrides(), detail.getMaterialMap()))
+                        .materialVersion(detail.getMaterialVersion())
+                        .selectedOptions(saveOptionDto.getSelectedOptions() != null
+                                ? new HashMap<>(saveOptionDto.getSelectedOptions()) : new HashMap<>())
                         .build()
         );
+        eventPublisher.publishEvent(new ConfigurationChosenEvent(saveOptionDto.getMon(), saved.getMaterialHash(), false));
+        return saved;
     }
 
-//    @Transactional(readOnly = true)
-//    public List<OptionDto> findOptionsByProductId(Long productId){
-//        List<Option>options = optionRepository.findAllByMon_Id(productId);
-//        // 2. 조회된 Entity 'List'를 DTO 'List'로 변환한다. (Stream API 사용)
-//        return options.stream()
-//                .map(option -> new OptionDto(option)) // Entity -> DTO 변환
-//                .collect(Collectors.toList()); // 최종적으로 List로 수집
-//    }
+    /**
+     * 상품의 선택 옵션 목록 (캐시된 상세 정보에서 꺼낸다)
+     */
+    public List<OptionDto> findOptionsByProductId(Long productId) {
+        return findProductById(productId).getOptions();
+    }
+
+    /**
+     * 커스터마이저 견적. 결제 준비도 같은 계산을 쓴다.
+     */
+    public PriceQuoteDto quote(Long productId, Map<OptionCategory, Long> selectedOptions) {
+        return pricingEngine.quote(findProductById(productId), selectedOptions);
+    }
+
+    /**
+     * 상품 옵션 목록을 교체한다. (관리자) id가 있으면 수정, 없으면 추가, 목록에 없는 기존 옵션은 삭제한다.
+     */
+    @Transactional
+    public void replaceProductOptions(Long productId, List<OptionDto> options) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        Map<Long, Option> existing = optionRepository.findAllByMon_Id(productId).stream()
+                .collect(Collectors.toMap(Option::getId, option -> option));
+
+        for (OptionDto dto : options) {
+            if (dto.getParts() == null || dto.getOptionName() == null || dto.getOptionName().isBlank()) {
+                throw new CustomException("옵션 카테고리와 이름은 필수입니다.", 400);
+            }
+            if (dto.getOptionPrice() < 0 || dto.getStock() < 0) {
+                throw new CustomException("옵션 가격과 재고는 0 이상이어야 합니다.", 400);
+            }
+            Option option;
+            if (dto.getId() != null) {
+                option = existing.remove(dto.getId());
+                if (option == null) {
+                    throw new CustomException("이 상품의 옵션이 아닙니다. optionId=" + dto.getId(), 400);
+                }
+                if (option.getStock() != dto.getStock()) {
+                    eventPublisher.publishEvent(new StockChangedEvent(productId, option.getId(), option.getStock(), dto.getStock()));
+                }
+            } else {
+                option = Option.builder().mon(product).build();
+            }
+            option.setParts(dto.getParts());
+            option.setOptionName(dto.getOptionName());
+            option.setOptionValue(dto.getOptionValue());
+            option.setOptionThumbnail(dto.getOptionThumbnail());
+            option.setOptionPrice(dto.getOptionPrice());
+            option.setStock(dto.getStock());
+            optionRepository.save(option);
+        }
+        for (Option removed : existing.values()) {
+            eventPublisher.publishEvent(new StockChangedEvent(productId, removed.getId(), removed.getStock(), null));
+        }
+        optionRepository.deleteAll(existing.values());
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+    }
 
     /**
      * ✅ [추가] ID로 상품 하나를 조회하여 ProductDetailDto로 반환한다.
      */
-    @Transactional(readOnly = true)
+    // 캐시 히트 시에는 DB 커넥션을 잡지 않도록 트랜잭션 없이 캐시부터 확인한다.
     public ProductDetailDto findProductById(Long productId) {
+        return productDetailCache.get(productId, this::loadProductDetail);
+    }
+
+    /**
+     * 여러 상품 상세를 요청 순서대로 조회한다. 캐시에 없는 것만 IN 쿼리로 한 번에 읽고, 없는 id는 따로 알려준다.
+     */
+    public ProductBatchResponseDto findProductsByIds(List<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new CustomException("한 번에 조회할 수 있는 상품은 " + MAX_BATCH_SIZE + "개까지입니다.", 400);
+        }
+        Map<Long, ProductDetailDto> found = productDetailCache.getAll(ids, this::loadProductDetails);
+
+        List<ProductDetailDto> products = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ProductDetailDto detail = found.get(id);
+            if (detail != null) {
+                products.add(detail);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchResponseDto(products, missingIds);
+    }
+
+    // 일괄 조회 캐시 미스분: 상품과 옵션을 각각 IN 쿼리 한 번으로 읽는다.
+    private Map<Long, ProductDetailDto> loadProductDetails(Set<Long> productIds) {
+        Map<Long, List<OptionDto>> optionsByProduct = optionRepository.findAllByMon_IdIn(productIds).stream()
+                .map(OptionDto::new)
+                .collect(Collectors.groupingBy(OptionDto::getProductId));
+        Map<Long, ProductDetailDto> result = new HashMap<>();
+        for (Product product : productRepository.findWithMaterialsByIdIn(productIds)) {
+            result.put(product.getId(), new ProductDetailDto(product, optionsByProduct.getOrDefault(product.getId(), List.of())));
+        }
+        return result;
+    }
+
+    // 캐시 미스일 때만 호출되는 실제 DB 조회
+    private ProductDetailDto loadProductDetail(Long productId) {
         // 1. Repository를 통해 ID로 Product Entity를 DB에서 조회한다.
-        Product product = productRepository.findById(productId)
-                // 💡 [코드 확인 필요] 상품이 없을 경우 예외 처리
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        Product product = productRepository.findWithMaterialsById(productId)
+                // 상품이 없으면 404 (조회수/진입 수 집계 전에 여기서 끊긴다)
+                .orElseThrow(() -> new CustomException("상품을 찾을 수 없습니다. id=" + productId, 404));
+        List<OptionDto> options = optionRepository.findAllByMon_Id(productId).stream()
+                .map(OptionDto::new)
+                .toList();
         // 2. 조회한 Entity를 DTO로 변환하여 반환한다.
-        return new ProductDetailDto(product, objectMapper);
+        return new ProductDetailDto(product, options);
+    }
+
+    /**
+     * 저장 옵션의 델타를 저장 당시 기본값 위에 펼친 전체 재질 오버라이드 JSON을 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public SavedOptionMaterialsDto findExpandedMaterialOverrides(Long saveOptionId, Long memberId) {
+        SaveOption saveOption = saveOptionRepository.findWithMaterialsByIdAndMember_Id(saveOptionId, memberId)
+                .orElseThrow(() -> new CustomException("저장된 옵션을 찾을 수 없습니다.", 404));
+        return new SavedOptionMaterialsDto(
+                materialConfigService.expand(saveOption.getBaseMaterialConfig(), saveOption.getMaterialConfig()),
+                saveOption.getVersion());
+    }
+
+    /**
+     * 저장 옵션의 재질을 JSON Patch / Merge Patch로 부분 수정한다. (커스터마이저 자동 저장용)
+     * 펼친 전체 문서에 패치를 적용한 뒤, 저장 당시 기본값 기준의 델타로 다시 줄여서 새 MaterialConfig만 참조한다.
+     * expectedVersion이 현재 버전과 다르면 412, 커밋 시점에 다른 요청이 먼저 고쳤으면 @Version 충돌로 409.
+     */
+    @Transactional
+    public SavedOptionMaterialsDto patchMaterialOverrides(Long saveOptionId, Long memberId, Long expectedVersion,
+                                                          String contentType, InputStream body) {
+        SaveOption saveOption = saveOptionRepository.findWithMaterialsByIdAndMember_Id(saveOptionId, memberId)
+                .orElseThrow(() -> new CustomException("저장된 옵션을 찾을 수 없습니다.", 404));
+        if (!Objects.equals(saveOption.getVersion(), expectedVersion)) {
+            throw new CustomException("다른 곳에서 먼저 수정된 옵션입니다. 다시 불러온 뒤 수정해주세요.", 412);
+        }
+
+        String expanded = materialConfigService.expand(saveOption.getBaseMaterialConfig(), saveOption.getMaterialConfig());
+        JsonNode document;
+        try {
+            document = expanded != null ? objectMapper.readTree(expanded) : objectMapper.createObjectNode();
+            if (contentType != null && contentType.startsWith(JsonPatches.MERGE_PATCH)) {
+                document = JsonPatches.applyMergePatch(document, objectMapper.readTree(body));
+            } else {
+                document = JsonPatches.applyJsonPatch(objectMapper, body, document);
+            }
+        } catch (IOException e) {
+            throw new CustomException("패치 본문을 읽을 수 없습니다.", 400);
+        }
+
+        MaterialConfig delta = materialConfigService.resolveDeltaOnBase(document.toString(), saveOption.getBaseMaterialConfig());
+        if (!Objects.equals(delta != null ? delta.getId() : null,
+                saveOption.getMaterialConfig() != null ? saveOption.getMaterialConfig().getId() : null)) {
+            saveOption.setMaterialConfig(delta); // 바뀐 경우에만 UPDATE (참조 한 칸 + 버전)
+            saveOptionRepository.flush();        // 새 버전 번호를 응답에 담기 위해 여기서 반영
+        }
+        return new SavedOptionMaterialsDto(
+                materialConfigService.expand(saveOption.getBaseMaterialConfig(), delta), saveOption.getVersion());
+    }
+
+    /**
+     * 해시로 재질 설정(기본값 스냅샷 등)을 조회한다. 내용이 바뀌지 않으므로 클라이언트가 영구 캐시할 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public String findMaterialConfigJson(String contentHash) {
+        return materialConfigService.findCanonicalJson(contentHash)
+                .orElseThrow(() -> new CustomException("재질 설정을 찾을 수 없습니다.", 404));
     }
 
     // ✅ [추가] 특정 멤버 ID로 저장된 모든 옵션을 DTO 리스트로 조회하는 메소드
     @Transactional(readOnly = true)
     public List<SavedOptionSimpleDto> findSavedOptionsByMemberId(Long memberId) {
-        return saveOptionRepository.findAllByMember_Id(memberId).stream()
-                .map(SavedOptionSimpleDto::new) // saveOption -> new SavedOptionSimpleDto(saveOption)
+        List<SaveOption> saveOptions = saveOptionRepository.findAllByMember_Id(memberId);
+        Map<Long, String> deltaJson = materialConfigService.findDeltaJsonOf(saveOptions);
+        return saveOptions.stream()
+                .map(saveOption -> new SavedOptionSimpleDto(saveOption, deltaJsonOf(saveOption, deltaJson)))
                 .collect(Collectors.toList());
     }
 
+    private static String deltaJsonOf(SaveOption saveOption, Map<Long, String> deltaJson) {
+        return saveOption.getMaterialConfig() != null ? deltaJson.get(saveOption.getMaterialConfig().getId()) : null;
+    }
+
 }
\ No newline at end of file
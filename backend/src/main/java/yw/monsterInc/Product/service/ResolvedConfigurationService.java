@@ -0,0 +1,73 @@
+package yw.monsterInc.Product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.Product.entity.MaterialConfig;
+import yw.monsterInc.Product.repository.MaterialConfigRepository;
+import yw.monsterInc.global.exception.CustomException;
+
+/**
+ * 저장 옵션을 바로 렌더링할 수 있도록 기본값 스냅샷 + 델타를 서버에서 합친 "해석된 설정" 문서.
+ * 키가 두 내용 해시(기본값, 델타)라서 한 번 만든 문서는 절대 바뀌지 않는다 → 무효화 없이 캐시하고 불변 URL로 내려준다.
+ */
+@Service
+public class ResolvedConfigurationService {
+
+    private static final String NO_DELTA = "-"; // 기본값 그대로인 저장 옵션
+
+    private final MaterialConfigRepository materialConfigRepository;
+    private final MaterialConfigService materialConfigService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, String> documents;
+
+    public ResolvedConfigurationService(MaterialConfigRepository materialConfigRepository,
+                                        MaterialConfigService materialConfigService,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${product.resolved-config.cache-size:5000}") long cacheSize) {
+        this.materialConfigRepository = materialConfigRepository;
+        this.materialConfigService = materialConfigService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "resolvedConfig");
+    }
+
+    /**
+     * 저장 옵션 하나를 여는 URL. 기본값 스냅샷이 없으면 델타가 곧 전체라서 재질 설정 URL을 그대로 쓴다.
+     */
+    public static String urlOf(String baseHash, String deltaHash) {
+        if (baseHash == null) {
+            return deltaHash != null ? "/api/products/material-configs/" + deltaHash : null;
+        }
+        return "/api/products/resolved-configs/" + baseHash + "/" + (deltaHash != null ? deltaHash : NO_DELTA);
+    }
+
+    // 내용 해시 두 개로 만든 ETag (문서 내용이 이 둘로 결정된다)
+    public static String etagOf(String baseHash, String deltaHash) {
+        return "\"" + baseHash + "." + deltaHash + "\"";
+    }
+
+    // 캐시 히트 시에는 DB 커넥션을 잡지 않도록 트랜잭션은 캐시 로더 안에서만 연다.
+    public String resolve(String baseHash, String deltaHash) {
+        return documents.get(baseHash + "." + deltaHash, key -> readOnlyTransaction.execute(status -> {
+            MaterialConfig base = find(baseHash);
+            MaterialConfig delta = NO_DELTA.equals(deltaHash) ? null : find(deltaHash);
+            return materialConfigService.expand(base, delta);
+        }));
+    }
+
+    private MaterialConfig find(String contentHash) {
+        return materialConfigRepository.findByContentHash(contentHash)
+                .orElseThrow(() -> new CustomException("재질 설정을 찾을 수 없습니다.", 404));
+    }
+}
@@ -0,0 +1,63 @@
+package yw.monsterInc.asset.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import yw.monsterInc.asset.service.ImageDerivativeService;
+import yw.monsterInc.global.EntityTags;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 이미지 파생본 API. URL의 v(원본 해시)가 바뀌지 않는 한 내용도 바뀌지 않으므로 영구 캐시한다.
+ */
+@RestController
+@RequestMapping("/api/assets/images")
+@RequiredArgsConstructor
+public class ImageAssetController {
+
+    private static final String IMMUTABLE_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    @GetMapping("/products/{productId}/{width:\\d+}.jpg")
+    public void getProductImage(
+            @PathVariable Long productId,
+            @PathVariable int width,
+            @RequestParam("v") String version,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String etag = "\"" + version + "-" + width + "\"";
+        if (EntityTags.matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        Path path = imageDerivativeService.pinDerivative(productId, width, version).orElse(null);
+        if (path == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        // 다 보낼 때까지 LRU가 이 파일을 지우지 못하도록 잡아 둔다.
+        try {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+            response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+            response.setContentLengthLong(Files.size(path));
+            Files.copy(path, response.getOutputStream());
+        } finally {
+            imageDerivativeService.unpin(path);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package yw.monsterInc.asset.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import yw.monsterInc.asset.service.ModelAssetStore;
+import yw.monsterInc.global.AcceptEncoding;
+import yw.monsterInc.global.CustomUserDetails;
+import yw.monsterInc.global.EntityTags;
+import yw.monsterInc.member.constant.MemberRole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 3D 모델 파일 서빙 API.
+ * URL에 내용 해시가 들어가 있어서 영구 캐시(immutable)가 가능하고, Range 요청으로 큰 모델을 나눠 받을 수 있다.
+ * 커넥터가 sendfile을 지원하면(Tomcat NIO 기본값) 파일 내용이 힙을 거치지 않고 커널에서 소켓으로 바로 간다.
+ * 지원하지 않으면 고정 크기 버퍼로 나눠서 보낸다. (서블릿 출력 스트림은 채널이 아니라서 이 경우 힙 복사는 피할 수 없다)
+ * 후처리(ModelIngestService)로 만들어 둔 gzip/brotli 압축본이 있으면 그것을 그대로 보낸다.
+ */
+@RestController
+@RequestMapping("/api/assets/models")
+@RequiredArgsConstructor
+public class ModelAssetController {
+
+    private static final String MODEL_CONTENT_TYPE = "model/gltf-binary";
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+
+    // Tomcat이 응답을 커넥터에서 직접 sendfile로 보내도록 넘겨주는 요청 속성들
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final long[] UNSATISFIABLE = new long[0];
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // {Content-Encoding, 파일 접미사} - 앞에 있을수록 우선
+    private static final String[][] PRECOMPRESSED = {
+            {"br", ModelAssetStore.BROTLI_SUFFIX},
+            {"gzip", ModelAssetStore.GZIP_SUFFIX}
+    };
+
+    private final ModelAssetStore modelAssetStore;
+
+    @RequestMapping(value = "/{hash:[0-9a-f]{64}}.glb", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void getModel(
+            @PathVariable String hash,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path path = modelAssetStore.find(hash).orElse(null);
+        if (path == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // Range 요청이 아니면 미리 압축해 둔 파일(br > gzip)을 그대로 보낸다. (요청마다 압축하지 않음)
+        String etag = "\"" + hash + "\"";
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            for (String[] encoding : PRECOMPRESSED) {
+                Optional<Path> variant = AcceptEncoding.accepts(acceptEncoding, encoding[0])
+                        ? modelAssetStore.findVariant(hash, encoding[1])
+                        : Optional.empty();
+                if (variant.isPresent()) {
+                    path = variant.get();
+                    etag = "\"" + hash + "-" + encoding[0] + "\"";
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding[0]);
+                    break;
+                }
+            }
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (EntityTags.matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long length = Files.size(path);
+        long start = 0;
+        long end = length - 1;
+
+        // If-Range가 현재 ETag와 다르면 Range를 무시하고 전체를 보낸다.
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MODEL_CONTENT_TYPE);
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        // 1순위: Tomcat sendfile (커널이 파일 → 소켓으로 바로 복사)
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1); // end는 배타적
+            return;
+        }
+
+        // 2순위: 버퍼 하나로 나눠 보낸다. 파일 전체를 메모리에 올리지는 않지만 zero-copy는 아니다.
+        // (transferTo에 Channels.newChannel(출력 스트림)을 넘겨도 JDK 내부 버퍼 → 힙 배열로 두 번 복사될 뿐이다)
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+        OutputStream out = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                wrapped.clear().limit((int) Math.min(buffer.length, remaining));
+                int read = channel.read(wrapped, position);
+                if (read <= 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                position += read;
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * 모델 업로드 API (관리자 전용). 저장된 파일의 해시와 영구 URL을 반환한다.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, String>> uploadModel(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) throws IOException {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (userDetails.getMember().getMemberRole() != MemberRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        String hash;
+        try (InputStream in = file.getInputStream()) {
+            hash = modelAssetStore.store(in);
+        }
+        return ResponseEntity.ok(Map.of("hash", hash, "url", ModelAssetStore.urlOf(hash)));
+    }
+
+    /**
+     * "bytes=a-b", "bytes=a-", "bytes=-n" 형태의 단일 Range를 [start, end]로 바꾼다.
+     * 해석할 수 없거나 여러 구간이면 null(전체 전송), 파일 범위를 벗어나면 UNSATISFIABLE.
+     */
+    private long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 마지막 n바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return start <= end ? new long[]{start, end} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
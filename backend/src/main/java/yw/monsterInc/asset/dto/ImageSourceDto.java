@@ -0,0 +1,21 @@
+package yw.monsterInc.asset.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * srcset 항목 하나 (예: url 320w)
+ */
+@Getter
+public class ImageSourceDto {
+
+    private final int width;
+    private final String url;
+
+    @JsonCreator
+    public ImageSourceDto(@JsonProperty("width") int width, @JsonProperty("url") String url) {
+        this.width = width;
+        this.url = url;
+    }
+}
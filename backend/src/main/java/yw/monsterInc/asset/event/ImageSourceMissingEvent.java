@@ -0,0 +1,17 @@
+package yw.monsterInc.asset.event;
+
+import lombok.Getter;
+
+/**
+ * 이미지 파생본을 만들려는데 보관한 원본이 없음을 알리는 이벤트.
+ * 원본 다운로드와 버전 갱신은 요청 스레드가 아니라 후처리(ModelIngestService)에서 한다.
+ */
+@Getter
+public class ImageSourceMissingEvent {
+
+    private final Long productId;
+
+    public ImageSourceMissingEvent(Long productId) {
+        this.productId = productId;
+    }
+}
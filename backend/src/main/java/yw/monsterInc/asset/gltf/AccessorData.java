@@ -0,0 +1,122 @@
+package yw.monsterInc.asset.gltf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * accessor 하나를 빈틈없이(packed) 풀어 놓은 데이터. 원래 bufferView의 stride/offset과 무관하게
+ * 원소 i는 data[i * elementSize] 부터 시작한다.
+ */
+@Getter
+class AccessorData {
+
+    static final int BYTE = 5120;
+    static final int UNSIGNED_BYTE = 5121;
+    static final int SHORT = 5122;
+    static final int UNSIGNED_SHORT = 5123;
+    static final int UNSIGNED_INT = 5125;
+    static final int FLOAT = 5126;
+
+    private final int componentType;
+    private final String type;
+    private final boolean normalized;
+    private final int count;
+    private final byte[] data;
+    private final JsonNode min; // 원본 값을 그대로 쓸 수 있을 때만 (아니면 null)
+    private final JsonNode max;
+
+    AccessorData(int componentType, String type, boolean normalized, int count, byte[] data, JsonNode min, JsonNode max) {
+        this.componentType = componentType;
+        this.type = type;
+        this.normalized = normalized;
+        this.count = count;
+        this.data = data;
+        this.min = min;
+        this.max = max;
+    }
+
+    int components() {
+        return components(type);
+    }
+
+    int elementSize() {
+        return componentSize(componentType) * components();
+    }
+
+    ByteBuffer buffer() {
+        return ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    boolean isFloat() {
+        return componentType == FLOAT;
+    }
+
+    /**
+     * 주어진 원소들만 골라 새 accessor를 만든다. (LOD에서 쓰이지 않는 정점 제거)
+     */
+    AccessorData select(int[] indices, boolean keepBounds) {
+        int size = elementSize();
+        byte[] selected = new byte[indices.length * size];
+        for (int i = 0; i < indices.length; i++) {
+            System.arraycopy(data, indices[i] * size, selected, i * size, size);
+        }
+        AccessorData result = new AccessorData(componentType, type, normalized, indices.length, selected, null, null);
+        return keepBounds ? result.withFloatBounds() : result;
+    }
+
+    /**
+     * float 데이터의 성분별 min/max를 다시 계산한다. (POSITION은 min/max가 필수)
+     */
+    AccessorData withFloatBounds() {
+        if (!isFloat() || count == 0) {
+            return this;
+        }
+        int n = components();
+        double[] lo = new double[n];
+        double[] hi = new double[n];
+        Arrays.fill(lo, Double.POSITIVE_INFINITY);
+        Arrays.fill(hi, Double.NEGATIVE_INFINITY);
+        ByteBuffer buffer = buffer();
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < n; c++) {
+                float v = buffer.getFloat((i * n + c) * 4);
+                lo[c] = Math.min(lo[c], v);
+                hi[c] = Math.max(hi[c], v);
+            }
+        }
+        ArrayNode minNode = JsonNodeFactory.instance.arrayNode();
+        ArrayNode maxNode = JsonNodeFactory.instance.arrayNode();
+        for (int c = 0; c < n; c++) {
+            minNode.add((float) lo[c]);
+            maxNode.add((float) hi[c]);
+        }
+        return new AccessorData(componentType, type, normalized, count, data, minNode, maxNode);
+    }
+
+    static int components(String type) {
+        return switch (type) {
+            case "SCALAR" -> 1;
+            case "VEC2" -> 2;
+            case "VEC3" -> 3;
+            case "VEC4", "MAT2" -> 4;
+            case "MAT3" -> 9;
+            case "MAT4" -> 16;
+            default -> throw new IllegalArgumentException("알 수 없는 accessor type: " + type);
+        };
+    }
+
+    static int componentSize(int componentType) {
+        return switch (componentType) {
+            case BYTE, UNSIGNED_BYTE -> 1;
+            case SHORT, UNSIGNED_SHORT -> 2;
+            case UNSIGNED_INT, FLOAT -> 4;
+            default -> throw new IllegalArgumentException("알 수 없는 componentType: " + componentType);
+        };
+    }
+}
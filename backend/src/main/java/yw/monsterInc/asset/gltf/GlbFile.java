@@ -0,0 +1,103 @@
+package yw.monsterInc.asset.gltf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * GLB(바이너리 glTF 2.0) 컨테이너. JSON 청크와 BIN 청크 하나씩만 다룬다.
+ */
+@Getter
+public class GlbFile {
+
+    private static final int MAGIC = 0x46546C67;      // "glTF"
+    private static final int VERSION = 2;
+    private static final int CHUNK_JSON = 0x4E4F534A; // "JSON"
+    private static final int CHUNK_BIN = 0x004E4942;  // "BIN\0"
+
+    private final ObjectNode json;
+    private final ByteBuffer bin; // little-endian, BIN 청크가 없으면 크기 0
+
+    public GlbFile(ObjectNode json, ByteBuffer bin) {
+        this.json = json;
+        this.bin = bin.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static GlbFile read(byte[] data, ObjectMapper objectMapper) {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.length < 20 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("GLB 파일이 아닙니다.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("glTF 2.0 GLB만 지원합니다.");
+        }
+        int length = Math.min(buffer.getInt(8), data.length);
+
+        ObjectNode json = null;
+        ByteBuffer bin = ByteBuffer.allocate(0);
+        int offset = 12;
+        while (offset + 8 <= length) {
+            int chunkLength = buffer.getInt(offset);
+            int chunkType = buffer.getInt(offset + 4);
+            int start = offset + 8;
+            if (chunkLength < 0 || start + chunkLength > length) {
+                throw new IllegalArgumentException("GLB 청크 길이가 잘못되었습니다.");
+            }
+            if (chunkType == CHUNK_JSON && json == null) {
+                try {
+                    JsonNode node = objectMapper.readTree(new String(data, start, chunkLength, StandardCharsets.UTF_8).trim());
+                    if (!(node instanceof ObjectNode objectNode)) {
+                        throw new IllegalArgumentException("GLB JSON 청크가 객체가 아닙니다.");
+                    }
+                    json = objectNode;
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("GLB JSON 청크를 읽을 수 없습니다.", e);
+                }
+            } else if (chunkType == CHUNK_BIN && bin.capacity() == 0) {
+                bin = ByteBuffer.wrap(Arrays.copyOfRange(data, start, start + chunkLength));
+            }
+            offset = start + chunkLength;
+        }
+        if (json == null) {
+            throw new IllegalArgumentException("GLB에 JSON 청크가 없습니다.");
+        }
+        return new GlbFile(json, bin);
+    }
+
+    public byte[] write(ObjectMapper objectMapper) {
+        byte[] jsonBytes;
+        try {
+            jsonBytes = objectMapper.writeValueAsBytes(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("GLB JSON 직렬화 실패", e);
+        }
+        int jsonLength = align4(jsonBytes.length);
+        int binLength = align4(bin.limit());
+        boolean hasBin = bin.limit() > 0;
+        int total = 12 + 8 + jsonLength + (hasBin ? 8 + binLength : 0);
+
+        ByteBuffer out = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(total);
+        out.putInt(jsonLength).putInt(CHUNK_JSON).put(jsonBytes);
+        for (int i = jsonBytes.length; i < jsonLength; i++) {
+            out.put((byte) ' '); // JSON 청크는 공백으로 4바이트 정렬
+        }
+        if (hasBin) {
+            out.putInt(binLength).putInt(CHUNK_BIN);
+            out.put(bin.duplicate().position(0).limit(bin.limit()));
+            // 나머지는 0으로 채워져 있음
+        }
+        return out.array();
+    }
+
+    static int align4(int value) {
+        return (value + 3) & ~3;
+    }
+}
@@ -0,0 +1,559 @@
+package yw.monsterInc.asset.gltf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 순수 자바 glTF(GLB) 최적화기.
+ * <ul>
+ *     <li>사용되지 않는 accessor/bufferView를 버리고 BIN 버퍼를 빈틈없이 다시 쓴다.</li>
+ *     <li>내용이 같은 accessor(애니메이션 키프레임 시간 등)는 하나로 합친다.</li>
+ *     <li>NORMAL/TANGENT는 8비트, 0~1 범위 TEXCOORD는 16비트 정규화 정수로 양자화한다. (KHR_mesh_quantization)</li>
+ *     <li>정점 클러스터링으로 삼각형 수를 줄인 LOD 모델을 만든다.</li>
+ * </ul>
+ * Draco/meshopt 압축, sparse accessor, 외부 버퍼처럼 다루지 않는 형식은 IllegalArgumentException으로 거절한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GltfOptimizer {
+
+    // 지오메트리/accessor 구조에 영향을 주지 않아서 그대로 둬도 되는 확장들
+    private static final Set<String> SAFE_EXTENSIONS = Set.of(
+            "KHR_mesh_quantization", "KHR_texture_transform", "KHR_texture_basisu",
+            "EXT_texture_webp", "EXT_texture_avif", "KHR_lights_punctual", "KHR_materials_variants");
+    private static final String QUANTIZATION_EXTENSION = "KHR_mesh_quantization";
+
+    private static final int ARRAY_BUFFER = 34962;
+    private static final int ELEMENT_ARRAY_BUFFER = 34963;
+    private static final int TRIANGLES = 4;
+
+    // 이전 단계보다 삼각형이 이 비율 이상 남으면 LOD로서 의미가 없으니 버린다.
+    private static final double MIN_LOD_REDUCTION = 0.9;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param glb            원본 GLB 바이트
+     * @param lodResolutions LOD별 정점 클러스터링 격자 해상도 (가장 긴 축을 몇 칸으로 나눌지, 클수록 정밀)
+     */
+    public OptimizedModel optimize(byte[] glb, int[] lodResolutions) {
+        GlbFile source = GlbFile.read(glb, objectMapper);
+        checkSupported(source.getJson());
+
+        Rewritten base = rewrite(source, 0);
+
+        int[] resolutions = Arrays.stream(lodResolutions).filter(r -> r > 0).boxed()
+                .sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+        List<OptimizedModel.Lod> lods = new ArrayList<>();
+        int previous = base.triangles;
+        for (int resolution : resolutions) {
+            Rewritten lod = rewrite(source, resolution);
+            if (lod.triangles == 0 || lod.triangles > previous * MIN_LOD_REDUCTION) {
+                continue;
+            }
+            lods.add(new OptimizedModel.Lod(lods.size() + 1, lod.bytes, lod.triangles));
+            previous = lod.triangles;
+        }
+        return new OptimizedModel(base.bytes, base.triangles, lods);
+    }
+
+    private void checkSupported(ObjectNode json) {
+        JsonNode buffers = json.path("buffers");
+        if (buffers.size() != 1 || buffers.get(0).has("uri")) {
+            throw new IllegalArgumentException("BIN 청크 하나에 모든 데이터가 들어 있는 GLB만 지원합니다.");
+        }
+        if (json.path("meshes").isEmpty()) {
+            throw new IllegalArgumentException("메시가 없는 모델입니다.");
+        }
+        for (JsonNode extension : json.path("extensionsUsed")) {
+            String name = extension.asText();
+            if (!SAFE_EXTENSIONS.contains(name) && !name.startsWith("KHR_materials_")) {
+                throw new IllegalArgumentException("지원하지 않는 확장입니다: " + name);
+            }
+        }
+        for (JsonNode accessor : json.path("accessors")) {
+            if (accessor.has("sparse")) {
+                throw new IllegalArgumentException("sparse accessor는 지원하지 않습니다.");
+            }
+        }
+    }
+
+    /**
+     * 원본을 읽어 새 GLB를 만든다. resolution이 0이면 단순화 없이 최적화만 한다.
+     */
+    private Rewritten rewrite(GlbFile source, int resolution) {
+        ObjectNode json = source.getJson().deepCopy();
+        Reader reader = new Reader(source);
+        Emitter emitter = new Emitter();
+        int triangles = 0;
+        boolean quantized = false;
+
+        for (JsonNode mesh : json.path("meshes")) {
+            for (JsonNode node : mesh.path("primitives")) {
+                ObjectNode primitive = (ObjectNode) node;
+                ObjectNode attributeNode = (ObjectNode) primitive.path("attributes");
+
+                Map<String, AccessorData> attributes = reader.readAll(attributeNode);
+                List<Map<String, AccessorData>> targets = new ArrayList<>();
+                for (JsonNode target : primitive.path("targets")) {
+                    targets.add(reader.readAll((ObjectNode) target));
+                }
+                AccessorData indices = primitive.has("indices") ? reader.read(primitive.get("indices").asInt()) : null;
+                AccessorData position = attributes.get("POSITION");
+                int vertexCount = position != null ? position.getCount()
+                        : attributes.values().stream().findFirst().map(AccessorData::getCount).orElse(0);
+
+                if (primitive.path("mode").asInt(TRIANGLES) == TRIANGLES) {
+                    Simplified simplified = resolution > 0 ? simplify(position, indices, vertexCount, resolution) : null;
+                    if (simplified != null) {
+                        attributes = selectAll(attributes, simplified.vertices);
+                        List<Map<String, AccessorData>> selectedTargets = new ArrayList<>();
+                        for (Map<String, AccessorData> target : targets) {
+                            selectedTargets.add(selectAll(target, simplified.vertices));
+                        }
+                        targets = selectedTargets;
+                        indices = simplified.indices;
+                    }
+                    triangles += (indices != null ? indices.getCount() : vertexCount) / 3;
+                }
+
+                for (Map.Entry<String, AccessorData> attribute : attributes.entrySet()) {
+                    AccessorData data = quantize(attribute.getKey(), attribute.getValue());
+                    quantized |= data != attribute.getValue();
+                    attributeNode.put(attribute.getKey(), emitter.accessor(data, ARRAY_BUFFER));
+                }
+                for (int t = 0; t < targets.size(); t++) {
+                    ObjectNode targetNode = (ObjectNode) primitive.path("targets").get(t);
+                    targets.get(t).forEach((name, data) -> targetNode.put(name, emitter.accessor(data, ARRAY_BUFFER)));
+                }
+                if (indices != null) {
+                    primitive.put("indices", emitter.accessor(indices, ELEMENT_ARRAY_BUFFER));
+                }
+            }
+        }
+
+        for (JsonNode skin : json.path("skins")) {
+            if (skin.has("inverseBindMatrices")) {
+                ((ObjectNode) skin).put("inverseBindMatrices",
+                        emitter.accessor(reader.read(skin.get("inverseBindMatrices").asInt()), null));
+            }
+        }
+        for (JsonNode animation : json.path("animations")) {
+            for (JsonNode node : animation.path("samplers")) {
+                ObjectNode sampler = (ObjectNode) node;
+                sampler.put("input", emitter.accessor(reader.read(sampler.get("input").asInt()), null));
+                sampler.put("output", emitter.accessor(reader.read(sampler.get("output").asInt()), null));
+            }
+        }
+        for (JsonNode node : json.path("images")) {
+            ObjectNode image = (ObjectNode) node;
+            if (image.has("bufferView")) {
+                image.put("bufferView", emitter.raw(reader.rawView(image.get("bufferView").asInt())));
+            }
+        }
+
+        byte[] bin = emitter.bin();
+        setOrRemove(json, "accessors", emitter.accessors);
+        setOrRemove(json, "bufferViews", emitter.bufferViews);
+        ArrayNode buffers = objectMapper.createArrayNode();
+        buffers.addObject().put("byteLength", bin.length);
+        setOrRemove(json, "buffers", bin.length > 0 ? buffers : objectMapper.createArrayNode());
+        if (quantized) {
+            addExtension(json, "extensionsUsed");
+            addExtension(json, "extensionsRequired");
+        }
+
+        byte[] bytes = new GlbFile(json, ByteBuffer.wrap(bin)).write(objectMapper);
+        return new Rewritten(bytes, triangles);
+    }
+
+    // ---------------------------------------------------------------- LOD (정점 클러스터링)
+
+    /**
+     * 바운딩 박스를 격자로 나누고, 같은 칸에 들어간 정점들을 칸의 첫 정점 하나로 합친다.
+     * 합쳐지면서 넓이가 0이 된 삼각형과 중복 삼각형은 버리고, 남은 삼각형이 쓰는 정점만 남긴다.
+     * 대표 정점의 속성(UV, 스킨 가중치 등)을 그대로 쓰므로 따로 보간할 필요가 없다.
+     */
+    private Simplified simplify(AccessorData position, AccessorData indices, int vertexCount, int resolution) {
+        if (position == null || !position.isFloat() || !"VEC3".equals(position.getType())) {
+            return null; // 이미 양자화된 위치 등은 단순화하지 않는다
+        }
+        int[] source = indices != null ? readIndices(indices) : identity(vertexCount);
+        if (source.length < 3) {
+            return null;
+        }
+
+        ByteBuffer positions = position.buffer();
+        float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int v : source) {
+            for (int c = 0; c < 3; c++) {
+                float value = positions.getFloat((v * 3 + c) * 4);
+                min[c] = Math.min(min[c], value);
+                max[c] = Math.max(max[c], value);
+            }
+        }
+        double extent = Math.max(max[0] - min[0], Math.max(max[1] - min[1], max[2] - min[2]));
+        if (!(extent > 0)) {
+            return null;
+        }
+        double cellSize = extent / resolution;
+
+        int[] representative = new int[vertexCount];
+        Arrays.fill(representative, -1);
+        Map<Long, Integer> cells = new HashMap<>();
+        for (int v : source) {
+            if (representative[v] < 0) {
+                long key = 0;
+                for (int c = 0; c < 3; c++) {
+                    long cell = (long) ((positions.getFloat((v * 3 + c) * 4) - min[c]) / cellSize);
+                    key = (key << 21) | Math.min(Math.max(cell, 0), (1 << 21) - 1);
+                }
+                representative[v] = cells.computeIfAbsent(key, k -> v);
+            }
+        }
+
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        List<Integer> vertices = new ArrayList<>();
+        int[] output = new int[source.length];
+        int outputLength = 0;
+        Set<List<Integer>> seen = new HashSet<>();
+        for (int t = 0; t + 2 < source.length; t += 3) {
+            int a = representative[source[t]];
+            int b = representative[source[t + 1]];
+            int c = representative[source[t + 2]];
+            if (a == b || b == c || a == c) {
+                continue;
+            }
+            // 감김 방향은 유지하면서 가장 작은 정점이 앞에 오도록 회전해서 중복을 찾는다
+            List<Integer> key = a < b && a < c ? List.of(a, b, c) : b < c ? List.of(b, c, a) : List.of(c, a, b);
+            if (!seen.add(key)) {
+                continue;
+            }
+            for (int v : key) {
+                if (remap[v] < 0) {
+                    remap[v] = vertices.size();
+                    vertices.add(v);
+                }
+                output[outputLength++] = remap[v];
+            }
+        }
+        if (outputLength == 0) {
+            return null; // 전부 사라지는 작은 파츠는 원본 그대로 둔다
+        }
+        return new Simplified(vertices.stream().mapToInt(Integer::intValue).toArray(),
+                indexAccessor(Arrays.copyOf(output, outputLength), vertices.size()));
+    }
+
+    private Map<String, AccessorData> selectAll(Map<String, AccessorData> attributes, int[] vertices) {
+        Map<String, AccessorData> selected = new LinkedHashMap<>();
+        attributes.forEach((name, data) -> selected.put(name, data.select(vertices, "POSITION".equals(name))));
+        return selected;
+    }
+
+    private static int[] readIndices(AccessorData indices) {
+        ByteBuffer buffer = indices.buffer();
+        int[] result = new int[indices.getCount()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = switch (indices.getComponentType()) {
+                case AccessorData.UNSIGNED_BYTE -> buffer.get(i) & 0xFF;
+                case AccessorData.UNSIGNED_SHORT -> buffer.getShort(i * 2) & 0xFFFF;
+                default -> buffer.getInt(i * 4);
+            };
+        }
+        return result;
+    }
+
+    private static int[] identity(int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private static AccessorData indexAccessor(int[] indices, int vertexCount) {
+        boolean small = vertexCount <= 0xFFFF;
+        ByteBuffer buffer = ByteBuffer.allocate(indices.length * (small ? 2 : 4)).order(ByteOrder.LITTLE_ENDIAN);
+        for (int index : indices) {
+            if (small) {
+                buffer.putShort((short) index);
+            } else {
+                buffer.putInt(index);
+            }
+        }
+        return new AccessorData(small ? AccessorData.UNSIGNED_SHORT : AccessorData.UNSIGNED_INT,
+                "SCALAR", false, indices.length, buffer.array(), null, null);
+    }
+
+    // ---------------------------------------------------------------- 양자화 (KHR_mesh_quantization)
+
+    private AccessorData quantize(String semantic, AccessorData data) {
+        if (!data.isFloat()) {
+            return data;
+        }
+        if ("NORMAL".equals(semantic) && "VEC3".equals(data.getType())) {
+            return toSignedByte(data);
+        }
+        if ("TANGENT".equals(semantic) && "VEC4".equals(data.getType())) {
+            return toSignedByte(data);
+        }
+        if (semantic.startsWith("TEXCOORD_") && "VEC2".equals(data.getType()) && inUnitRange(data)) {
+            return toUnsignedShort(data);
+        }
+        return data;
+    }
+
+    private static AccessorData toSignedByte(AccessorData data) {
+        ByteBuffer source = data.buffer();
+        int values = data.getCount() * data.components();
+        byte[] result = new byte[values];
+        for (int i = 0; i < values; i++) {
+            float value = Math.max(-1f, Math.min(1f, source.getFloat(i * 4)));
+            result[i] = (byte) Math.round(value * 127f);
+        }
+        return new AccessorData(AccessorData.BYTE, data.getType(), true, data.getCount(), result, null, null);
+    }
+
+    private static AccessorData toUnsignedShort(AccessorData data) {
+        ByteBuffer source = data.buffer();
+        int values = data.getCount() * data.components();
+        ByteBuffer result = ByteBuffer.allocate(values * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < values; i++) {
+            result.putShort((short) Math.round(source.getFloat(i * 4) * 65535f));
+        }
+        return new AccessorData(AccessorData.UNSIGNED_SHORT, data.getType(), true, data.getCount(), result.array(), null, null);
+    }
+
+    private static boolean inUnitRange(AccessorData data) {
+        ByteBuffer source = data.buffer();
+        int values = data.getCount() * data.components();
+        for (int i = 0; i < values; i++) {
+            float value = source.getFloat(i * 4);
+            if (!(value >= 0f && value <= 1f)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------------------------------------------------------------- 공통
+
+    private void addExtension(ObjectNode json, String field) {
+        ArrayNode extensions = json.has(field) ? (ArrayNode) json.get(field) : json.putArray(field);
+        for (JsonNode extension : extensions) {
+            if (QUANTIZATION_EXTENSION.equals(extension.asText())) {
+                return;
+            }
+        }
+        extensions.add(QUANTIZATION_EXTENSION);
+    }
+
+    // glTF는 빈 배열을 허용하지 않으므로 비어 있으면 필드 자체를 지운다
+    private static void setOrRemove(ObjectNode json, String field, ArrayNode value) {
+        if (value.isEmpty()) {
+            json.remove(field);
+        } else {
+            json.set(field, value);
+        }
+    }
+
+    private static class Rewritten {
+        final byte[] bytes;
+        final int triangles;
+
+        Rewritten(byte[] bytes, int triangles) {
+            this.bytes = bytes;
+            this.triangles = triangles;
+        }
+    }
+
+    private static class Simplified {
+        final int[] vertices;       // 남길 원본 정점 번호 (새 번호 순서대로)
+        final AccessorData indices; // 새 정점 번호 기준 인덱스
+
+        Simplified(int[] vertices, AccessorData indices) {
+            this.vertices = vertices;
+            this.indices = indices;
+        }
+    }
+
+    /**
+     * 원본 accessor/bufferView를 packed 형태로 읽는다. 같은 accessor는 한 번만 읽는다.
+     */
+    private static class Reader {
+        private final JsonNode accessors;
+        private final JsonNode bufferViews;
+        private final ByteBuffer bin;
+        private final Map<Integer, AccessorData> cache = new HashMap<>();
+
+        Reader(GlbFile source) {
+            this.accessors = source.getJson().path("accessors");
+            this.bufferViews = source.getJson().path("bufferViews");
+            this.bin = source.getBin();
+        }
+
+        Map<String, AccessorData> readAll(ObjectNode attributes) {
+            Map<String, AccessorData> result = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonNode> field : attributes.properties()) {
+                result.put(field.getKey(), read(field.getValue().asInt()));
+            }
+            return result;
+        }
+
+        AccessorData read(int index) {
+            return cache.computeIfAbsent(index, this::decode);
+        }
+
+        private AccessorData decode(int index) {
+            JsonNode accessor = accessors.get(index);
+            if (accessor == null) {
+                throw new IllegalArgumentException("존재하지 않는 accessor: " + index);
+            }
+            int componentType = accessor.path("componentType").asInt();
+            String type = accessor.path("type").asText();
+            int componentSize = AccessorData.componentSize(componentType);
+            if ((type.equals("MAT2") && componentSize == 1) || (type.equals("MAT3") && componentSize < 4)) {
+                throw new IllegalArgumentException("열 패딩이 필요한 행렬 accessor는 지원하지 않습니다.");
+            }
+            int count = accessor.path("count").asInt();
+            int elementSize = componentSize * AccessorData.components(type);
+            byte[] data = new byte[count * elementSize];
+
+            if (accessor.has("bufferView")) {
+                JsonNode view = bufferViews.get(accessor.get("bufferView").asInt());
+                int base = view.path("byteOffset").asInt(0) + accessor.path("byteOffset").asInt(0);
+                int stride = view.path("byteStride").asInt(elementSize);
+                if (count > 0 && base + (long) stride * (count - 1) + elementSize > bin.limit()) {
+                    throw new IllegalArgumentException("accessor가 버퍼 범위를 벗어납니다: " + index);
+                }
+                for (int i = 0; i < count; i++) {
+                    bin.get(base + i * stride, data, i * elementSize, elementSize);
+                }
+            } // bufferView가 없으면 전부 0
+
+            return new AccessorData(componentType, type, accessor.path("normalized").asBoolean(false),
+                    count, data, accessor.get("min"), accessor.get("max"));
+        }
+
+        byte[] rawView(int index) {
+            JsonNode view = bufferViews.get(index);
+            int offset = view.path("byteOffset").asInt(0);
+            int length = view.path("byteLength").asInt();
+            if (offset + (long) length > bin.limit()) {
+                throw new IllegalArgumentException("bufferView가 버퍼 범위를 벗어납니다: " + index);
+            }
+            byte[] bytes = new byte[length];
+            bin.get(offset, bytes, 0, length);
+            return bytes;
+        }
+    }
+
+    /**
+     * 새 BIN 버퍼와 accessor/bufferView 목록을 만든다. 내용이 같은 데이터는 한 번만 기록한다.
+     */
+    private class Emitter {
+        private final ByteArrayOutputStream bin = new ByteArrayOutputStream();
+        private final ArrayNode accessors = objectMapper.createArrayNode();
+        private final ArrayNode bufferViews = objectMapper.createArrayNode();
+        private final Map<List<Object>, Integer> accessorIndex = new HashMap<>();
+        private final Map<ByteBuffer, Integer> rawIndex = new HashMap<>();
+
+        int accessor(AccessorData data, Integer target) {
+            List<Object> key = List.of(data.getComponentType(), data.getType(), data.isNormalized(),
+                    target == null ? 0 : target, ByteBuffer.wrap(data.getData()));
+            Integer existing = accessorIndex.get(key);
+            if (existing != null) {
+                ObjectNode accessor = (ObjectNode) accessors.get(existing);
+                if (!accessor.has("min") && data.getMin() != null) {
+                    accessor.set("min", data.getMin());
+                    accessor.set("max", data.getMax());
+                }
+                return existing;
+            }
+
+            int elementSize = data.elementSize();
+            // 정점 속성은 원소마다 4바이트 정렬이 필요하다 (예: 8비트 VEC3 노멀 → stride 4)
+            int stride = target != null && target == ARRAY_BUFFER ? GlbFile.align4(elementSize) : elementSize;
+            align();
+            int offset = bin.size();
+            if (stride == elementSize) {
+                bin.write(data.getData(), 0, data.getData().length);
+            } else {
+                byte[] padding = new byte[stride - elementSize];
+                for (int i = 0; i < data.getCount(); i++) {
+                    bin.write(data.getData(), i * elementSize, elementSize);
+                    bin.write(padding, 0, padding.length);
+                }
+            }
+
+            ObjectNode view = bufferViews.addObject();
+            view.put("buffer", 0);
+            view.put("byteOffset", offset);
+            view.put("byteLength", bin.size() - offset);
+            if (stride != elementSize) {
+                view.put("byteStride", stride);
+            }
+            if (target != null) {
+                view.put("target", target);
+            }
+
+            ObjectNode accessor = accessors.addObject();
+            accessor.put("bufferView", bufferViews.size() - 1);
+            accessor.put("componentType", data.getComponentType());
+            if (data.isNormalized()) {
+                accessor.put("normalized", true);
+            }
+            accessor.put("count", data.getCount());
+            accessor.put("type", data.getType());
+            if (data.getMin() != null && data.getMax() != null) {
+                accessor.set("min", data.getMin());
+                accessor.set("max", data.getMax());
+            }
+            accessorIndex.put(key, accessors.size() - 1);
+            return accessors.size() - 1;
+        }
+
+        // 이미지처럼 accessor 없이 bufferView로만 참조되는 데이터
+        int raw(byte[] bytes) {
+            return rawIndex.computeIfAbsent(ByteBuffer.wrap(bytes), key -> {
+                align();
+                int offset = bin.size();
+                bin.write(bytes, 0, bytes.length);
+                ObjectNode view = bufferViews.addObject();
+                view.put("buffer", 0);
+                view.put("byteOffset", offset);
+                view.put("byteLength", bytes.length);
+                return bufferViews.size() - 1;
+            });
+        }
+
+        byte[] bin() {
+            align();
+            return bin.toByteArray();
+        }
+
+        private void align() {
+            while (bin.size() % 4 != 0) {
+                bin.write(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package yw.monsterInc.asset.gltf;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * GltfOptimizer 결과. 최적화된 원본 해상도 모델과, 삼각형 수가 적은 순서대로 줄어드는 LOD 모델들.
+ */
+@Getter
+public class OptimizedModel {
+
+    private final byte[] model;
+    private final int triangleCount;
+    private final List<Lod> lods; // level 1이 가장 정밀, 숫자가 클수록 거칠다
+
+    public OptimizedModel(byte[] model, int triangleCount, List<Lod> lods) {
+        this.model = model;
+        this.triangleCount = triangleCount;
+        this.lods = lods;
+    }
+
+    @Getter
+    public static class Lod {
+        private final int level;
+        private final byte[] model;
+        private final int triangleCount;
+
+        public Lod(int level, byte[] model, int triangleCount) {
+            this.level = level;
+            this.model = model;
+            this.triangleCount = triangleCount;
+        }
+    }
+}
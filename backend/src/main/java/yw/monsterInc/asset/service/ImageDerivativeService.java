@@ -0,0 +1,335 @@
+package yw.monsterInc.asset.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import yw.monsterInc.asset.dto.ImageSourceDto;
+import yw.monsterInc.asset.event.ImageSourceMissingEvent;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 상품 이미지 파생본(고정 폭으로 줄인 JPEG) 생성/캐시 서비스.
+ * 파일 이름은 원본 내용의 해시(Product.imageVersion) + 폭이라서 원본이 바뀌면 URL도 바뀐다 → 응답을 영구 캐시할 수 있다.
+ * 내용 해시는 후처리(ModelIngestService)에서 원본을 한 번 받아 계산하고, 원본은 sources/{해시}로 보관한다.
+ * 파생본은 보관한 원본으로 만들기 때문에 같은 주소의 원본이 나중에 바뀌어도 옛 버전 URL에 새 내용이 섞이지 않는다.
+ * 보관본이 없으면 요청 스레드에서 받지 않고 후처리에 다시 받아 달라고 알린다. (내용이 바뀌었으면 그쪽에서 imageVersion 갱신)
+ * 디스크 사용량은 LRU로 제한하고, 밀려난 파생본은 다음 요청 때 다시 만든다. 전송 중인(pin) 파일은 지우지 않는다.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    public static final int[] WIDTHS = {160, 320, 640};
+    public static final String URL_PREFIX = "/api/assets/images/products/";
+
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^[0-9a-f]{16}$");
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path root;
+    private final Path originals; // 내용 해시 이름으로 보관한 원본 (LRU 대상 아님)
+    private final Path sourceRoot;
+    private final long maxBytes;
+
+    // 파일 이름 → 크기. accessOrder=true 라서 가장 오래 안 쓰인 항목이 맨 앞에 온다.
+    private final LinkedHashMap<String, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    // 파일 이름 → 전송 중인 요청 수. 0이 될 때까지 LRU에서 밀려나도 지우지 않는다.
+    private final Map<String, Integer> pins = new HashMap<>();
+    private long totalBytes;
+
+    // 같은 파생본을 동시에 여러 번 만들지 않도록 파일 이름별 잠금
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public ImageDerivativeService(ApplicationEventPublisher eventPublisher,
+                                  @Value("${asset.image.root:./data/images}") String root,
+                                  @Value("${asset.model.source-root:../frontend/public}") String sourceRoot,
+                                  @Value("${asset.image.cache-max-bytes:268435456}") long maxBytes) {
+        this.eventPublisher = eventPublisher;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.originals = this.root.resolve("sources");
+        this.sourceRoot = Paths.get(sourceRoot).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        loadExisting();
+    }
+
+    /**
+     * 상품 그리드용 srcset 목록. 이미지가 없거나 아직 내용 해시를 계산하지 않았으면 빈 목록.
+     */
+    public static List<ImageSourceDto> srcset(Long productId, String imageVersion) {
+        if (productId == null || imageVersion == null) {
+            return List.of();
+        }
+        return Arrays.stream(WIDTHS)
+                .mapToObj(width -> new ImageSourceDto(width, URL_PREFIX + productId + "/" + width + ".jpg?v=" + imageVersion))
+                .toList();
+    }
+
+    /**
+     * 원본 이미지를 받아 보관하고 내용 버전(SHA-256 앞 16자리)을 반환한다.
+     */
+    public String ingestSource(String imageUrl) throws IOException {
+        byte[] source;
+        try (InputStream in = openSource(imageUrl)) {
+            source = in.readAllBytes();
+        }
+        String version = versionOf(source);
+        storeOriginal(version, source);
+        return version;
+    }
+
+    /**
+     * 이 버전의 원본을 보관하고 있는지
+     */
+    public boolean hasSource(String version) {
+        return version != null && VERSION_PATTERN.matcher(version).matches() && Files.exists(originals.resolve(version));
+    }
+
+    /**
+     * 파생본 파일을 찾거나 만들고, 전송이 끝날 때까지 지워지지 않도록 잡아 둔다. 다 보냈으면 반드시 unpin 한다.
+     * 지원하지 않는 폭, 보관한 원본이 없는 버전, 읽을 수 없는 원본이면 빈 값.
+     */
+    public Optional<Path> pinDerivative(Long productId, int width, String version) {
+        if (Arrays.stream(WIDTHS).noneMatch(w -> w == width) || version == null
+                || !VERSION_PATTERN.matcher(version).matches()) {
+            return Optional.empty();
+        }
+        String fileName = version + "-" + width + ".jpg";
+        Path path = root.resolve(fileName);
+        if (pinIfPresent(fileName)) {
+            return Optional.of(path);
+        }
+
+        Object lock = locks.computeIfAbsent(fileName, key -> new Object());
+        try {
+            synchronized (lock) {
+                if (pinIfPresent(fileName)) {
+                    return Optional.of(path);
+                }
+                // 내용 해시 이름의 원본으로만 만든다. (버전과 내용이 항상 일치)
+                Path original = originals.resolve(version);
+                if (!Files.exists(original)) {
+                    eventPublisher.publishEvent(new ImageSourceMissingEvent(productId));
+                    return Optional.empty();
+                }
+                byte[] jpeg = encodeJpeg(resize(readSource(Files.readAllBytes(original), version), width));
+                Path temp = Files.createTempFile(root, "derivative-", ".tmp");
+                Files.write(temp, jpeg);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                registerPinned(fileName, jpeg.length);
+                return Optional.of(path);
+            }
+        } catch (IOException e) {
+            log.warn("이미지 파생본 생성 실패: productId={}, width={}, cause={}", productId, width, e.getMessage());
+            return Optional.empty();
+        } finally {
+            locks.remove(fileName, lock);
+        }
+    }
+
+    /**
+     * pinDerivative로 잡은 파일을 놓는다. 그동안 용량을 넘었다면 이제 지울 수 있는 파일을 정리한다.
+     */
+    public synchronized void unpin(Path path) {
+        String fileName = path.getFileName().toString();
+        pins.computeIfPresent(fileName, (key, count) -> count > 1 ? count - 1 : null);
+        evict();
+    }
+
+    private void storeOriginal(String version, byte[] source) throws IOException {
+        Path original = originals.resolve(version);
+        if (Files.exists(original)) {
+            return;
+        }
+        Path temp = Files.createTempFile(originals, "source-", ".tmp");
+        try {
+            Files.write(temp, source);
+            Files.move(temp, original, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ---------------------------------------------------------------- LRU
+
+    private synchronized boolean pinIfPresent(String fileName) {
+        if (lru.get(fileName) == null) {
+            return false;
+        }
+        pins.merge(fileName, 1, Integer::sum);
+        return true;
+    }
+
+    private synchronized void registerPinned(String fileName, long size) {
+        pins.merge(fileName, 1, Integer::sum);
+        register(fileName, size);
+    }
+
+    private synchronized void register(String fileName, long size) {
+        Long previous = lru.put(fileName, size);
+        totalBytes += size - (previous != null ? previous : 0);
+        evict();
+    }
+
+    // 오래 안 쓰인 것부터 지운다. 전송 중인 파일은 건너뛰고 unpin 때 다시 본다.
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = lru.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (pins.containsKey(entry.getKey())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(root.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("이미지 파생본 삭제 실패: {}", entry.getKey());
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    // 재시작 시 디스크에 남아 있는 파생본을 수정 시각 순서로 LRU에 다시 올린다.
+    private void loadExisting() {
+        try {
+            Files.createDirectories(root);
+            Files.createDirectories(originals);
+            try (Stream<Path> files = Files.list(root)) {
+                files.filter(path -> path.getFileName().toString().endsWith(".jpg"))
+                        .sorted(Comparator.comparing(ImageDerivativeService::lastModified))
+                        .forEach(path -> {
+                            try {
+                                register(path.getFileName().toString(), Files.size(path));
+                            } catch (IOException e) {
+                                log.warn("이미지 파생본 읽기 실패: {}", path);
+                            }
+                        });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 캐시 디렉터리를 준비할 수 없습니다: " + root, e);
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    // ---------------------------------------------------------------- 이미지 처리
+
+    private static BufferedImage readSource(byte[] source, String version) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+        if (image == null) {
+            throw new IOException("읽을 수 없는 이미지 형식입니다: version=" + version);
+        }
+        return image;
+    }
+
+    // 원본 위치: http(s) URL이거나, 프론트엔드 정적 파일 기준 상대 경로
+    private InputStream openSource(String imageUrl) throws IOException {
+        if (imageUrl.startsWith("http://") || imageUrl.startsWith("https://")) {
+            URLConnection connection = URI.create(imageUrl).toURL().openConnection();
+            connection.setConnectTimeout(5_000);
+            connection.setReadTimeout(10_000);
+            return connection.getInputStream();
+        }
+        Path path = sourceRoot.resolve(imageUrl.replaceFirst("^/+", "")).normalize();
+        if (!path.startsWith(sourceRoot)) {
+            throw new IOException("허용되지 않은 이미지 경로입니다: " + imageUrl);
+        }
+        return Files.newInputStream(path);
+    }
+
+    /**
+     * 절반씩 여러 번 줄인 뒤 마지막에 목표 폭으로 맞춘다. (한 번에 크게 줄이면 bilinear 보간이 거칠어진다)
+     * 원본보다 크게 늘리지는 않는다.
+     */
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, Math.round(source.getHeight() * (float) width / source.getWidth()));
+
+        BufferedImage current = draw(source, source.getWidth(), source.getHeight()); // 투명 배경 → 흰색, RGB로 통일
+        while (current.getWidth() / 2 >= width) {
+            current = draw(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return current.getWidth() == width && current.getHeight() == height ? current : draw(current, width, height);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT); // 느린 회선에서도 윤곽이 먼저 보이도록
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String versionOf(byte[] source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
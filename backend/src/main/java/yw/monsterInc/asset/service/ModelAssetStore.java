@@ -0,0 +1,119 @@
+package yw.monsterInc.asset.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 3D 모델(GLB) 파일을 내용 해시(SHA-256) 이름으로 보관하는 로컬 저장소.
+ * 파일 이름이 곧 내용이라서 한 번 저장된 파일은 바뀌지 않고, URL도 영구 캐시할 수 있다.
+ */
+@Slf4j
+@Component
+public class ModelAssetStore {
+
+    public static final String URL_PREFIX = "/api/assets/models/";
+    public static final String EXTENSION = ".glb";
+    public static final String GZIP_SUFFIX = ".gz";
+    public static final String BROTLI_SUFFIX = ".br";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    private final Path root;
+
+    public ModelAssetStore(@Value("${asset.model.root:./data/models}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("모델 저장소 디렉터리를 만들 수 없습니다: " + this.root, e);
+        }
+    }
+
+    /**
+     * 스트림을 임시 파일에 쓰면서 해시를 계산하고, 끝나면 해시 이름으로 옮긴다.
+     * 같은 내용이 이미 있으면 새로 쓰지 않고 기존 해시를 돌려준다.
+     */
+    public String store(InputStream source) throws IOException {
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                source.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            if (!Files.exists(target)) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                log.info("모델 저장: hash={}, size={}B", hash, Files.size(target));
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 해시에 해당하는 모델 파일을 찾는다. 형식이 잘못됐거나 없는 파일이면 빈 값.
+     */
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * 미리 압축해 둔 변형 파일(.gz / .br)을 찾는다. 아직 만들어지지 않았으면 빈 값.
+     */
+    public Optional<Path> findVariant(String hash, String suffix) {
+        return find(hash)
+                .map(path -> path.resolveSibling(path.getFileName() + suffix))
+                .filter(Files::isRegularFile);
+    }
+
+    // 변형 파일을 쓸 위치 (ModelIngestService에서 사용)
+    Path variantPathOf(String hash, String suffix) {
+        return root.resolve(hash + EXTENSION + suffix);
+    }
+
+    Path pathOf(String hash) {
+        return root.resolve(hash + EXTENSION);
+    }
+
+    Path getRoot() {
+        return root;
+    }
+
+    public static boolean isAssetUrl(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    public static String urlOf(String hash) {
+        return URL_PREFIX + hash + EXTENSION;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package yw.monsterInc.asset.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yw.monsterInc.Product.entity.ModelLod;
+import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.Product.event.ProductChangedEvent;
+import yw.monsterInc.Product.repository.ProductRepository;
+import yw.monsterInc.Product.service.ProductService;
+import yw.monsterInc.asset.event.ImageSourceMissingEvent;
+import yw.monsterInc.asset.gltf.GltfOptimizer;
+import yw.monsterInc.asset.gltf.OptimizedModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 모델/이미지 파일 후처리(ingest) 작업.
+ * 상품이 저장되면 백그라운드에서 이미지 원본의 내용 해시(imageVersion)를 기록하고, 원본 모델을 해시 저장소에 넣고, glTF 최적화/LOD 생성(GltfOptimizer)과
+ * gzip/brotli 압축본을 미리 만든 뒤 Product.modelUrl을 해시 주소(/api/assets/models/{hash}.glb)로 바꾼다.
+ * 요청 처리 중에는 압축하지 않으므로, 응답은 영구 캐시 + 미리 압축된 파일을 그대로 보낸다.
+ * 실행기 대기열이 가득 차면 작업을 버리지 않고 backlog에 두었다가, 작업이 끝날 때마다/주기적으로 다시 넣는다.
+ */
+@Slf4j
+@Service
+public class ModelIngestService {
+
+    private final ModelAssetStore modelAssetStore;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final Executor executor;
+    private final Path sourceRoot;
+    private final GltfOptimizer gltfOptimizer;
+    private final int[] lodResolutions;
+    private final long gltfMaxBytes;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    // 같은 상품이 동시에 두 번 처리되지 않도록 진행 중인 id를 기록
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // 실행기가 받아주지 않은 작업. 같은 id는 한 번만 넣는다.
+    private final Queue<Long> backlog = new ConcurrentLinkedQueue<>();
+    private final Set<Long> backlogged = ConcurrentHashMap.newKeySet();
+
+    public ModelIngestService(ModelAssetStore modelAssetStore,
+                              ProductRepository productRepository,
+                              ProductService productService,
+                              ImageDerivativeService imageDerivativeService,
+                              @Qualifier("modelIngestExecutor") Executor executor,
+                              @Value("${asset.model.source-root:../frontend/public}") String sourceRoot,
+                              GltfOptimizer gltfOptimizer,
+                              @Value("${asset.gltf.lod-resolutions:64,32,16}") int[] lodResolutions,
+                              @Value("${asset.gltf.max-bytes:67108864}") long gltfMaxBytes,
+                              @Value("${asset.ingest.connect-timeout-ms:5000}") int connectTimeoutMs,
+                              @Value("${asset.ingest.read-timeout-ms:30000}") int readTimeoutMs) {
+        this.modelAssetStore = modelAssetStore;
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.executor = executor;
+        this.sourceRoot = Paths.get(sourceRoot).toAbsolutePath().normalize();
+        this.gltfOptimizer = gltfOptimizer;
+        this.lodResolutions = lodResolutions;
+        this.gltfMaxBytes = gltfMaxBytes;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    // 상품 저장 트랜잭션이 커밋된 뒤에 후처리를 예약한다. (요청 스레드는 기다리지 않음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProductId() != null) {
+            submit(event.getProductId());
+        } else {
+            // 대량 등록 등 여러 상품이 한 번에 바뀐 경우. 해당 상품만 backlog에 넣어 실행기가 받는 만큼 조금씩 처리한다.
+            event.getProductIds().forEach(this::submit);
+        }
+    }
+
+    // 기동 시 아직 처리되지 않은 상품(초기 데이터, 거절된 작업 등)을 다시 예약한다.
+    // 파생본 요청 때 보관한 이미지 원본이 없었다. 요청 스레드 대신 여기서 다시 받는다.
+    @EventListener
+    public void onImageSourceMissing(ImageSourceMissingEvent event) {
+        submit(event.getProductId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ingestPending() {
+        productRepository.findIdsPendingIngest(ModelAssetStore.URL_PREFIX).forEach(this::submit);
+    }
+
+    // 먼저 들어온 작업이 밀려 있으면 그 뒤에 줄을 세운다.
+    // 이미 밀려 있으면 실행기가 가득 찬 상태이므로 바로 넣어보지 않는다. (작업 완료/주기 재시도가 꺼내간다)
+    public void submit(Long productId) {
+        boolean idle = backlog.isEmpty();
+        if (backlogged.add(productId)) {
+            backlog.add(productId);
+        }
+        if (idle) {
+            drainBacklog();
+        }
+    }
+
+    // 실행기가 받아주는 만큼 backlog를 넘긴다. 거절되면 다음 작업 완료나 다음 주기에 다시 시도한다.
+    @Scheduled(fixedDelayString = "${asset.ingest.backlog-retry-ms:5000}")
+    public void drainBacklog() {
+        Long productId;
+        while ((productId = backlog.poll()) != null) {
+            backlogged.remove(productId);
+            if (!dispatch(productId)) {
+                if (backlogged.add(productId)) {
+                    backlog.add(productId);
+                }
+                log.debug("모델 후처리 대기열이 가득 참: backlog={}", backlogged.size());
+                return;
+            }
+        }
+    }
+
+    // 실행기에 넣었거나 이미 처리 중이면 true, 대기열이 가득 차서 거절되면 false
+    private boolean dispatch(Long productId) {
+        if (!inFlight.add(productId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    ingest(productId);
+                } finally {
+                    inFlight.remove(productId);
+                    drainBacklog(); // 자리가 났으니 밀린 작업을 바로 넣는다
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(productId);
+            return false;
+        }
+    }
+
+    private void ingest(Long productId) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null) {
+            return;
+        }
+        ingestImage(product);
+        String modelUrl = product.getModelUrl();
+        if (modelUrl == null || modelUrl.isBlank() || ModelAssetStore.isAssetUrl(modelUrl)) {
+            return; // 모델이 없거나 이미 해시 주소
+        }
+
+        try {
+            String hash;
+            try (InputStream in = openSource(modelUrl)) {
+                hash = modelAssetStore.store(in);
+            }
+
+            // glTF 최적화 + LOD 생성. 지원하지 않는 모델(Draco 등)은 원본 그대로 쓴다.
+            List<ModelLod> modelLods = new ArrayList<>();
+            OptimizedModel optimized = optimize(hash, modelUrl);
+            if (optimized != null) {
+                hash = storeBytes(optimized.getModel());
+                for (OptimizedModel.Lod lod : optimized.getLods()) {
+                    modelLods.add(new ModelLod(lod.getLevel(), ModelAssetStore.urlOf(storeBytes(lod.getModel())),
+                            lod.getTriangleCount(), lod.getModel().length));
+                }
+            }
+            writeVariants(hash);
+
+            String assetUrl = ModelAssetStore.urlOf(hash);
+            if (productService.replaceModel(productId, modelUrl, assetUrl, modelLods)) {
+                log.info("모델 후처리 완료: productId={}, {} -> {}, lods={}", productId, modelUrl, assetUrl, modelLods.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("모델 후처리 실패 (원래 modelUrl 유지): productId={}, modelUrl={}, cause={}",
+                    productId, modelUrl, e.getMessage());
+        }
+    }
+
+    // 이미지 원본을 보관하고 내용 해시를 계산해 둔다. (썸네일 파생본 URL은 이 값으로 바뀐다)
+    // 기록된 버전의 보관본이 없으면 다시 받고, 그 사이 원본 내용이 바뀌었으면 버전을 새로 기록한다.
+    private void ingestImage(Product product) {
+        String imageUrl = product.getImageUrl();
+        if (imageUrl == null || imageUrl.isBlank() || imageDerivativeService.hasSource(product.getImageVersion())) {
+            return;
+        }
+        try {
+            String version = imageDerivativeService.ingestSource(imageUrl);
+            if (productService.updateImageVersion(product.getId(), imageUrl, version)) {
+                log.info("이미지 버전 기록: productId={}, {} -> {}", product.getId(), imageUrl, version);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 버전 계산 실패 (썸네일 없이 표시): productId={}, imageUrl={}, cause={}",
+                    product.getId(), imageUrl, e.getMessage());
+        }
+    }
+
+    private OptimizedModel optimize(String hash, String modelUrl) throws IOException {
+        Path original = modelAssetStore.pathOf(hash);
+        if (Files.size(original) > gltfMaxBytes) {
+            log.info("모델이 너무 커서 최적화를 건너뜁니다: {}", modelUrl);
+            return null;
+        }
+        try {
+            OptimizedModel optimized = gltfOptimizer.optimize(Files.readAllBytes(original), lodResolutions);
+            log.info("glTF 최적화: {} {}B -> {}B, triangles={}, lods={}", modelUrl, Files.size(original),
+                    optimized.getModel().length, optimized.getTriangleCount(), optimized.getLods().size());
+            return optimized;
+        } catch (IllegalArgumentException e) {
+            log.info("glTF 최적화 생략 ({}): {}", modelUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    // 최적화 결과를 저장소에 넣고, LOD도 압축본을 미리 만들어 둔다.
+    private String storeBytes(byte[] model) throws IOException {
+        String hash = modelAssetStore.store(new ByteArrayInputStream(model));
+        writeVariants(hash);
+        return hash;
+    }
+
+    // 원본 위치: http(s) URL이거나, 프론트엔드 정적 파일 기준 상대 경로(/models/xxx.glb)
+    private InputStream openSource(String modelUrl) throws IOException {
+        if (modelUrl.startsWith("http://") || modelUrl.startsWith("https://")) {
+            // 응답 없는 서버에 워커 스레드가 묶이지 않도록 연결/읽기 타임아웃을 건다.
+            URLConnection connection = URI.create(modelUrl).toURL().openConnection();
+            connection.setConnectTimeout(connectTimeoutMs);
+            connection.setReadTimeout(readTimeoutMs);
+            return connection.getInputStream();
+        }
+        Path path = sourceRoot.resolve(modelUrl.replaceFirst("^/+", "")).normalize();
+        if (!path.startsWith(sourceRoot)) {
+            throw new IOException("허용되지 않은 모델 경로입니다: " + modelUrl);
+        }
+        return Files.newInputStream(path);
+    }
+
+    // gzip/brotli 압축본을 파일 단위로 스트리밍해서 만든다. 원본보다 작을 때만 남긴다.
+    private void writeVariants(String hash) throws IOException {
+        Path original = modelAssetStore.pathOf(hash);
+
+        Path gzip = modelAssetStore.variantPathOf(hash, ModelAssetStore.GZIP_SUFFIX);
+        if (!Files.exists(gzip)) {
+            writeCompressed(original, gzip, out -> new GZIPOutputStream(out, 64 * 1024) {
+                { def.setLevel(Deflater.BEST_COMPRESSION); } // 한 번만 압축하니까 최고 압축률을 쓴다
+            });
+        }
+
+        Path brotli = modelAssetStore.variantPathOf(hash, ModelAssetStore.BROTLI_SUFFIX);
+        if (!Files.exists(brotli) && Brotli4jLoader.isAvailable()) {
+            writeCompressed(original, brotli,
+                    out -> new BrotliOutputStream(out, new Encoder.Parameters().setQuality(11)));
+        }
+    }
+
+    private void writeCompressed(Path source, Path target, CompressorFactory factory) throws IOException {
+        Path temp = Files.createTempFile(modelAssetStore.getRoot(), "variant-", ".tmp");
+        try {
+            try (OutputStream out = factory.wrap(Files.newOutputStream(temp))) {
+                Files.copy(source, out);
+            }
+            if (Files.size(temp) < Files.size(source)) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompressorFactory {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,31 @@
+package yw.monsterInc.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AssetConfig {
+
+    /**
+     * 모델 파일 후처리(해시/압축) 전용 스레드 풀.
+     * 스레드 수와 대기열을 제한해서 상품 등록 요청이나 다른 작업에 영향을 주지 않도록 한다.
+     * 대기열이 가득 차면 작업을 거절하고(그동안 상품은 원래 modelUrl 그대로 사용), 거절된 상품은 ModelIngestService의 backlog에 남는다.
+     * backlog는 ModelIngestService.drainBacklog가 작업이 끝날 때마다, 그리고 asset.ingest.backlog-retry-ms 주기로 다시 넣는다.
+     */
+    @Bean(name = "modelIngestExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor modelIngestExecutor(
+            @Value("${asset.ingest.threads:2}") int threads,
+            @Value("${asset.ingest.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("model-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
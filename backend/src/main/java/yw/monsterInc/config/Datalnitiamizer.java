@@ -11,13 +11,17 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import yw.monsterInc.Product.constant.OptionCategory;
 import yw.monsterInc.Product.constant.ProductStatus;
 import yw.monsterInc.Product.dto.SaveOptionDto;
+import yw.monsterInc.Product.entity.Option;
 import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.Product.repository.OptionRepository;
 import yw.monsterInc.Product.repository.ProductRepository;
 import yw.monsterInc.Product.service.ProductService;
 import yw.monsterInc.member.Repository.MemberRepository;
 import yw.monsterInc.member.constant.MemberRole;
 import yw.monsterInc.member.entity.Member;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -29,6 +33,7 @@ import static yw.monsterInc.Product.constant.ProductStatus.*;
 public class Datalnitiamizer {
     private final MemberRepository memberRepository;
     private final ProductRepository productRepository;
+    private final OptionRepository optionRepository;
     private final ProductService productService;
     private final PasswordEncoder passwordEncoder;
     private final ObjectMapper objectMapper;
@@ -69,6 +74,7 @@ public class Datalnitiamizer {
             ProductStatus[] statuses = {ON_SALE,OUT_OF_STOCK, CURRENTLY_UNAVAILABLE, DISCONTINUED};
             Product angryBobProduct = null;
 
+            List<Product> productsToSave = new ArrayList<>();
             for (int i = 0 ; i<3 ; i++){
                 String materialMapJsonString = null;
                 String modelUrl = null;
@@ -94,11 +100,18 @@ public class Datalnitiamizer {
                         .basePrice(r.nextInt(8)+20)
                         .status(statusess)
                         .build();
-                Product savedProduct = productRepository.save(productToSave);
-                if (i == 0) {
-                    angryBobProduct = savedProduct; // ID가 부여된 '앵그리밥' 객체를 저장해 둔다.
-                }
+                productsToSave.add(productToSave);
             }
+            // ✅ 한 번에 저장해서 INSERT를 JDBC 배치로 묶는다 (상품 id가 시퀀스 방식이라 가능)
+            List<Product> savedProducts = productRepository.saveAll(productsToSave);
+            angryBobProduct = savedProducts.get(0); // ID가 부여된 '앵그리밥' 객체를 저장해 둔다.
+
+            // 견적/결제 확인용 선택 옵션 (기본가에 더해지는 금액)
+            optionRepository.saveAll(List.of(
+                    Option.builder().mon(angryBobProduct).parts(OptionCategory.SKIN).optionName("기본 스킨").optionValue("default").optionThumbnail("#ffffff").optionPrice(0).stock(100).build(),
+                    Option.builder().mon(angryBobProduct).parts(OptionCategory.SKIN).optionName("골드 스킨").optionValue("gold").optionThumbnail("#d4af37").optionPrice(5).stock(20).build(),
+                    Option.builder().mon(angryBobProduct).parts(OptionCategory.ACCESSORIES_ONE).optionName("마법사 모자").optionValue("wizard_hat").optionThumbnail("#4b3f8f").optionPrice(3).stock(50).build()
+            ));
         System.out.println("========초기 데이터 생성 완료=========");
         };
     }
@@ -0,0 +1,26 @@
+package yw.monsterInc.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PaymentConfig {
+
+    /**
+     * 결제 웹훅 워커 전용 스레드. 워커는 기동 시 한 번 올라가서 대기열을 계속 비운다.
+     * 종료할 때는 기다리지 않고 인터럽트한다. (남은 웹훅은 아임포트 재전송/재고 예약 만료 스윕이 정리)
+     */
+    @Bean(name = "paymentWebhookExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor paymentWebhookExecutor(@Value("${payment.webhook.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("payment-webhook-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -70,7 +70,9 @@ public class SecurityConfig {
                                 "/api/test",     // 테스트용 API
                                 "/api/posts",    // 예시: 게시글 목록 API
                                 "/api/products/**",
+                                "/api/assets/**",    // 해시 주소 모델 파일 (공개, 영구 캐시)
                                 "/api/members/login",
+                                "/api/payment/webhook", // 아임포트 웹훅 (본문은 믿지 않고 아임포트에 다시 조회)
                                 "/api/oauth2/**",
                                 "/login/**",
                                 "/api/members/signup/**"
@@ -0,0 +1,31 @@
+package yw.monsterInc.global;
+
+/**
+ * Accept-Encoding 헤더 해석 도우미. (미리 압축해 둔 응답을 고를 때 사용)
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    // Accept-Encoding 헤더에 해당 인코딩이 있고, q=0으로 거부되지 않았는지 확인
+    public static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(encoding)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
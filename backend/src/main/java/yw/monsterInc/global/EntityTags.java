@@ -0,0 +1,52 @@
+package yw.monsterInc.global;
+
+/**
+ * If-None-Match 헤더 해석 도우미. (ETag로 304를 돌려줄 때 사용)
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * If-None-Match 목록(쉼표 구분, 따옴표로 감싼 ETag) 중 하나라도 etag와 같거나 "*"이면 true.
+     * If-None-Match는 약한 비교라서 W/ 접두사는 양쪽 모두 무시한다.
+     * 목록 형식이 깨져 있으면 일치하지 않는 것으로 본다. (304 대신 전체 응답)
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String opaque = opaqueTag(etag);
+        int i = 0;
+        int length = ifNoneMatch.length();
+        while (i < length) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            int start = ifNoneMatch.startsWith("W/", i) ? i + 2 : i;
+            if (start >= length || ifNoneMatch.charAt(start) != '"') {
+                return false;
+            }
+            int end = ifNoneMatch.indexOf('"', start + 1);
+            if (end < 0) {
+                return false;
+            }
+            if (ifNoneMatch.substring(start, end + 1).equals(opaque)) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    // W/"abc" → "abc"
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -3,9 +3,11 @@ package yw.monsterInc.global.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import yw.monsterInc.global.Dto.ErrorResponseDto;
+import yw.monsterInc.order.gateway.IamportGatewayException;
 
 // ✅ @RestControllerAdvice: 모든 @RestController에서 발생하는 예외를 이 클래스가 가로채도록 설정합니다.
 @RestControllerAdvice
@@ -36,4 +38,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(e.getStatus()).body(e.getMessage());
     }
 
+    // @Version 충돌: 같은 데이터를 다른 요청이 먼저 고쳐서 커밋한 경우
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("다른 곳에서 먼저 수정되었습니다. 다시 불러온 뒤 시도해주세요.");
+    }
+
+    // 아임포트 장애: 차단/한도 초과는 503, 시간 초과는 504, 그 외는 502
+    @ExceptionHandler(IamportGatewayException.class)
+    public ResponseEntity<String> handleIamportGatewayException(IamportGatewayException e) {
+        HttpStatus status = switch (e.getReason()) {
+            case CIRCUIT_OPEN, BULKHEAD_FULL -> HttpStatus.SERVICE_UNAVAILABLE;
+            case TIMEOUT -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.BAD_GATEWAY;
+        };
+        return ResponseEntity.status(status).body("결제 서버와 통신 중 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
 }
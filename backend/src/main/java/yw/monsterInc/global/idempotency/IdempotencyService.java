@@ -0,0 +1,185 @@
+package yw.monsterInc.global.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리. 같은 키로 다시 온 요청은 실행하지 않고 처음 응답을 그대로 돌려준다.
+ * Redis 해시 Idempotency:{scope}:{memberId}:{key} = { state, owner, fingerprint, body }
+ * - 처음 요청: PENDING으로 선점(lease) 후 실행, 성공하면 DONE + 응답 저장(result-ttl 동안 보관)
+ * - 실행 중 중복: wait 동안 DONE이 될 때까지 기다렸다가 응답 재사용, 그래도 안 끝나면 409
+ * - 실패: 키를 지워서 다음 재시도가 다시 실행되게 한다. (실패 응답은 저장하지 않음)
+ * - 같은 키에 다른 본문: 422
+ */
+@Slf4j
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final String KEY_PREFIX = "Idempotency:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+
+    // KEYS: 키 / ARGV: owner, fingerprint, lease(ms)
+    // 반환: 선점하면 빈 목록, 이미 있으면 { state, fingerprint, body }
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM = new DefaultRedisScript<>("""
+            local state = redis.call('HGET', KEYS[1], 'state')
+            if not state then
+              redis.call('HSET', KEYS[1], 'state', 'PENDING', 'owner', ARGV[1], 'fingerprint', ARGV[2])
+              redis.call('PEXPIRE', KEYS[1], ARGV[3])
+              return {}
+            end
+            return { state, redis.call('HGET', KEYS[1], 'fingerprint') or '', redis.call('HGET', KEYS[1], 'body') or '' }
+            """, List.class);
+
+    // 선점한 요청만 결과를 남긴다. (lease가 끝나 다른 요청이 다시 선점한 경우 덮어쓰지 않음)
+    // KEYS: 키 / ARGV: owner, body, result-ttl(ms)
+    private static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'owner') ~= ARGV[1] then return 0 end
+            redis.call('HSET', KEYS[1], 'state', 'DONE', 'body', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS: 키 / ARGV: owner
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'owner') ~= ARGV[1] then return 0 end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration lease;
+    private final Duration resultTtl;
+    private final Duration wait;
+    private final Duration pollInterval;
+
+    public IdempotencyService(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.lease:30s}") Duration lease,
+                              @Value("${idempotency.result-ttl:24h}") Duration resultTtl,
+                              @Value("${idempotency.wait:5s}") Duration wait,
+                              @Value("${idempotency.poll-interval:50ms}") Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.lease = lease;
+        this.resultTtl = resultTtl;
+        this.wait = wait;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * key가 없으면 그냥 실행한다. (헤더를 안 보내는 기존 클라이언트 호환)
+     * @param scope 엔드포인트 구분 (예: payment-prepare)
+     * @param request 요청 본문. 같은 키에 다른 본문이 오면 거절하기 위한 지문으로 쓴다.
+     */
+    public <T> T execute(String scope, Long memberId, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new CustomException(HEADER + " 값이 너무 깁니다.", 400);
+        }
+        String redisKey = KEY_PREFIX + scope + ":" + memberId + ":" + key;
+        String fingerprint = fingerprint(request);
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + wait.toNanos();
+
+        while (true) {
+            List<?> existing = redisTemplate.execute(CLAIM, List.of(redisKey),
+                    owner, fingerprint, String.valueOf(lease.toMillis()));
+            if (existing == null || existing.isEmpty()) {
+                count(scope, "executed");
+                return run(redisKey, owner, action);
+            }
+            if (!fingerprint.equals(existing.get(1))) {
+                count(scope, "mismatch");
+                throw new CustomException("같은 " + HEADER + "로 다른 요청을 보낼 수 없습니다.", 422);
+            }
+            if (DONE.equals(existing.get(0))) {
+                count(scope, "replayed");
+                log.info("중복 요청 응답 재사용: scope={}, memberId={}, key={}", scope, memberId, key);
+                return read((String) existing.get(2), responseType);
+            }
+            // PENDING: 먼저 온 요청이 끝나길 잠깐 기다린다. (실패해서 키가 지워지면 다음 루프에서 직접 선점)
+            if (System.nanoTime() >= deadline) {
+                count(scope, "conflict");
+                throw new CustomException("같은 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요.", 409);
+            }
+            sleep();
+        }
+    }
+
+    private <T> T run(String redisKey, String owner, Supplier<T> action) {
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            redisTemplate.execute(RELEASE, List.of(redisKey), owner);
+            throw e;
+        }
+        redisTemplate.execute(COMPLETE, List.of(redisKey), owner, write(result), String.valueOf(resultTtl.toMillis()));
+        return result;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("요청 처리가 중단되었습니다.", 503);
+        }
+    }
+
+    private void count(String scope, String result) {
+        meterRegistry.counter("idempotency.requests", "scope", scope, "result", result).increment();
+    }
+}
@@ -0,0 +1,184 @@
+package yw.monsterInc.global.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * JSON Patch(RFC 6902)와 JSON Merge Patch(RFC 7386) 적용기.
+ * JSON Patch는 요청 본문을 배열 전체로 읽지 않고 연산 하나씩 읽으면서 바로 적용한다.
+ * 대상 문서는 제자리에서 바뀌므로 호출하는 쪽에서 복사본을 넘겨야 한다.
+ */
+public final class JsonPatches {
+
+    public static final String JSON_PATCH = "application/json-patch+json";
+    public static final String MERGE_PATCH = "application/merge-patch+json";
+
+    private JsonPatches() {
+    }
+
+    /**
+     * RFC 6902: [{"op":"replace","path":"/Body/color","value":"#ff0000"}, ...]
+     * 중간에 실패하면 예외가 나므로 대상 문서는 버리면 된다. (부분 적용된 결과를 저장하지 않는다)
+     */
+    public static JsonNode applyJsonPatch(ObjectMapper objectMapper, InputStream body, JsonNode target) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw invalid("JSON Patch 본문은 배열이어야 합니다.");
+            }
+            JsonNode document = target;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                document = applyOperation(document, objectMapper.readTree(parser));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw invalid("JSON Patch 연산은 객체여야 합니다.");
+            }
+            return document;
+        } catch (IOException e) {
+            throw invalid("JSON Patch 형식이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * RFC 7386: 객체는 재귀적으로 합치고, null 값은 해당 키 삭제, 그 외 값은 통째로 교체한다.
+     */
+    public static JsonNode applyMergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? (ObjectNode) target
+                : ((ObjectNode) patch).objectNode();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), applyMergePatch(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static JsonNode applyOperation(JsonNode document, JsonNode operation) {
+        String op = operation.path("op").asText(null);
+        JsonPointer path = pointer(operation, "path");
+        return switch (op == null ? "" : op) {
+            case "add" -> add(document, path, value(operation));
+            case "remove" -> {
+                remove(document, path);
+                yield document;
+            }
+            case "replace" -> {
+                if (path.matches()) {
+                    yield value(operation); // 문서 전체 교체 (remove는 루트를 거부하므로 먼저 처리)
+                }
+                remove(document, path);
+                yield add(document, path, value(operation));
+            }
+            case "move" -> {
+                JsonPointer from = pointer(operation, "from");
+                if (path.toString().startsWith(from + "/")) {
+                    throw invalid("자기 하위 경로로는 옮길 수 없습니다: " + from + " -> " + path);
+                }
+                JsonNode moved = get(document, from);
+                remove(document, from);
+                yield add(document, path, moved);
+            }
+            case "copy" -> add(document, path, get(document, pointer(operation, "from")).deepCopy());
+            case "test" -> {
+                if (!get(document, path).equals(value(operation))) {
+                    throw new CustomException("JSON Patch test 연산이 실패했습니다: " + path, 409);
+                }
+                yield document;
+            }
+            default -> throw invalid("지원하지 않는 JSON Patch 연산입니다: " + op);
+        };
+    }
+
+    private static JsonNode add(JsonNode document, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value; // 문서 전체 교체
+        }
+        JsonNode parent = document.at(path.head());
+        String key = path.last().getMatchingProperty();
+        if (parent.isObject()) {
+            ((ObjectNode) parent).set(key, value);
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            if ("-".equals(key)) {
+                array.add(value);
+            } else {
+                array.insert(index(key, array.size()), value);
+            }
+        } else {
+            throw invalid("경로의 상위 항목이 없습니다: " + path);
+        }
+        return document;
+    }
+
+    private static void remove(JsonNode document, JsonPointer path) {
+        if (path.matches()) {
+            throw invalid("문서 전체는 삭제할 수 없습니다.");
+        }
+        get(document, path); // 없는 경로면 400
+        JsonNode parent = document.at(path.head());
+        String key = path.last().getMatchingProperty();
+        if (parent.isObject()) {
+            ((ObjectNode) parent).remove(key);
+        } else {
+            ((ArrayNode) parent).remove(index(key, parent.size() - 1));
+        }
+    }
+
+    private static JsonNode get(JsonNode document, JsonPointer path) {
+        JsonNode node = document.at(path);
+        if (node.isMissingNode()) {
+            throw invalid("존재하지 않는 경로입니다: " + path);
+        }
+        return node;
+    }
+
+    private static int index(String key, int max) {
+        try {
+            int index = Integer.parseInt(key);
+            if (index < 0 || index > max) {
+                throw invalid("배열 범위를 벗어난 인덱스입니다: " + key);
+            }
+            return index;
+        } catch (NumberFormatException e) {
+            throw invalid("배열 인덱스가 아닙니다: " + key);
+        }
+    }
+
+    private static JsonPointer pointer(JsonNode operation, String field) {
+        JsonNode node = operation.get(field);
+        if (node == null || !node.isTextual()) {
+            throw invalid("JSON Patch 연산에 " + field + " 값이 없습니다.");
+        }
+        try {
+            return JsonPointer.compile(node.asText());
+        } catch (IllegalArgumentException e) {
+            throw invalid("잘못된 JSON Pointer 입니다: " + node.asText());
+        }
+    }
+
+    private static JsonNode value(JsonNode operation) {
+        if (!operation.has("value")) {
+            throw invalid("JSON Patch 연산에 value 값이 없습니다.");
+        }
+        return operation.get("value");
+    }
+
+    private static CustomException invalid(String message) {
+        return new CustomException(message, 400);
+    }
+}
@@ -0,0 +1,113 @@
+package yw.monsterInc.global.sketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Count-Min 스케치. 고정된 depth x width 카운터 배열로 항목별 빈도를 근사한다. (과대 추정만 하고 과소 추정은 하지 않음)
+ * 갱신은 conservative update 방식이라 필요한 칸만 올려서 일반 방식보다 오차가 작다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counts; // row * width + column
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth, width는 1 이상이어야 합니다.");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new int[depth * width];
+    }
+
+    /**
+     * 항목의 빈도를 count만큼 올리고, 갱신 후 추정치를 반환한다.
+     */
+    public long add(String item, int count) {
+        long hash = hash64(item);
+        int[] indexes = new int[depth];
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            indexes[row] = row * width + column(hash, row);
+            estimate = Math.min(estimate, counts[indexes[row]]);
+        }
+        long target = Math.min(estimate + count, Integer.MAX_VALUE);
+        for (int index : indexes) {
+            if (counts[index] < target) {
+                counts[index] = (int) target;
+            }
+        }
+        return target;
+    }
+
+    public long estimate(String item) {
+        long hash = hash64(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row * width + column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 같은 크기의 다른 스케치 카운터를 칸마다 더한다. 두 스케치가 나눠 받은 이벤트를 합친 것과 같다. (과대 추정 성질 유지)
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("크기가 다른 스케치는 합칠 수 없습니다.");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = (int) Math.min((long) counts[i] + other.counts[i], Integer.MAX_VALUE);
+        }
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + counts.length * 4);
+        buffer.putInt(depth).putInt(width);
+        buffer.asIntBuffer().put(counts);
+        return buffer.array();
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        CountMinSketch sketch = new CountMinSketch(buffer.getInt(), buffer.getInt());
+        if (buffer.remaining() != sketch.counts.length * 4) {
+            throw new IllegalArgumentException("스케치 데이터 크기가 맞지 않습니다.");
+        }
+        buffer.asIntBuffer().get(sketch.counts);
+        return sketch;
+    }
+
+    // 64비트 해시 하나를 둘로 나눠 행마다 다른 해시를 만든다. (Kirsch-Mitzenmacher)
+    private int column(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static long hash64(String item) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        // 하위 비트 분산을 위해 murmur3 finalizer를 한 번 더 거친다.
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,81 @@
+package yw.monsterInc.global.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 추정 빈도 상위 capacity개만 유지하는 heavy hitter 목록. (최소 힙)
+ * 새 항목의 추정치가 힙의 최솟값보다 크면 최솟값을 밀어낸다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+public class TopK {
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::getCount));
+
+    public TopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void offer(String item, long estimate) {
+        Entry entry = entries.get(item);
+        if (entry != null) {
+            heap.remove(entry); // 값이 바뀌면 힙 위치를 다시 잡는다 (capacity가 작아서 O(k)로 충분)
+            entry.count = Math.max(entry.count, estimate);
+            heap.add(entry);
+            return;
+        }
+        if (entries.size() < capacity) {
+            add(item, estimate);
+            return;
+        }
+        Entry min = heap.peek();
+        if (min != null && estimate > min.count) {
+            heap.poll();
+            entries.remove(min.item);
+            add(item, estimate);
+        }
+    }
+
+    /**
+     * 빈도 높은 순으로 최대 limit개
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> sorted = new ArrayList<>(heap);
+        sorted.sort(Comparator.comparingLong(Entry::getCount).reversed().thenComparing(Entry::getItem));
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            result.add(new Entry(entry.item, entry.count)); // 밖에서 바꿔도 힙이 깨지지 않도록 복사본
+        }
+        return result;
+    }
+
+    private void add(String item, long count) {
+        Entry entry = new Entry(item, count);
+        entries.put(item, entry);
+        heap.add(entry);
+    }
+
+    public static final class Entry {
+        private final String item;
+        private long count;
+
+        public Entry(String item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+
+        public String getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import yw.monsterInc.Product.dto.SavedOptionPageDto;
 import yw.monsterInc.global.CustomUserDetails;
 import yw.monsterInc.member.entity.Member;
 import yw.monsterInc.mypage.dto.MemberEditResponseDto;
@@ -64,6 +65,19 @@ public class MyPageController {
         return ResponseEntity.ok(savedOptions);
     }
 
+    // 저장 옵션이 많은 회원용 커서 페이지 (첫 페이지는 cursor 없이, 다음부터는 응답의 nextCursor)
+    @GetMapping("/saved-options/page")
+    public ResponseEntity<SavedOptionPageDto> getMySavedOptionPage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeOverrides
+    ) {
+        SavedOptionPageDto page = myPageService.findMySavedOptionPage(
+                userDetails.getMember().getId(), cursor, size, includeOverrides);
+        return ResponseEntity.ok(page);
+    }
+
     @DeleteMapping("/saved-options/{id}")
     public ResponseEntity<String> deleteMySavedOption(
             @AuthenticationPrincipal CustomUserDetails userDetails,
@@ -14,14 +14,19 @@ public class SavedOptionResponseDto {
     private String saveName;
     private String productName;
     private LocalDateTime savedAt;
-    private String materialOverrides;
+    private String materialOverrides; // 상품 기본값과 다른 파츠만 담긴 델타
+    private String baseMaterialHash;
+    private Integer materialVersion;
 
-    public SavedOptionResponseDto(SaveOption saveOption) {
+    // materialOverrides: 델타 JSON (목록에서는 MaterialConfigService.findDeltaJsonOf로 한 번에 읽어서 넘긴다)
+    public SavedOptionResponseDto(SaveOption saveOption, String materialOverrides) {
         this.id = saveOption.getId();
         this.saveName = saveOption.getSaveName();
         this.productName = saveOption.getMon().getName();
         // ✅ [수정] BaseEntity의 필드 이름이 getRegTime()이 맞는지 확인해주세요. (보통 getCreatedAt()을 많이 씁니다)
         this.savedAt = saveOption.getRegTime();
-        this.materialOverrides = saveOption.getMaterialOverrides();
+        this.materialOverrides = materialOverrides;
+        this.baseMaterialHash = saveOption.getBaseMaterialHash();
+        this.materialVersion = saveOption.getMaterialVersion();
     }
 }
@@ -5,8 +5,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import yw.monsterInc.Product.dto.SavedOptionPageDto;
 import yw.monsterInc.Product.entity.SaveOption;
 import yw.monsterInc.Product.repository.SaveOptionRepository;
+import yw.monsterInc.Product.service.MaterialConfigService;
 import yw.monsterInc.member.Repository.MemberRepository;
 import yw.monsterInc.member.entity.Member;
 import yw.monsterInc.mypage.dto.MemberUpdateRequestDto;
@@ -15,6 +17,7 @@ import yw.monsterInc.mypage.dto.SavedOptionResponseDto;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +28,7 @@ public class MyPageService {
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder; // 비밀번호 암호화를 위해 주입
     private final SaveOptionRepository saveOptionRepository;
+    private final MaterialConfigService materialConfigService;
 
     // 회원 정보 수정 메서드
     public void updateMemberInfo(Long memberId, MemberUpdateRequestDto updateDto) {
@@ -43,10 +47,19 @@ public class MyPageService {
             member.setPassword(passwordEncoder.encode(updateDto.getPassword()));
         }
     }
+    // 저장 옵션 커서 페이지 (최신 저장순, 프로젝션 조회). includeOverrides=false면 델타 본문은 빼고 해시만 내려준다.
+    @Transactional(readOnly = true)
+    public SavedOptionPageDto findMySavedOptionPage(Long memberId, Long cursor, int size, boolean includeOverrides) {
+        return saveOptionRepository.findSavedOptionPage(memberId, cursor, size, includeOverrides);
+    }
+
     @Transactional(readOnly = true)
     public List<SavedOptionResponseDto> findMySavedOptions(Long memberId) {
-        return saveOptionRepository.findAllByMember_Id(memberId).stream()
-                .map(SavedOptionResponseDto::new)
+        List<SaveOption> saveOptions = saveOptionRepository.findAllByMember_Id(memberId);
+        Map<Long, String> deltaJson = materialConfigService.findDeltaJsonOf(saveOptions);
+        return saveOptions.stream()
+                .map(saveOption -> new SavedOptionResponseDto(saveOption,
+                        saveOption.getMaterialConfig() != null ? deltaJson.get(saveOption.getMaterialConfig().getId()) : null))
                 .collect(Collectors.toList());
     }
 
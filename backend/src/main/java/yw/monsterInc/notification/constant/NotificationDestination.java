@@ -0,0 +1,7 @@
+package yw.monsterInc.notification.constant;
+
+// 알림 서버(NestJS)의 수신 엔드포인트
+public enum NotificationDestination {
+    USER,  // notification.nestjs.url.user
+    ADMIN  // notification.nestjs.url.admin
+}
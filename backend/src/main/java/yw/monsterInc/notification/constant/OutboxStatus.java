@@ -0,0 +1,7 @@
+package yw.monsterInc.notification.constant;
+
+public enum OutboxStatus {
+    PENDING,  // 전송 대기 (재시도 중 포함)
+    SENT,     // 전송 완료
+    FAILED    // 재시도 횟수 초과 (수동 확인 필요)
+}
@@ -0,0 +1,102 @@
+package yw.monsterInc.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yw.monsterInc.notification.constant.NotificationDestination;
+import yw.monsterInc.notification.constant.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실시간 알림 아웃박스. 결제/주문 상태를 바꾸는 트랜잭션 안에서 함께 INSERT 되고,
+ * NotificationOutboxRelay가 커밋된 행만 모아서 알림 서버로 보낸다. (요청 처리 중에는 외부 호출 없음)
+ */
+@Getter
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_ordering_key", columnList = "ordering_key, status")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationDestination destination;
+
+    // 같은 키끼리는 INSERT 순서대로만 보낸다. (예: 받는 회원별)
+    @Column(name = "ordering_key", nullable = false, length = 100)
+    private String orderingKey;
+
+    // 알림 서버로 그대로 POST 할 JSON 본문
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 릴레이가 가져가서 보내는 중인 행은 이 시각까지 다른 릴레이(노드)가 다시 가져가지 않는다.
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    public NotificationOutbox(NotificationDestination destination, String orderingKey, String payload) {
+        this.destination = destination;
+        this.orderingKey = orderingKey;
+        this.payload = payload;
+        this.status = OutboxStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public void claim(LocalDateTime until) {
+        this.claimedUntil = until;
+    }
+
+    // 점유했지만 보내지 못한 행을 바로 다시 가져갈 수 있게 돌려놓는다. (시도 횟수는 그대로)
+    public void release() {
+        this.claimedUntil = null;
+    }
+
+    public void markSent() {
+        this.status = OutboxStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.claimedUntil = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 전송 실패 기록. 최대 횟수를 넘으면 FAILED로 빼서 같은 키의 다음 알림이 막히지 않게 한다.
+     */
+    public void markFailed(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.claimedUntil = null;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package yw.monsterInc.notification.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yw.monsterInc.notification.entity.NotificationOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * 지금 보낼 수 있는 행 id. 키마다 가장 오래된 PENDING 행(head)만 고르므로 같은 키의 알림은 순서가 바뀌지 않는다.
+     * 다른 노드가 잡고 있는 행은 SKIP LOCKED로 건너뛴다. (MySQL 8+)
+     */
+    @Query(value = "SELECT o.id FROM notification_outbox o " +
+            "WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now " +
+            "AND (o.claimed_until IS NULL OR o.claimed_until < :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM notification_outbox p " +
+            "                WHERE p.ordering_key = o.ordering_key AND p.status = 'PENDING' AND p.id < o.id) " +
+            "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findDueHeadIdsForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 보관 기간이 지난 전송 완료 행 정리
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = yw.monsterInc.notification.constant.OutboxStatus.SENT " +
+            "AND o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,187 @@
+package yw.monsterInc.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import yw.monsterInc.notification.constant.NotificationDestination;
+import yw.monsterInc.notification.entity.NotificationOutbox;
+import yw.monsterInc.notification.repository.NotificationOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 알림 아웃박스 릴레이. 주기적으로 보낼 행을 모아서 알림 서버(NestJS)로 POST 한다.
+ *   1. 짧은 트랜잭션: 키별 head 행을 SKIP LOCKED로 골라 claimed_until로 점유
+ *   2. 트랜잭션 없이 전송 (알림 서버가 느려도 DB 커넥션을 잡지 않음)
+ *   3. 짧은 트랜잭션: 성공은 SENT, 실패는 지수 백오프로 재시도 예약
+ * 한 번에 키마다 한 건씩만 보내고, 보낼 것이 남아 있으면 바로 다음 라운드를 돈다.
+ * 점유(claim-timeout)가 끝난 행은 다른 노드가 다시 가져가 중복 전송되므로,
+ * 점유 만료 전에 끝낼 수 없는 전송(남은 시간 < 연결+읽기 타임아웃)은 시작하지 않고 점유를 풀어 다음 라운드로 넘긴다.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final Map<NotificationDestination, String> urls;
+    private final int batchSize;
+    private final int maxRounds;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final Duration sendTimeout; // 전송 한 건이 걸릴 수 있는 최대 시간 (연결 + 읽기 타임아웃)
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final Counter sent;
+    private final Counter failed;
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.nestjs.url.user}") String userUrl,
+                                   @Value("${notification.nestjs.url.admin}") String adminUrl,
+                                   @Value("${notification.outbox.batch-size:100}") int batchSize,
+                                   @Value("${notification.outbox.max-rounds:20}") int maxRounds,
+                                   @Value("${notification.outbox.max-attempts:10}") int maxAttempts,
+                                   @Value("${notification.outbox.claim-timeout:30s}") Duration claimTimeout,
+                                   @Value("${notification.outbox.base-backoff:1s}") Duration baseBackoff,
+                                   @Value("${notification.outbox.max-backoff:5m}") Duration maxBackoff,
+                                   @Value("${notification.outbox.retention:7d}") Duration retention,
+                                   @Value("${notification.outbox.connect-timeout:2s}") Duration connectTimeout,
+                                   @Value("${notification.outbox.read-timeout:5s}") Duration readTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.urls = Map.of(NotificationDestination.USER, userUrl, NotificationDestination.ADMIN, adminUrl);
+        this.batchSize = batchSize;
+        this.maxRounds = maxRounds;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = claimTimeout;
+        this.sendTimeout = connectTimeout.plus(readTimeout);
+        if (claimTimeout.compareTo(sendTimeout) <= 0) {
+            throw new IllegalArgumentException("notification.outbox.claim-timeout(" + claimTimeout
+                    + ")은 connect-timeout + read-timeout(" + sendTimeout + ")보다 길어야 합니다.");
+        }
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.sent = Counter.builder("notification.outbox.relay").tag("result", "sent").register(meterRegistry);
+        this.failed = Counter.builder("notification.outbox.relay").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        for (int round = 0; round < maxRounds; round++) {
+            // 점유 시각보다 먼저 잡아서 실제 점유 만료보다 조금 이르게 끊는다.
+            long sendDeadline = System.nanoTime() + claimTimeout.minus(sendTimeout).toNanos();
+            List<NotificationOutbox> claimed = claim();
+            if (claimed.isEmpty()) {
+                return;
+            }
+            Map<Long, String> errors = new HashMap<>();
+            Set<Long> unsent = new HashSet<>();
+            for (NotificationOutbox message : claimed) {
+                if (System.nanoTime() - sendDeadline >= 0) {
+                    unsent.add(message.getId());
+                    continue;
+                }
+                String error = send(message);
+                if (error != null) {
+                    errors.put(message.getId(), error);
+                }
+            }
+            record(claimed, errors, unsent);
+            if (!unsent.isEmpty()) {
+                log.warn("알림 전송이 점유 시간 안에 끝나지 않아 {}건을 다음 라운드로 넘깁니다. (batch-size {}, claim-timeout {})",
+                        unsent.size(), batchSize, claimTimeout);
+            }
+        }
+    }
+
+    // 하루 한 번 보관 기간이 지난 전송 완료 행을 지운다.
+    @Scheduled(cron = "${notification.outbox.purge-cron:0 30 4 * * *}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        log.info("알림 아웃박스 정리: deleted={}", deleted);
+    }
+
+    private List<NotificationOutbox> claim() {
+        List<NotificationOutbox> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.findDueHeadIdsForUpdate(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            List<NotificationOutbox> rows = new ArrayList<>(outboxRepository.findAllById(ids));
+            rows.forEach(row -> row.claim(now.plus(claimTimeout)));
+            return rows;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    // 전송 실패면 오류 메시지, 성공이면 null
+    private String send(NotificationOutbox message) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            restTemplate.postForEntity(urls.get(message.getDestination()),
+                    new HttpEntity<>(message.getPayload(), headers), Void.class);
+            return null;
+        } catch (RestClientException e) {
+            return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+    }
+
+    private void record(List<NotificationOutbox> claimed, Map<Long, String> errors, Set<Long> unsent) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (NotificationOutbox message : outboxRepository.findAllById(claimed.stream().map(NotificationOutbox::getId).toList())) {
+                String error = errors.get(message.getId());
+                if (unsent.contains(message.getId())) {
+                    message.release();
+                } else if (error == null) {
+                    message.markSent();
+                    sent.increment();
+                } else {
+                    message.markFailed(error, now.plus(backoff(message.getAttempts())), maxAttempts);
+                    failed.increment();
+                    log.warn("알림 전송 실패: outboxId={}, attempts={}, status={}, error={}",
+                            message.getId(), message.getAttempts(), message.getStatus(), error);
+                }
+            }
+        });
+    }
+
+    // 1s, 2s, 4s ... 최대 maxBackoff
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
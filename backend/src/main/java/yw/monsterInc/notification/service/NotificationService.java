@@ -3,6 +3,8 @@ package yw.monsterInc.notification.service;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -10,9 +12,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import yw.monsterInc.member.entity.Member;
 import yw.monsterInc.notification.constant.NotificationCategory;
+import yw.monsterInc.notification.constant.NotificationDestination;
 import yw.monsterInc.notification.dto.NotificationRequest;
 import yw.monsterInc.notification.dto.PaymentNotificationRequest;
 import yw.monsterInc.notification.entity.Notification;
+import yw.monsterInc.notification.entity.NotificationOutbox;
+import yw.monsterInc.notification.repository.NotificationOutboxRepository;
 import yw.monsterInc.notification.repository.NotificationRepository;
 
 
@@ -20,6 +25,8 @@ import yw.monsterInc.notification.repository.NotificationRepository;
 public class NotificationService {
     private final RestTemplate restTemplate = new RestTemplate();
     private final NotificationRepository notificationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
     @Value("${notification.nestjs.url.user}")
     private String nestjsNotifyUrl;
@@ -27,8 +34,12 @@ public class NotificationService {
     @Value("${notification.nestjs.url.admin}")
     private String nestjsAdminNotifyUrl;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationOutboxRepository outboxRepository,
+                               ObjectMapper objectMapper) {
         this.notificationRepository = notificationRepository;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
     }
     /**
      4  * 사용자 로그인 시 환영 알림을 생성하고 전송합니다.
@@ -107,12 +118,18 @@ public class NotificationService {
 //    }
 //
     // 결제 알림 전송 (실시간)
+    // 바로 보내지 않고 아웃박스에 넣는다. 호출한 쪽(결제 상태 변경)의 트랜잭션과 함께 커밋되고,
+    // 실제 전송은 NotificationOutboxRelay가 따로 하므로 알림 서버가 느려도 결제 응답이 늦어지지 않는다.
     public void sendPaymentNotification(PaymentNotificationRequest dto) {
+        enqueue(NotificationDestination.USER, "member:" + dto.getTargetUserId(), dto);
+    }
+
+    // 알림 본문을 아웃박스에 쌓는다. 같은 orderingKey끼리는 넣은 순서대로 전송된다.
+    public void enqueue(NotificationDestination destination, String orderingKey, Object payload) {
         try {
-            restTemplate.postForObject(nestjsNotifyUrl, dto, Void.class);
-        } catch (Exception e) {
-            // 실시간 알림 서버 에러는 로깅만 하고 계속 진행
-            System.err.println("결제 실시간 알림 전송 실패: " + e.getMessage());
+            outboxRepository.save(new NotificationOutbox(destination, orderingKey, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("알림 직렬화 실패", e);
         }
     }
 //
@@ -0,0 +1,10 @@
+package yw.monsterInc.order.constant;
+
+/**
+ * 결제 완료 처리(PaymentService.completeVerifiedPayment) 결과
+ */
+public enum PaymentCompletion {
+    COMPLETED,          // PENDING → COMPLETED
+    ALREADY_PROCESSED,  // 다른 검증 요청/웹훅이 먼저 처리함
+    SOLD_OUT            // 결제는 됐지만 재고가 없어 주문을 실패 처리함 → 트랜잭션 밖에서 환불해야 한다
+}
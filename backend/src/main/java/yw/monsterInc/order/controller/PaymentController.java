@@ -1,17 +1,21 @@
 package yw.monsterInc.order.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import yw.monsterInc.global.CustomUserDetails;
+import yw.monsterInc.global.idempotency.IdempotencyService;
 import yw.monsterInc.member.Repository.MemberRepository;
 import yw.monsterInc.member.entity.Member;
 import yw.monsterInc.order.dto.PaymentPrepareRequestDto;
 import yw.monsterInc.order.dto.PaymentPrepareResponseDto;
+import yw.monsterInc.order.dto.IamportWebhookDto;
 import yw.monsterInc.order.dto.PaymentVerifyRequestDto;
 import yw.monsterInc.order.service.PaymentService;
 import yw.monsterInc.order.service.PaymentTransactionService;
+import yw.monsterInc.order.service.PaymentWebhookProcessor;
 
 import java.util.Optional;
 
@@ -21,25 +25,46 @@ import java.util.Optional;
 public class PaymentController {
     private final MemberRepository memberRepository;
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentWebhookProcessor webhookProcessor;
 
     @PostMapping("/prepare")
     public ResponseEntity<PaymentPrepareResponseDto> preparePayment(
             @RequestBody PaymentPrepareRequestDto requestDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        PaymentPrepareResponseDto responseDto = paymentService.preparePayment(requestDto, userDetails.getMember());
+        // 같은 키로 재시도하면 주문을 또 만들지 않고 처음 만든 주문 정보를 돌려준다.
+        Member member = userDetails.getMember();
+        PaymentPrepareResponseDto responseDto = idempotencyService.execute("payment-prepare", member.getId(), idempotencyKey,
+                requestDto, PaymentPrepareResponseDto.class, () -> paymentService.preparePayment(requestDto, member));
         return ResponseEntity.ok(responseDto);
     }
 
     @PostMapping("/verify")
     public ResponseEntity<String> verifyPayment(
             @RequestBody PaymentVerifyRequestDto requestDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         System.out.println("결제 시 로그인 회원 아이디"+userDetails.getMember().getId());
-        paymentService.verifyPayment(requestDto, userDetails.getMember());
-
-        // 검증 성공 시, 간단한 성공 메시지를 반환
-        return ResponseEntity.ok("결제 검증이 성공적으로 완료되었습니다.");
+        Member member = userDetails.getMember();
+        // 검증 성공 시, 간단한 성공 메시지를 반환 (같은 키의 재시도는 아임포트 조회 없이 저장된 응답)
+        String message = idempotencyService.execute("payment-verify", member.getId(), idempotencyKey, requestDto, String.class, () -> {
+            paymentService.verifyPayment(requestDto, member);
+            return "결제 검증이 성공적으로 완료되었습니다.";
+        });
+        return ResponseEntity.ok(message);
     }
 
+    /**
+     * 아임포트 웹훅 (인증 없음). 대기열에 넣기만 하고 바로 응답한다. 실제 상태는 워커가 아임포트에 다시 조회해서 반영.
+     * 대기열이 가득 차면 503 → 아임포트가 나중에 다시 보낸다.
+     */
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveWebhook(@RequestBody IamportWebhookDto webhook) {
+        if (!webhookProcessor.enqueue(webhook)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().build();
+    }
 }
@@ -0,0 +1,25 @@
+package yw.monsterInc.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 아임포트 웹훅 본문. 값은 믿지 않고 처리할 때 아임포트 API로 다시 조회한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class IamportWebhookDto {
+
+    @JsonProperty("imp_uid")
+    private String impUid;      // 아임포트 결제 고유번호
+
+    @JsonProperty("merchant_uid")
+    private String merchantUid; // 우리 시스템의 주문번호
+
+    private String status;      // ready, paid, failed, cancelled
+}
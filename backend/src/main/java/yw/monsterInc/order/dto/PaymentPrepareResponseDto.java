@@ -1,11 +1,16 @@
 package yw.monsterInc.order.dto;
 
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // 중복 요청에 저장된 응답을 돌려줄 때 역직렬화용
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class PaymentPrepareResponseDto {
     private String merchantUid; // 우리가 생성한 고유 주문 번호
     private String productName; // 결제창에 표시될 상품명
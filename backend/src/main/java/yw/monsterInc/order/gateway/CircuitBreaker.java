@@ -0,0 +1,119 @@
+package yw.monsterInc.order.gateway;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 N건 실패율 기반 서킷 브레이커.
+ * CLOSED: 정상 호출, 실패율이 임계치를 넘으면 OPEN
+ * OPEN: openDuration 동안 바로 거절, 지나면 HALF_OPEN
+ * HALF_OPEN: 시험 호출 한 건만 통과시켜서 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window; // true = 실패
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int index;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRatePercent, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, Duration openDuration, LongSupplier clock) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * 호출해도 되는지. true를 받았으면 반드시 onSuccess/onFailure/release 중 하나를 불러야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            state = State.CLOSED;
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (calls >= minimumCalls && failures * 100 >= failureRatePercent * calls) {
+            open();
+        }
+    }
+
+    /**
+     * 허가를 받았지만 실제로 호출하지 않은 경우 (bulkhead 거절 등). 결과를 기록하지 않고 HALF_OPEN 시험 호출 자리만 돌려준다.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[index]) {
+                failures--; // 가장 오래된 결과를 밀어낸다
+            }
+        } else {
+            calls++;
+        }
+        window[index] = failed;
+        if (failed) {
+            failures++;
+        }
+        index = (index + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        trialInFlight = false;
+        reset();
+    }
+
+    private void reset() {
+        index = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
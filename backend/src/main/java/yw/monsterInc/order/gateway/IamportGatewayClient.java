@@ -0,0 +1,348 @@
+package yw.monsterInc.order.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 아임포트 REST API 클라이언트.
+ * - HTTP: JDK HttpClient 하나를 공유해서 keep-alive 커넥션을 재사용한다.
+ * - 토큰: 발급받은 access token을 만료 refresh-margin 전까지 재사용한다. (동시에 만료되면 한 번만 재발급)
+ * - 작업별 타임아웃(조회/취소), 동시 호출 한도(bulkhead), 서킷 브레이커
+ * - 작업별 지연 시간 히스토그램: iamport.gateway.requests{operation, outcome}
+ */
+@Slf4j
+@Component
+public class IamportGatewayClient {
+
+    private static final String LOOKUP = "lookup";
+    private static final String LOOKUP_MANY = "lookup_many";
+    private static final String FIND = "find";
+    private static final String CANCEL = "cancel";
+    private static final String TOKEN = "token";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    private final String apiKey;
+    private final String apiSecret;
+    private final Duration lookupTimeout;
+    private final Duration cancelTimeout;
+    private final Duration tokenTimeout;
+    private final Duration tokenRefreshMargin;
+    private final Semaphore bulkhead;
+    private final Duration bulkheadWait;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Object tokenLock = new Object();
+    private volatile AccessToken token;
+
+    public IamportGatewayClient(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${iamport.api.base-url:https://api.iamport.kr}") String baseUrl,
+                                @Value("${iamport.api.key}") String apiKey,
+                                @Value("${iamport.api.secret}") String apiSecret,
+                                @Value("${iamport.gateway.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${iamport.gateway.lookup-timeout:3s}") Duration lookupTimeout,
+                                @Value("${iamport.gateway.cancel-timeout:10s}") Duration cancelTimeout,
+                                @Value("${iamport.gateway.token-timeout:3s}") Duration tokenTimeout,
+                                @Value("${iamport.gateway.token-refresh-margin:60s}") Duration tokenRefreshMargin,
+                                @Value("${iamport.gateway.max-concurrent-calls:20}") int maxConcurrentCalls,
+                                @Value("${iamport.gateway.bulkhead-wait:100ms}") Duration bulkheadWait,
+                                @Value("${iamport.gateway.circuit.window-size:50}") int circuitWindowSize,
+                                @Value("${iamport.gateway.circuit.minimum-calls:10}") int circuitMinimumCalls,
+                                @Value("${iamport.gateway.circuit.failure-rate-percent:50}") int circuitFailureRate,
+                                @Value("${iamport.gateway.circuit.open-duration:30s}") Duration circuitOpenDuration) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        this.lookupTimeout = lookupTimeout;
+        this.cancelTimeout = cancelTimeout;
+        this.tokenTimeout = tokenTimeout;
+        this.tokenRefreshMargin = tokenRefreshMargin;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadWait = bulkheadWait;
+        this.circuitBreaker = new CircuitBreaker(circuitWindowSize, circuitMinimumCalls, circuitFailureRate, circuitOpenDuration);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // keep-alive 커넥션 풀 재사용
+                .connectTimeout(connectTimeout)
+                .build();
+
+        Gauge.builder("iamport.gateway.circuit.open", circuitBreaker, cb -> cb.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("서킷 브레이커가 열려 있으면 1")
+                .register(meterRegistry);
+        Gauge.builder("iamport.gateway.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    /**
+     * imp_uid로 결제 정보를 조회한다.
+     */
+    public IamportPayment getPayment(String impUid) {
+        return call(LOOKUP, lookupTimeout, accessToken -> HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/payments/" + URLEncoder.encode(impUid, StandardCharsets.UTF_8)))
+                .header("Authorization", accessToken)
+                .GET(), this::toPayment);
+    }
+
+    /**
+     * 여러 imp_uid를 한 번에 조회한다. (GET /payments?imp_uid[]=...) 아임포트에 없는 건은 결과에서 빠진다.
+     */
+    public List<IamportPayment> getPayments(Collection<String> impUids) {
+        if (impUids.isEmpty()) {
+            return List.of();
+        }
+        String query = impUids.stream()
+                .map(impUid -> "imp_uid%5B%5D=" + URLEncoder.encode(impUid, StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return call(LOOKUP_MANY, lookupTimeout, accessToken -> HttpRequest.newBuilder(URI.create(baseUrl + "/payments?" + query))
+                .header("Authorization", accessToken)
+                .GET(), response -> {
+            List<IamportPayment> payments = new ArrayList<>(response.size());
+            response.forEach(payment -> payments.add(toPayment(payment)));
+            return payments;
+        });
+    }
+
+    /**
+     * 주문번호로 가장 최근 결제 시도를 조회한다. (GET /payments/find/{merchant_uid}) 결제 창을 열지 않았으면 null
+     * imp_uid를 모르는 결제 대기 주문의 실제 상태를 확인할 때 쓴다.
+     */
+    public IamportPayment findPayment(String merchantUid) {
+        try {
+            return call(FIND, lookupTimeout, accessToken -> HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/payments/find/" + URLEncoder.encode(merchantUid, StandardCharsets.UTF_8)))
+                    .header("Authorization", accessToken)
+                    .GET(), this::toPayment);
+        } catch (IamportGatewayException e) {
+            if (e.getReason() == IamportGatewayException.Reason.NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 결제를 취소(환불)한다. checksum에 현재 취소 가능 금액을 넣어서 중복 환불을 막는다.
+     */
+    public IamportPayment cancelPayment(String impUid, BigDecimal checksum, String reason) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("imp_uid", impUid);
+        body.put("checksum", checksum);
+        body.put("reason", reason);
+        return call(CANCEL, cancelTimeout, accessToken -> HttpRequest.newBuilder(URI.create(baseUrl + "/payments/cancel"))
+                .header("Authorization", accessToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body))), this::toPayment);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T call(String operation, Duration timeout, Function<String, HttpRequest.Builder> request,
+                       Function<JsonNode, T> mapper) {
+        if (!circuitBreaker.tryAcquire()) {
+            record(operation, "circuit_open", 0);
+            throw new IamportGatewayException(IamportGatewayException.Reason.CIRCUIT_OPEN,
+                    "아임포트 호출 차단 중 (최근 실패 과다): " + operation);
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            circuitBreaker.release(); // 호출하지 않았으므로 결과로 세지 않는다 (HALF_OPEN 시험 호출 반납)
+            record(operation, "bulkhead_full", 0);
+            throw new IamportGatewayException(IamportGatewayException.Reason.BULKHEAD_FULL,
+                    "아임포트 동시 호출 한도 초과: " + operation);
+        }
+
+        long started = System.nanoTime();
+        try {
+            JsonNode response = send(request.apply(accessToken()).timeout(timeout).build());
+            if (isUnauthorized(response)) {
+                // 토큰이 서버에서 먼저 만료된 경우 한 번만 재발급해서 다시 시도
+                invalidateToken();
+                response = send(request.apply(accessToken()).timeout(timeout).build());
+            }
+            T result = mapper.apply(unwrap(response));
+            circuitBreaker.onSuccess();
+            record(operation, "success", System.nanoTime() - started);
+            return result;
+        } catch (IamportGatewayException e) {
+            // 아임포트가 정상적으로 "실패"/"없음" 응답을 준 경우는 장애가 아니므로 서킷에는 성공으로 센다.
+            if (e.getReason() == IamportGatewayException.Reason.API_ERROR
+                    || e.getReason() == IamportGatewayException.Reason.NOT_FOUND) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            record(operation, e.getReason().name().toLowerCase(), System.nanoTime() - started);
+            throw e;
+        } catch (RuntimeException e) {
+            // 토큰 발급/응답 매핑 중 예상 못 한 예외도 결과로 기록해야 HALF_OPEN 시험 호출 자리가 새지 않는다.
+            circuitBreaker.onFailure();
+            record(operation, "error", System.nanoTime() - started);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private String accessToken() {
+        AccessToken current = token;
+        if (current != null && current.isValid(tokenRefreshMargin)) {
+            return current.value;
+        }
+        synchronized (tokenLock) {
+            current = token;
+            if (current == null || !current.isValid(tokenRefreshMargin)) {
+                current = issueToken();
+                token = current;
+            }
+            return current.value;
+        }
+    }
+
+    private void invalidateToken() {
+        synchronized (tokenLock) {
+            token = null;
+        }
+    }
+
+    private AccessToken issueToken() {
+        long started = System.nanoTime();
+        Map<String, String> body = Map.of("imp_key", apiKey, "imp_secret", apiSecret);
+        try {
+            JsonNode response = unwrap(send(HttpRequest.newBuilder(URI.create(baseUrl + "/users/getToken"))
+                    .header("Content-Type", "application/json")
+                    .timeout(tokenTimeout)
+                    .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                    .build()));
+            // expired_at은 epoch 초. 서버 시각(now)과의 차이를 로컬 시각 기준 만료로 바꿔서 시계 차이를 없앤다.
+            long ttlSeconds = response.path("expired_at").asLong() - response.path("now").asLong();
+            record(TOKEN, "success", System.nanoTime() - started);
+            log.debug("아임포트 토큰 발급: ttl={}s", ttlSeconds);
+            return new AccessToken(response.path("access_token").asText(), System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        } catch (IamportGatewayException e) {
+            record(TOKEN, e.getReason().name().toLowerCase(), System.nanoTime() - started);
+            throw e;
+        }
+    }
+
+    private JsonNode send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode body = response.body() == null || response.body().isBlank()
+                    ? objectMapper.createObjectNode()
+                    : objectMapper.readTree(response.body());
+            if (response.statusCode() == 401) {
+                return objectMapper.createObjectNode().put("code", -1).put("status", 401);
+            }
+            if (response.statusCode() == 404) {
+                throw new IamportGatewayException(IamportGatewayException.Reason.NOT_FOUND,
+                        "아임포트 결제 정보 없음: " + body.path("message").asText(""));
+            }
+            if (response.statusCode() >= 500) {
+                throw new IamportGatewayException(IamportGatewayException.Reason.IO,
+                        "아임포트 서버 오류: status=" + response.statusCode());
+            }
+            return body;
+        } catch (HttpTimeoutException e) {
+            throw new IamportGatewayException(IamportGatewayException.Reason.TIMEOUT, "아임포트 응답 시간 초과", e);
+        } catch (JsonProcessingException e) {
+            throw new IamportGatewayException(IamportGatewayException.Reason.IO, "아임포트 응답 파싱 실패", e);
+        } catch (IOException e) {
+            throw new IamportGatewayException(IamportGatewayException.Reason.IO, "아임포트 연결 실패: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IamportGatewayException(IamportGatewayException.Reason.IO, "아임포트 호출 중단", e);
+        }
+    }
+
+    private static boolean isUnauthorized(JsonNode response) {
+        return response.path("status").asInt() == 401;
+    }
+
+    // { code, message, response } 중 response만 꺼낸다. code != 0이면 API 오류
+    private JsonNode unwrap(JsonNode body) {
+        if (body.path("code").asInt(-1) != 0) {
+            throw new IamportGatewayException(IamportGatewayException.Reason.API_ERROR,
+                    "아임포트 API 오류: " + body.path("message").asText("status=" + body.path("status").asText()));
+        }
+        return body.path("response");
+    }
+
+    private IamportPayment toPayment(JsonNode response) {
+        return new IamportPayment(
+                response.path("imp_uid").asText(null),
+                response.path("merchant_uid").asText(null),
+                response.hasNonNull("amount") ? response.get("amount").decimalValue() : null,
+                response.path("status").asText(null));
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void record(String operation, String outcome, long nanos) {
+        Timer.builder("iamport.gateway.requests")
+                .description("아임포트 API 호출 시간")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class AccessToken {
+        private final String value;
+        private final long expiresAtNanos;
+
+        private AccessToken(String value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isValid(Duration margin) {
+            return System.nanoTime() < expiresAtNanos - margin.toNanos();
+        }
+    }
+}
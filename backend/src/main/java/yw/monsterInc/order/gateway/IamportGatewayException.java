@@ -0,0 +1,31 @@
+package yw.monsterInc.order.gateway;
+
+import lombok.Getter;
+
+/**
+ * 아임포트 호출 실패. reason으로 재시도해도 되는 실패인지 구분한다.
+ */
+@Getter
+public class IamportGatewayException extends RuntimeException {
+
+    public enum Reason {
+        TIMEOUT,        // 응답 시간 초과
+        IO,             // 연결 실패 등
+        BULKHEAD_FULL,  // 동시 호출 한도 초과 (바로 거절)
+        CIRCUIT_OPEN,   // 최근 실패가 많아 호출 차단 중
+        API_ERROR,      // 아임포트가 code != 0 또는 4xx/5xx로 응답
+        NOT_FOUND       // 조회한 결제가 없음 (404)
+    }
+
+    private final Reason reason;
+
+    public IamportGatewayException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public IamportGatewayException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,18 @@
+package yw.monsterInc.order.gateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 아임포트 결제 조회 결과 중 우리가 쓰는 값만 담은 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class IamportPayment {
+    private String impUid;
+    private String merchantUid;
+    private BigDecimal amount;
+    private String status; // ready, paid, cancelled, failed
+}
@@ -4,9 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import yw.monsterInc.member.entity.Member;
+import yw.monsterInc.order.constant.OrderStatus;
 import yw.monsterInc.order.entity.Order;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByOrderMemberOrderByRegTimeDesc(Member member);
@@ -20,4 +22,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             "WHERE o.orderMember = :member " +
             "ORDER BY o.regTime DESC")
     List<Order> findByOrderMemberWithDetails(@Param("member") Member member);
+
+    // 인기 조합 스케치 초기 구축용 (상품 ID, 주문한 옵션의 델타 해시)
+    @Query("SELECT so.mon.id, c.contentHash FROM Order o " +
+            "JOIN o.orderOption so " +
+            "LEFT JOIN so.materialConfig c " +
+            "WHERE o.orderStatus = :status")
+    Stream<Object[]> streamMaterialHashesByStatus(@Param("status") OrderStatus status);
 }
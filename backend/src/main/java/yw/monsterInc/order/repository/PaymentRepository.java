@@ -1,6 +1,7 @@
 package yw.monsterInc.order.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import yw.monsterInc.order.constant.PaymentStatus;
@@ -8,6 +9,7 @@ import yw.monsterInc.order.constant.PaymentType;
 import yw.monsterInc.order.entity.Payment;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     Optional<Payment> findByMerchantUid(String merchantUid);
 
+    /**
+     * 여러 merchantUid의 결제 정보를 한 번에 조회합니다. (재고 예약 만료 정리용)
+     */
+    List<Payment> findByMerchantUidIn(Collection<String> merchantUids);
+
     /**
      * customerUid로 정기결제 정보를 조회합니다.
      */
@@ -69,4 +76,36 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * 중복 주문 방지를 위한 merchantUid 존재 여부 확인
      */
     boolean existsByMerchantUid(String merchantUid);
+
+    /**
+     * 결제 완료 조건부 전이. PENDING일 때만 COMPLETED로 바꾸고, 바뀐 행 수를 반환한다. (0이면 이미 처리됨)
+     * 행 락을 먼저 잡지 않고 UPDATE 한 문장으로 동시 검증 요청 중 하나만 통과시킨다.
+     * (웹훅 일괄 처리처럼 한 트랜잭션에서 여러 건을 바꿀 때 앞서 바꾼 엔티티가 clear로 버려지지 않도록 먼저 flush)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = yw.monsterInc.order.constant.PaymentStatus.COMPLETED, " +
+            "p.impUid = :impUid, p.paymentDate = :paidAt " +
+            "WHERE p.merchantUid = :merchantUid AND p.paymentStatus = yw.monsterInc.order.constant.PaymentStatus.PENDING")
+    int completeIfPending(@Param("merchantUid") String merchantUid,
+                          @Param("impUid") String impUid,
+                          @Param("paidAt") LocalDateTime paidAt);
+
+    /**
+     * 결제 실패 조건부 전이. PENDING일 때만 FAILED로 바꾼다. (0이면 이미 처리됨)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = yw.monsterInc.order.constant.PaymentStatus.FAILED, " +
+            "p.impUid = :impUid, p.failureReason = :reason " +
+            "WHERE p.merchantUid = :merchantUid AND p.paymentStatus = yw.monsterInc.order.constant.PaymentStatus.PENDING")
+    int failIfPending(@Param("merchantUid") String merchantUid,
+                      @Param("impUid") String impUid,
+                      @Param("reason") String reason);
+
+    /**
+     * 결제 취소 조건부 전이. COMPLETED일 때만 CANCELLED로 바꾼다. (0이면 이미 처리됨)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = yw.monsterInc.order.constant.PaymentStatus.CANCELLED " +
+            "WHERE p.merchantUid = :merchantUid AND p.paymentStatus = yw.monsterInc.order.constant.PaymentStatus.COMPLETED")
+    int cancelIfCompleted(@Param("merchantUid") String merchantUid);
 }
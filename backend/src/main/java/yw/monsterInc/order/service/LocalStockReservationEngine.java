@@ -0,0 +1,123 @@
+package yw.monsterInc.order.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 단일 노드용 재고 예약. 항목별 AtomicInteger를 CAS로 차감한다. (락 없음)
+ * 재시작하면 카운터와 진행 중인 예약이 사라지고, 다음 예약 때 DB 재고로 다시 초기화된다.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.reservation.mode", havingValue = "local")
+public class LocalStockReservationEngine implements StockReservationEngine {
+
+    private final Map<String, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    @Override
+    public Result reserve(String reservationId, Map<String, Integer> quantities, long expiresAtMillis) {
+        if (reservations.containsKey(reservationId)) {
+            return Result.reserved();
+        }
+        for (String item : quantities.keySet()) {
+            if (!available.containsKey(item)) {
+                return Result.uninitialized(item);
+            }
+        }
+
+        List<String> taken = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            if (!tryDecrement(available.get(entry.getKey()), entry.getValue())) {
+                // 앞에서 차감한 항목을 되돌린다. (전부 아니면 전무)
+                taken.forEach(item -> available.get(item).addAndGet(quantities.get(item)));
+                return Result.insufficient(entry.getKey());
+            }
+            taken.add(entry.getKey());
+        }
+        if (reservations.putIfAbsent(reservationId, new Reservation(Map.copyOf(quantities), expiresAtMillis)) != null) {
+            // 같은 ID로 동시에 들어온 요청이 먼저 기록했다 → 이번 차감은 되돌린다.
+            quantities.forEach((item, quantity) -> available.get(item).addAndGet(quantity));
+        }
+        return Result.reserved();
+    }
+
+    private static boolean tryDecrement(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void initialize(String item, int stock) {
+        available.putIfAbsent(item, new AtomicInteger(stock));
+    }
+
+    @Override
+    public boolean isReserved(String reservationId) {
+        return reservations.containsKey(reservationId);
+    }
+
+    @Override
+    public boolean confirm(String reservationId) {
+        return reservations.remove(reservationId) != null;
+    }
+
+    @Override
+    public boolean release(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        reservation.quantities.forEach((item, quantity) -> {
+            AtomicInteger counter = available.get(item);
+            if (counter != null) {
+                counter.addAndGet(quantity);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public List<String> findExpired(long nowMillis, int limit) {
+        return reservations.entrySet().stream()
+                .filter(entry -> entry.getValue().expiresAtMillis <= nowMillis)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Override
+    public void adjust(String item, int delta) {
+        AtomicInteger counter = available.get(item);
+        if (counter != null) {
+            counter.addAndGet(delta);
+        }
+    }
+
+    @Override
+    public void reset(String item) {
+        available.remove(item);
+    }
+
+    private static final class Reservation {
+        private final Map<String, Integer> quantities;
+        private final long expiresAtMillis;
+
+        private Reservation(Map<String, Integer> quantities, long expiresAtMillis) {
+            this.quantities = quantities;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
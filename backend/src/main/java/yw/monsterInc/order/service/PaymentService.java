@@ -5,18 +5,23 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.event.ConfigurationChosenEvent;
 import yw.monsterInc.Product.repository.SaveOptionRepository;
+import yw.monsterInc.global.exception.CustomException;
 import yw.monsterInc.member.entity.Member;
 import yw.monsterInc.notification.constant.NotificationCategory;
 import yw.monsterInc.notification.dto.PaymentNotificationRequest;
 import yw.monsterInc.order.constant.OrderStatus;
+import yw.monsterInc.order.constant.PaymentCompletion;
 import yw.monsterInc.order.constant.PaymentStatus;
 import yw.monsterInc.order.constant.PaymentType;
 import yw.monsterInc.order.dto.PaymentPrepareRequestDto;
@@ -27,6 +32,8 @@ import yw.monsterInc.order.repository.OrderRepository;
 import yw.monsterInc.order.repository.PaymentRepository;
 import yw.monsterInc.notification.service.NotificationService;
 import yw.monsterInc.order.entity.Order;
+import yw.monsterInc.order.gateway.IamportGatewayException;
+import yw.monsterInc.order.gateway.IamportPayment;
 import yw.monsterInc.member.Repository.MemberRepository;
 
 import static java.rmi.server.LogStream.log;
@@ -38,6 +45,9 @@ import static java.rmi.server.LogStream.log;
 @RequiredArgsConstructor
 public class PaymentService {
 
+    public static final String UNFULFILLED_REFUND_REASON = "주문 처리 불가 (결제 시간 초과 또는 재고 소진)";
+    private static final String SOLD_OUT_REASON = "결제 중 재고가 소진되었습니다.";
+
     private final PaymentRepository paymentRepository;
     private final NotificationService notificationService;
     private final MemberRepository memberRepository;
@@ -45,6 +55,9 @@ public class PaymentService {
     private final SaveOptionRepository saveOptionRepository;
     private final IamportService iamportService;
     private final PaymentTransactionService paymentTransactionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockService stockService;
+    private final TransactionTemplate transactionTemplate;
 
     public PaymentPrepareResponseDto preparePayment(PaymentPrepareRequestDto requestDto, Member member) {
         return paymentTransactionService.preparePayment(requestDto, member);
@@ -58,9 +71,11 @@ public class PaymentService {
         Payment payment = paymentRepository.findByImpUid(impUid)
                 .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + impUid));
 
+        stockService.confirm(payment.getMerchantUid(), payment.getOrder().getOrderOption());
         payment.complete();
         payment.getOrder().complete();
         paymentRepository.save(payment);
+        publishConfigurationChosen(payment.getOrder());
 
         PaymentService.log.info("결제 완료: impUid={}, amount={}", impUid, payment.getAmount());
         return payment;
@@ -76,6 +91,7 @@ public class PaymentService {
         payment.fail(failureReason);
         payment.getOrder().fail();
         paymentRepository.save(payment);
+        stockService.release(payment.getMerchantUid());
 
         // 결제 실패 알림 전송
         sendPaymentFailureNotification(payment, failureReason);
@@ -94,6 +110,7 @@ public class PaymentService {
         payment.cancel();
         payment.getOrder().cancel();
         paymentRepository.save(payment);
+        stockService.release(payment.getMerchantUid());
 
         // 결제 취소 알림 전송
         sendPaymentCancellationNotification(payment);
@@ -148,7 +165,7 @@ public class PaymentService {
                 notificationDto.setPaymentMethod(paymentMethod);
                 notificationDto.setOrderId(payment.getOrder().getId().toString());
 
-                // 실시간 알림 전송
+                // 실시간 알림 전송 (아웃박스에 적재 → 커밋 후 릴레이가 전송)
                 notificationService.sendPaymentNotification(notificationDto);
 
                 // DB에 알림 저장
@@ -185,7 +202,7 @@ public class PaymentService {
                 notificationDto.setPaymentMethod(paymentMethod);
                 notificationDto.setOrderId(payment.getOrder().getId().toString());
 
-                // 실시간 알림 전송
+                // 실시간 알림 전송 (아웃박스에 적재 → 커밋 후 릴레이가 전송)
                 notificationService.sendPaymentNotification(notificationDto);
 
                 // DB에 알림 저장
@@ -223,7 +240,7 @@ public class PaymentService {
                 notificationDto.setPaymentMethod(paymentMethod);
                 notificationDto.setOrderId(payment.getOrder().getId().toString());
 
-                // 실시간 알림 전송
+                // 실시간 알림 전송 (아웃박스에 적재 → 커밋 후 릴레이가 전송)
                 notificationService.sendPaymentNotification(notificationDto);
 
                 // DB에 알림 저장
@@ -255,51 +272,182 @@ public class PaymentService {
 
     /**
      * 결제를 검증하고 최종 처리합니다.
+     * 아임포트 조회는 느릴 수 있으므로 DB 트랜잭션 밖에서 호출하고, 앞뒤를 짧은 트랜잭션 두 개로 나눈다.
+     * (외부 호출 동안 커넥션 풀의 커넥션을 붙잡고 있지 않도록)
+     *   1단계: 읽기 트랜잭션 - 주문 확인, 기대 금액 조회
+     *   2단계: 트랜잭션 없음 - 아임포트 결제 정보 조회 (이미 실패한 주문에 결제가 됐으면 환불)
+     *   3단계: 쓰기 트랜잭션 - PENDING → COMPLETED 조건부 전이 + 재고 확정 (재고가 없으면 실패 처리 후 트랜잭션 밖에서 환불)
      * @param requestDto (impUid, merchantUid 포함)
      * @param member (현재 로그인한 사용자)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void verifyPayment(PaymentVerifyRequestDto requestDto, Member member) {
-        System.out.println("MarId 뭐 그런거 ::::: "+requestDto.getMerchantUid());
-        // 1. 우리 DB에서 주문 정보 조회
-        // findByMerchantUid는 Optional<Payment>를 반환하므로 .orElseThrow()로 예외 처리
-        Payment payment = paymentRepository.findByMerchantUid(requestDto.getMerchantUid())
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+        String impUid = requestDto.getImpUid();
+        String merchantUid = requestDto.getMerchantUid();
 
-        // 2. 주문한 사용자가 맞는지 확인 (선택적이지만 보안상 좋음)
-        if (!payment.getOrder().getOrderMember().getId().equals(member.getId())) {
-            throw new SecurityException("주문 정보에 접근할 권한이 없습니다.");
+        // 1. 우리 DB에서 주문 정보 조회 (짧은 읽기 트랜잭션)
+        Payment payment = transactionTemplate.execute(status -> {
+            Payment found = paymentRepository.findByMerchantUid(merchantUid)
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+
+            // 2. 주문한 사용자가 맞는지 확인 (선택적이지만 보안상 좋음)
+            if (!found.getOrder().getOrderMember().getId().equals(member.getId())) {
+                throw new SecurityException("주문 정보에 접근할 권한이 없습니다.");
+            }
+            return found;
+        });
+        if (payment.getPaymentStatus() == PaymentStatus.COMPLETED && impUid.equals(payment.getImpUid())) {
+            PaymentService.log.info("이미 검증된 결제 재요청: impUid={}, merchantUid={}", impUid, merchantUid);
+            return; // 같은 결제의 재요청 → 이미 끝난 처리
+        }
+        // FAILED는 결제 창에 머무는 사이 예약 만료로 실패 처리된 주문일 수 있으므로 아임포트 상태를 보고 판단한다.
+        if (payment.getPaymentStatus() != PaymentStatus.PENDING && payment.getPaymentStatus() != PaymentStatus.FAILED) {
+            throw new CustomException("이미 처리된 주문입니다.", 409);
         }
 
-        // 3. IamportService를 통해 아임포트 서버의 실제 결제 정보 조회
-        com.siot.IamportRestClient.response.Payment iamportPayment = iamportService.getPaymentInfoByImpUid(requestDto.getImpUid());
+        // 3. IamportService를 통해 아임포트 서버의 실제 결제 정보 조회 (트랜잭션/커넥션 없이)
+        IamportPayment iamportPayment = iamportService.getPaymentInfoByImpUid(impUid);
+
+        // 다른 주문의 impUid를 가져다 붙이는 경우 방지
+        if (iamportPayment.getMerchantUid() != null && !merchantUid.equals(iamportPayment.getMerchantUid())) {
+            PaymentService.log.error("주문번호 불일치: merchantUid={}, iamport={}, impUid={}",
+                    merchantUid, iamportPayment.getMerchantUid(), impUid);
+            throw new IllegalStateException("결제 정보가 주문과 일치하지 않습니다.");
+        }
+        if (payment.getPaymentStatus() == PaymentStatus.FAILED) {
+            // 이미 실패한 주문에 결제가 됐다면 상품을 줄 수 없으므로 환불한다. (실패하면 웹훅 처리에서 다시 시도)
+            if ("paid".equals(iamportPayment.getStatus()) && merchantUid.equals(iamportPayment.getMerchantUid())) {
+                refundUnfulfilledPayment(iamportPayment, UNFULFILLED_REFUND_REASON);
+                throw new CustomException("결제 시간이 지나 주문이 취소되었습니다. 결제 금액은 환불됩니다.", 409);
+            }
+            throw new CustomException("이미 처리된 주문입니다.", 409);
+        }
 
         // 4. DB에 저장된 금액과 아임포트 서버의 실제 결제 금액 비교
+        if (iamportPayment.getAmount() == null) {
+            throw new IllegalStateException("아임포트 결제 금액을 확인할 수 없습니다.");
+        }
         Long expectedAmount = payment.getAmount(); // DB에 기록된 결제되어야 할 금액
         Long actualAmount = iamportPayment.getAmount().longValue(); // 아임포트 서버에 기록된 실제 결제된 금액
-
         if (!expectedAmount.equals(actualAmount)) {
             // 결제 금액이 위변조된 경우
             PaymentService.log.error("결제 금액 위변조 시도: expected={}, actual={}, impUid={}",
-                    expectedAmount, actualAmount, requestDto.getImpUid());
+                    expectedAmount, actualAmount, impUid);
             // TODO: 결제 취소 로직을 여기에 추가할 수도 있음 (iamportService.cancelPayment(...))
             throw new IllegalStateException("결제 금액이 일치하지 않습니다.");
         }
 
-        // 5. 모든 검증 통과! 결제 완료 처리
-        PaymentService.log.info("결제 검증 성공! impUid={}, merchantUid={}", requestDto.getImpUid(), requestDto.getMerchantUid());
+        // 5. 모든 검증 통과! 결제 완료 처리 (짧은 쓰기 트랜잭션)
+        PaymentCompletion completion = transactionTemplate.execute(status -> completeVerifiedPayment(merchantUid, impUid));
+        if (completion == PaymentCompletion.ALREADY_PROCESSED) {
+            // 그 사이 같은 주문의 다른 검증 요청(또는 웹훅)이 먼저 끝났으면 두 번 처리하지 않는다.
+            PaymentService.log.info("동시 검증 요청이 먼저 처리됨: impUid={}, merchantUid={}", impUid, merchantUid);
+        } else if (completion == PaymentCompletion.SOLD_OUT) {
+            // 6. 커밋 후(커넥션 반납 후) 환불. 실패하면 웹훅 처리에서 다시 시도한다.
+            refundUnfulfilledPayment(iamportPayment, UNFULFILLED_REFUND_REASON);
+            throw new CustomException("재고가 소진되어 주문이 취소되었습니다. 결제 금액은 환불됩니다.", 409);
+        }
+    }
 
-        // 형이 이미 만들어둔 completePayment 메서드를 재활용하자.
-        // 이 메서드는 Payment와 Order 상태를 COMPLETED로 변경해 줄 거야.
-        // 단, completePayment가 impUid를 받으니, Payment 객체를 업데이트하고 저장하는 로직으로 변경
-        payment.complete(); // Payment 상태를 COMPLETED로 변경
-        payment.setImpUid(requestDto.getImpUid()); // 성공한 impUid를 기록
+    /**
+     * 아임포트 조회로 금액까지 확인된 결제를 완료 처리합니다. (호출하는 쪽 트랜잭션 안에서 실행)
+     * 예약이 만료된 사이 품절돼서 재고를 확정하지 못하면 주문을 실패로 돌리고 SOLD_OUT을 반환한다.
+     * 이때 환불(아임포트 호출)은 호출하는 쪽이 트랜잭션이 끝난 뒤 refundUnfulfilledPayment로 한다.
+     */
+    public PaymentCompletion completeVerifiedPayment(String merchantUid, String impUid) {
+        if (paymentRepository.completeIfPending(merchantUid, impUid, LocalDateTime.now()) == 0) {
+            return PaymentCompletion.ALREADY_PROCESSED;
+        }
+        Payment payment = paymentRepository.findByMerchantUid(merchantUid)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+
+        // 결제 확정 전에 예약해 둔 재고 확정
+        try {
+            stockService.confirm(merchantUid, payment.getOrder().getOrderOption());
+        } catch (CustomException e) {
+            if (e.getStatus() != 409) {
+                throw e;
+            }
+            // 방금 조건부 UPDATE로 이 행을 잡고 있으므로 엔티티로 바꿔도 다른 전이와 겹치지 않는다.
+            payment.fail(SOLD_OUT_REASON);
+            payment.getOrder().fail();
+            sendPaymentFailureNotification(payment, SOLD_OUT_REASON);
+            PaymentService.log.error("결제는 완료됐지만 재고가 없어 주문을 실패 처리합니다. 환불 진행: impUid={}, merchantUid={}",
+                    impUid, merchantUid);
+            return PaymentCompletion.SOLD_OUT;
+        }
         payment.getOrder().complete(); // Order 상태를 COMPLETED로 변경
+        publishConfigurationChosen(payment.getOrder());
 
-        paymentRepository.save(payment);
+        PaymentService.log.info("결제 검증 성공! impUid={}, merchantUid={}", impUid, merchantUid);
 
         // 결제 성공 알림 전송
         sendPaymentSuccessNotification(payment);
+        return PaymentCompletion.COMPLETED;
+    }
+
+    /**
+     * 아임포트에서 실패로 확인된 결제(PENDING)를 실패 처리하고 재고 예약을 푼다. (호출하는 쪽 트랜잭션 안에서 실행)
+     */
+    public boolean failPendingPayment(String merchantUid, String impUid, String failureReason) {
+        if (paymentRepository.failIfPending(merchantUid, impUid, failureReason) == 0) {
+            return false;
+        }
+        Payment payment = paymentRepository.findByMerchantUid(merchantUid)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+        payment.getOrder().fail();
+        stockService.release(merchantUid);
+        sendPaymentFailureNotification(payment, failureReason);
+
+        PaymentService.log.warn("결제 실패: impUid={}, merchantUid={}, reason={}", impUid, merchantUid, failureReason);
+        return true;
+    }
+
+    /**
+     * 아임포트에서 취소로 확인된 결제(COMPLETED)를 취소 처리합니다. (관리자 콘솔 환불 등, 호출하는 쪽 트랜잭션 안에서 실행)
+     */
+    public boolean cancelCompletedPayment(String merchantUid) {
+        if (paymentRepository.cancelIfCompleted(merchantUid) == 0) {
+            return false;
+        }
+        Payment payment = paymentRepository.findByMerchantUid(merchantUid)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+        payment.getOrder().cancel();
+        sendPaymentCancellationNotification(payment);
+
+        PaymentService.log.info("결제 취소: impUid={}, merchantUid={}", payment.getImpUid(), merchantUid);
+        return true;
+    }
+
+    /**
+     * 이미 실패한 주문(결제 시간 초과 등)에 뒤늦게 들어온 결제를 환불합니다. 외부 호출이므로 DB 트랜잭션 밖에서 호출한다.
+     * @return 환불 요청이 성공했으면 true, 실패했으면 false (호출하는 쪽에서 다시 시도)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean refundUnfulfilledPayment(IamportPayment iamportPayment, String reason) {
+        if (iamportPayment.getAmount() == null) {
+            PaymentService.log.error("환불할 결제 금액을 확인할 수 없습니다. 수동 환불 필요: impUid={}, merchantUid={}",
+                    iamportPayment.getImpUid(), iamportPayment.getMerchantUid());
+            return false;
+        }
+        try {
+            iamportService.cancelPaymentByImpUid(iamportPayment.getImpUid(), iamportPayment.getAmount().longValue(), reason);
+        } catch (IamportGatewayException e) {
+            PaymentService.log.error("자동 환불 실패: impUid={}, merchantUid={}, reason={}",
+                    iamportPayment.getImpUid(), iamportPayment.getMerchantUid(), e.getReason());
+            return false;
+        }
+        PaymentService.log.warn("처리할 수 없는 주문의 결제를 환불했습니다: impUid={}, merchantUid={}, amount={}, reason={}",
+                iamportPayment.getImpUid(), iamportPayment.getMerchantUid(), iamportPayment.getAmount(), reason);
+        return true;
+    }
+
+    // 주문 완료된 재질 조합을 인기 조합 집계에 반영한다. (커밋 후 처리)
+    private void publishConfigurationChosen(Order order) {
+        SaveOption option = order.getOrderOption();
+        if (option != null) {
+            eventPublisher.publishEvent(new ConfigurationChosenEvent(option.getMon().getId(), option.getMaterialHash(), true));
+        }
     }
 
 }
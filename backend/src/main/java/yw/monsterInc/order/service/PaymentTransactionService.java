@@ -5,10 +5,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import yw.monsterInc.Product.entity.Product;
 import yw.monsterInc.Product.entity.SaveOption;
-import yw.monsterInc.Product.repository.ProductRepository;
 import yw.monsterInc.Product.repository.SaveOptionRepository;
+import yw.monsterInc.Product.service.ProductService;
 import yw.monsterInc.member.entity.Member;
 import yw.monsterInc.order.constant.OrderStatus;
 import yw.monsterInc.order.constant.PaymentStatus;
@@ -21,7 +20,6 @@ import yw.monsterInc.order.repository.OrderRepository;
 import yw.monsterInc.order.repository.PaymentRepository;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 import java.util.UUID;
 @Service
 @RequiredArgsConstructor
@@ -30,15 +28,16 @@ public class PaymentTransactionService {
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final SaveOptionRepository saveOptionRepository;
-    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final StockService stockService;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public PaymentPrepareResponseDto preparePayment(PaymentPrepareRequestDto requestDto, Member member) {
         SaveOption saveOption = saveOptionRepository.findById(requestDto.getSaveOptionId())
                 .orElseThrow(() -> new IllegalArgumentException("해당 저장 옵션을 찾을 수 없습니다. id=" + requestDto.getSaveOptionId()));
 
-        Optional<Product> product = productRepository.findById(saveOption.getMon().getId());
-        int totalPrice = product.get().getBasePrice();
+        // 기본가 + 고른 옵션 가격 (커스터마이저 견적 API와 같은 계산)
+        int totalPrice = productService.quote(saveOption.getMon().getId(), saveOption.getSelectedOptions()).getTotalPrice();
         PaymentPrepareRequestDto.DeliveryInfoDto deliveryInfo = requestDto.getDeliveryInfo();
         Order order = Order.builder()
                 .orderMember(member)
@@ -57,6 +56,9 @@ public class PaymentTransactionService {
 
         String merchantUid = "ORD-" + UUID.randomUUID().toString().substring(0, 8) + "-" + order.getId();
 
+        // 재고 예약 (Redis/CAS 차감만, DB 행 락 없음). 부족하면 409로 실패하고 주문 INSERT도 롤백된다.
+        stockService.reserve(merchantUid, saveOption);
+
         // 형의 기존 createPayment 메서드를 재활용해서 Payment 생성
         this.createPayment(order, PaymentType.CARD, (long) totalPrice, null, merchantUid, null, null, null);
 
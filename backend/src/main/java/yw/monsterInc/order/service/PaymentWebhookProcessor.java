@@ -0,0 +1,343 @@
+package yw.monsterInc.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.order.constant.PaymentCompletion;
+import yw.monsterInc.order.constant.PaymentStatus;
+import yw.monsterInc.order.dto.IamportWebhookDto;
+import yw.monsterInc.order.entity.Payment;
+import yw.monsterInc.order.gateway.IamportGatewayException;
+import yw.monsterInc.order.gateway.IamportPayment;
+import yw.monsterInc.order.repository.PaymentRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 아임포트 웹훅 처리. 브라우저가 검증 요청을 못 보내고 닫혀도(탭 종료 등) 결제 상태가 맞춰지게 한다.
+ *   1. 수신: 메모리 대기열에 넣고 바로 응답 (같은 imp_uid는 하나로 합쳐서 마지막 것만 남김)
+ *   2. 워커: coalesce-window 동안 모았다가 batch-size 만큼 꺼내서 아임포트에 한 번에 조회 (웹훅 본문은 믿지 않음)
+ *   3. 조회된 실제 상태로 paid → 완료, failed → 실패, cancelled → 취소 전이를 한 트랜잭션에서 처리
+ *      (한 건 때문에 배치가 롤백되면 건별 트랜잭션으로 다시 처리)
+ *   4. 이미 실패한 주문(결제 시간 초과)에 들어왔거나 재고가 없어 완료하지 못한 paid 결제는 커밋 후 환불
+ * 전이는 모두 조건부 UPDATE라서 브라우저 검증, 다른 노드의 웹훅과 겹쳐도 한 번만 반영된다.
+ * 대기열은 노드 메모리에만 있으므로 재시작 직전에 받은 웹훅은 잃을 수 있다. (남은 PENDING은 재고 예약 만료 스윕이 정리)
+ */
+@Slf4j
+@Service
+public class PaymentWebhookProcessor {
+
+    private final PaymentService paymentService;
+    private final IamportService iamportService;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final int workers;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration coalesceWindow;
+    private final int maxAttempts;
+
+    // imp_uid -> 마지막으로 받은 웹훅 (삽입 순서 유지)
+    private final Map<String, WebhookEvent> pending = new LinkedHashMap<>();
+    // 지금 워커가 처리 중인 imp_uid (같은 결제를 두 워커가 동시에 처리하지 않도록)
+    private final Set<String> inFlight = new HashSet<>();
+    // 최근에 반영한 imp_uid -> 아임포트 상태. 같은 상태의 웹훅이 또 오면 조회 없이 버린다.
+    private final Cache<String, String> recentlyApplied;
+    private final Timer batchTimer;
+    private volatile boolean running = true;
+
+    public PaymentWebhookProcessor(PaymentService paymentService,
+                                   IamportService iamportService,
+                                   PaymentRepository paymentRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("paymentWebhookExecutor") ThreadPoolTaskExecutor executor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${payment.webhook.workers:2}") int workers,
+                                   @Value("${payment.webhook.queue-capacity:10000}") int capacity,
+                                   @Value("${payment.webhook.batch-size:50}") int batchSize,
+                                   @Value("${payment.webhook.coalesce-window:200ms}") Duration coalesceWindow,
+                                   @Value("${payment.webhook.max-attempts:5}") int maxAttempts,
+                                   @Value("${payment.webhook.dedupe-ttl:10m}") Duration dedupeTtl) {
+        this.paymentService = paymentService;
+        this.iamportService = iamportService;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.workers = workers;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.coalesceWindow = coalesceWindow;
+        this.maxAttempts = maxAttempts;
+        this.recentlyApplied = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(dedupeTtl)
+                .build();
+        this.batchTimer = Timer.builder("payment.webhook.batch")
+                .description("웹훅 한 배치 처리 시간 (아임포트 조회 + DB 반영)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.pending", this, PaymentWebhookProcessor::pendingSize).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        log.info("결제 웹훅 워커 시작: workers={}, batchSize={}, coalesceWindow={}", workers, batchSize, coalesceWindow);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        synchronized (pending) {
+            pending.notifyAll();
+        }
+    }
+
+    /**
+     * 웹훅을 대기열에 넣는다. 대기열이 가득 차면 false (아임포트가 나중에 다시 보내도록 503 응답)
+     */
+    public boolean enqueue(IamportWebhookDto webhook) {
+        String impUid = webhook.getImpUid();
+        if (impUid == null || impUid.isBlank()) {
+            count("invalid");
+            return true; // 다시 보내도 처리할 수 없으므로 그냥 받는다.
+        }
+        if (webhook.getStatus() != null && webhook.getStatus().equals(recentlyApplied.getIfPresent(impUid))) {
+            count("duplicate");
+            return true;
+        }
+        synchronized (pending) {
+            WebhookEvent previous = pending.get(impUid);
+            if (previous == null && pending.size() >= capacity) {
+                count("rejected");
+                return false;
+            }
+            // 이미 대기 중이면 합친다. (처리할 때 어차피 최신 상태를 조회하므로 순서만 유지)
+            pending.put(impUid, new WebhookEvent(impUid, previous != null ? previous.attempts : 0));
+            pending.notifyAll();
+            count(previous != null ? "coalesced" : "received");
+        }
+        return true;
+    }
+
+    int pendingSize() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private void work() {
+        while (running) {
+            List<WebhookEvent> batch;
+            try {
+                batch = takeBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                batchTimer.record(() -> process(batch));
+            } catch (RuntimeException e) {
+                log.error("결제 웹훅 배치 처리 중 예외: size={}", batch.size(), e);
+            } finally {
+                synchronized (pending) {
+                    batch.forEach(event -> inFlight.remove(event.impUid));
+                    pending.notifyAll();
+                }
+            }
+        }
+    }
+
+    // 대기열이 비어 있으면 기다리고, 배치가 덜 찼으면 coalesce-window 만큼 더 모은 뒤 꺼낸다.
+    private List<WebhookEvent> takeBatch() throws InterruptedException {
+        synchronized (pending) {
+            while (running && pending.isEmpty()) {
+                pending.wait();
+            }
+            long deadline = System.nanoTime() + coalesceWindow.toNanos();
+            long remaining;
+            while (running && pending.size() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(pending, remaining);
+            }
+            List<WebhookEvent> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<WebhookEvent> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                WebhookEvent event = iterator.next();
+                if (inFlight.add(event.impUid)) {
+                    iterator.remove();
+                    batch.add(event);
+                }
+            }
+            if (batch.isEmpty() && running) {
+                pending.wait(coalesceWindow.toMillis() + 1); // 남은 건 모두 다른 워커가 처리 중
+            }
+            return batch;
+        }
+    }
+
+    private void process(List<WebhookEvent> batch) {
+        // 1. 트랜잭션 없이 아임포트에 한 번에 조회
+        List<IamportPayment> payments;
+        try {
+            payments = iamportService.getPaymentInfosByImpUids(batch.stream().map(event -> event.impUid).toList());
+        } catch (IamportGatewayException e) {
+            retryLater(batch);
+            return;
+        }
+
+        // 2. 한 트랜잭션에서 반영. 실패하면 한 건씩 따로 반영해서 나머지는 살린다.
+        List<IamportPayment> refunds = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> payments.forEach(payment -> apply(payment, refunds)));
+            payments.forEach(this::markApplied);
+        } catch (RuntimeException e) {
+            log.warn("결제 웹훅 일괄 반영 실패, 건별로 다시 처리합니다: size={}, error={}", payments.size(), e.getMessage());
+            refunds.clear();
+            for (IamportPayment payment : payments) {
+                try {
+                    List<IamportPayment> refund = new ArrayList<>(1);
+                    transactionTemplate.executeWithoutResult(status -> apply(payment, refund));
+                    refunds.addAll(refund);
+                    markApplied(payment);
+                } catch (RuntimeException single) {
+                    count("failed");
+                    log.error("결제 웹훅 반영 실패: impUid={}, merchantUid={}, status={}",
+                            payment.getImpUid(), payment.getMerchantUid(), payment.getStatus(), single);
+                }
+            }
+        }
+
+        // 3. 환불은 트랜잭션이 끝난 뒤 아임포트에 요청한다. 실패한 건은 웹훅을 다시 처리해서 재시도
+        if (!refunds.isEmpty()) {
+            refund(refunds, batch);
+        }
+    }
+
+    // 아임포트 상태 기준 전이. 이미 처리된 주문이면 아무 일도 하지 않는다.
+    // 이미 실패한 주문(결제 시간 초과)에 결제가 들어왔거나 재고가 없어 완료하지 못하면 refunds에 담아서 커밋 후 환불한다.
+    private void apply(IamportPayment iamportPayment, List<IamportPayment> refunds) {
+        String merchantUid = iamportPayment.getMerchantUid();
+        Payment payment = merchantUid != null ? paymentRepository.findByMerchantUid(merchantUid).orElse(null) : null;
+        if (payment == null) {
+            count("unknown");
+            log.warn("웹훅 결제에 해당하는 주문이 없습니다: impUid={}, merchantUid={}", iamportPayment.getImpUid(), merchantUid);
+            return;
+        }
+        boolean changed = switch (String.valueOf(iamportPayment.getStatus())) {
+            case "paid" -> {
+                if (payment.getPaymentStatus() == PaymentStatus.FAILED) {
+                    refunds.add(iamportPayment);
+                    yield false;
+                }
+                if (payment.getPaymentStatus() != PaymentStatus.PENDING) {
+                    yield false;
+                }
+                if (iamportPayment.getAmount() == null || iamportPayment.getAmount().longValue() != payment.getAmount()) {
+                    log.error("웹훅 결제 금액 불일치: expected={}, actual={}, impUid={}",
+                            payment.getAmount(), iamportPayment.getAmount(), iamportPayment.getImpUid());
+                    count("amount_mismatch");
+                    yield false;
+                }
+                PaymentCompletion completion = paymentService.completeVerifiedPayment(merchantUid, iamportPayment.getImpUid());
+                if (completion == PaymentCompletion.SOLD_OUT) {
+                    refunds.add(iamportPayment);
+                }
+                yield completion != PaymentCompletion.ALREADY_PROCESSED;
+            }
+            case "failed" -> paymentService.failPendingPayment(merchantUid, iamportPayment.getImpUid(), "결제 실패 (아임포트 웹훅)");
+            case "cancelled" -> paymentService.cancelCompletedPayment(merchantUid);
+            default -> false; // ready(가상계좌 발급) 등은 아직 반영할 상태가 아니다.
+        };
+        count(changed ? "applied" : "noop");
+    }
+
+    private void refund(List<IamportPayment> refunds, List<WebhookEvent> batch) {
+        Set<String> failed = new HashSet<>();
+        for (IamportPayment payment : refunds) {
+            if (paymentService.refundUnfulfilledPayment(payment, PaymentService.UNFULFILLED_REFUND_REASON)) {
+                count("refunded");
+            } else {
+                failed.add(payment.getImpUid());
+            }
+        }
+        if (!failed.isEmpty()) {
+            retryLater(batch.stream().filter(event -> failed.contains(event.impUid)).toList());
+        }
+    }
+
+    private void markApplied(IamportPayment payment) {
+        if (payment.getImpUid() != null && payment.getStatus() != null) {
+            recentlyApplied.put(payment.getImpUid(), payment.getStatus());
+        }
+    }
+
+    // 아임포트 조회 실패: 시도 횟수를 올려서 대기열 뒤에 다시 넣는다. (그 사이 새 웹훅이 왔으면 그것을 따름)
+    private void retryLater(List<WebhookEvent> batch) {
+        synchronized (pending) {
+            for (WebhookEvent event : batch) {
+                if (event.attempts + 1 >= maxAttempts) {
+                    count("dropped");
+                    log.error("결제 웹훅 재시도 한도 초과, 버립니다: impUid={}", event.impUid);
+                } else {
+                    pending.putIfAbsent(event.impUid, new WebhookEvent(event.impUid, event.attempts + 1));
+                }
+            }
+        }
+        count("retried", batch.size());
+        sleepBackoff();
+    }
+
+    private void sleepBackoff() {
+        try {
+            Thread.sleep(Math.max(1000, coalesceWindow.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void count(String result) {
+        count(result, 1);
+    }
+
+    private void count(String result, int amount) {
+        meterRegistry.counter("payment.webhook.events", "result", result).increment(amount);
+    }
+
+    private static final class WebhookEvent {
+        private final String impUid;
+        private final int attempts;
+
+        private WebhookEvent(String impUid, int attempts) {
+            this.impUid = impUid;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package yw.monsterInc.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.order.constant.PaymentCompletion;
+import yw.monsterInc.order.constant.PaymentStatus;
+import yw.monsterInc.order.entity.Payment;
+import yw.monsterInc.order.gateway.IamportGatewayException;
+import yw.monsterInc.order.gateway.IamportPayment;
+import yw.monsterInc.order.repository.PaymentRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 예약이 만료된 결제 대기(PENDING) 주문 정리.
+ * 예약 시간이 지났다고 바로 실패 처리하면 그 사이 결제가 끝난 주문(브라우저 검증, 웹훅이 늦은 경우)까지 실패가 되므로
+ * 아임포트에 주문번호로 실제 상태를 조회한 뒤에 전이한다.
+ *   paid → 완료 (재고 확정, 예약이 풀렸으면 다시 예약. 그 사이 품절이면 실패 처리 후 환불) / ready(가상계좌 입금 대기) → 결제는 두고 재고만 해제
+ *   failed, cancelled, 결제 시도 없음 → 실패 (조건부 UPDATE라 같은 때 도착한 웹훅/검증과 겹쳐도 한 번만 반영)
+ * 아임포트 조회가 실패하면 이번 주기는 건너뛰고 다음 주기에 다시 본다.
+ */
+@Slf4j
+@Service
+public class PendingPaymentSweeper {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String EXPIRED_REASON = "결제 시간 초과로 재고 예약이 해제되었습니다.";
+
+    private final StockService stockService;
+    private final PaymentService paymentService;
+    private final IamportService iamportService;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PendingPaymentSweeper(StockService stockService,
+                                 PaymentService paymentService,
+                                 IamportService iamportService,
+                                 PaymentRepository paymentRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.stockService = stockService;
+        this.paymentService = paymentService;
+        this.iamportService = iamportService;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval-ms:30000}")
+    public void sweep() {
+        List<String> expired = stockService.findExpiredReservations(BATCH_SIZE);
+        if (expired.isEmpty()) {
+            return;
+        }
+        // 짧은 읽기 트랜잭션 한 번으로 주문 상태를 모은다. (아임포트 조회 동안 커넥션을 잡지 않도록)
+        Map<String, Payment> payments = transactionTemplate.execute(status ->
+                paymentRepository.findByMerchantUidIn(expired).stream()
+                        .collect(Collectors.toMap(Payment::getMerchantUid, Function.identity())));
+
+        for (String merchantUid : expired) {
+            Payment payment = payments.get(merchantUid);
+            if (payment != null && payment.getPaymentStatus() == PaymentStatus.COMPLETED) {
+                stockService.clearConfirmed(merchantUid); // 커밋 후 확정이 빠진 예약 (차감은 유지)
+                continue;
+            }
+            if (payment == null || payment.getPaymentStatus() != PaymentStatus.PENDING) {
+                stockService.release(merchantUid); // 이미 실패/취소된 주문의 남은 예약
+                continue;
+            }
+            IamportPayment iamportPayment;
+            try {
+                iamportPayment = iamportService.findPaymentByMerchantUid(merchantUid);
+            } catch (IamportGatewayException e) {
+                log.warn("아임포트 조회 실패로 만료 예약 정리를 다음 주기로 미룹니다: merchantUid={}, reason={}",
+                        merchantUid, e.getReason());
+                return;
+            }
+            try {
+                settle(payment, iamportPayment);
+            } catch (RuntimeException e) {
+                log.error("만료 예약 정리 실패: merchantUid={}", merchantUid, e);
+            }
+        }
+    }
+
+    private void settle(Payment payment, IamportPayment iamportPayment) {
+        String merchantUid = payment.getMerchantUid();
+        String status = iamportPayment != null ? String.valueOf(iamportPayment.getStatus()) : "none";
+        switch (status) {
+            case "paid" -> {
+                if (iamportPayment.getAmount() == null || iamportPayment.getAmount().longValue() != payment.getAmount()) {
+                    // 금액이 다르면 완료도 실패도 하지 않고 확인이 필요하도록 남긴다.
+                    log.error("만료 예약 정리 중 결제 금액 불일치: expected={}, actual={}, impUid={}, merchantUid={}",
+                            payment.getAmount(), iamportPayment.getAmount(), iamportPayment.getImpUid(), merchantUid);
+                    stockService.release(merchantUid);
+                    return;
+                }
+                PaymentCompletion completion = transactionTemplate.execute(tx ->
+                        paymentService.completeVerifiedPayment(merchantUid, iamportPayment.getImpUid()));
+                if (completion == PaymentCompletion.SOLD_OUT) {
+                    paymentService.refundUnfulfilledPayment(iamportPayment, PaymentService.UNFULFILLED_REFUND_REASON);
+                } else {
+                    log.info("만료 예약이지만 결제가 끝난 주문을 완료 처리했습니다: impUid={}, merchantUid={}",
+                            iamportPayment.getImpUid(), merchantUid);
+                }
+            }
+            // 입금되면 웹훅으로 완료되고, 그때 재고를 다시 예약한다.
+            case "ready" -> stockService.release(merchantUid);
+            default -> transactionTemplate.executeWithoutResult(tx -> {
+                String impUid = iamportPayment != null ? iamportPayment.getImpUid() : null;
+                if (!paymentService.failPendingPayment(merchantUid, impUid, EXPIRED_REASON)) {
+                    stockService.release(merchantUid); // 그 사이 다른 경로가 먼저 처리함
+                }
+            });
+        }
+    }
+}
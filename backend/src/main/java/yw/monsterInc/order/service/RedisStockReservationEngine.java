@@ -0,0 +1,135 @@
+package yw.monsterInc.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 기반 재고 예약. 확인 + 차감 + 예약 기록을 Lua 스크립트 하나로 처리해서 DB 락 없이 여러 노드에서 원자적으로 동작한다.
+ * 스크립트가 예약 해시 안의 재고 키를 직접 다루므로 단일 Redis(또는 sentinel) 구성을 전제로 한다. (cluster 미지원)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stock.reservation.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisStockReservationEngine implements StockReservationEngine {
+
+    private static final String STOCK_PREFIX = "stock:available:";
+    private static final String RESERVATION_PREFIX = "stock:reservation:";
+    private static final String EXPIRY_KEY = "stock:reservation-expiry"; // zset: 예약 ID -> 만료 시각(ms)
+
+    // KEYS: 재고 키..., 예약 해시, 만료 zset / ARGV: 수량..., 예약 ID, 만료 시각
+    // 반환: 0 성공, i(>0) i번째 재고 부족, -i i번째 카운터 없음
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>("""
+            local count = #KEYS - 2
+            if redis.call('EXISTS', KEYS[count + 1]) == 1 then return 0 end
+            for i = 1, count do
+              local available = redis.call('GET', KEYS[i])
+              if not available then return -i end
+              if tonumber(available) < tonumber(ARGV[i]) then return i end
+            end
+            for i = 1, count do
+              redis.call('DECRBY', KEYS[i], ARGV[i])
+              redis.call('HSET', KEYS[count + 1], KEYS[i], ARGV[i])
+            end
+            redis.call('ZADD', KEYS[count + 2], ARGV[count + 2], ARGV[count + 1])
+            return 0
+            """, Long.class);
+
+    // KEYS: 예약 해시, 만료 zset / ARGV: 예약 ID
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            local entries = redis.call('HGETALL', KEYS[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            if #entries == 0 then return 0 end
+            for i = 1, #entries, 2 do
+              if redis.call('EXISTS', entries[i]) == 1 then
+                redis.call('INCRBY', entries[i], entries[i + 1])
+              end
+            end
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> CONFIRM = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCRBY', KEYS[1], ARGV[1]) end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisStockReservationEngine(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Result reserve(String reservationId, Map<String, Integer> quantities, long expiresAtMillis) {
+        List<String> items = new ArrayList<>(quantities.keySet());
+        List<String> keys = new ArrayList<>(items.size() + 2);
+        List<String> args = new ArrayList<>(items.size() + 2);
+        for (String item : items) {
+            keys.add(STOCK_PREFIX + item);
+            args.add(String.valueOf(quantities.get(item)));
+        }
+        keys.add(RESERVATION_PREFIX + reservationId);
+        keys.add(EXPIRY_KEY);
+        args.add(reservationId);
+        args.add(String.valueOf(expiresAtMillis));
+
+        Long code = redisTemplate.execute(RESERVE, keys, args.toArray());
+        if (code == null || code == 0) {
+            return Result.reserved();
+        }
+        return code > 0 ? Result.insufficient(items.get((int) (code - 1)))
+                : Result.uninitialized(items.get((int) (-code - 1)));
+    }
+
+    @Override
+    public void initialize(String item, int stock) {
+        redisTemplate.opsForValue().setIfAbsent(STOCK_PREFIX + item, String.valueOf(stock));
+    }
+
+    @Override
+    public boolean isReserved(String reservationId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(RESERVATION_PREFIX + reservationId));
+    }
+
+    @Override
+    public boolean confirm(String reservationId) {
+        Long deleted = redisTemplate.execute(CONFIRM, List.of(RESERVATION_PREFIX + reservationId, EXPIRY_KEY), reservationId);
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public boolean release(String reservationId) {
+        Long released = redisTemplate.execute(RELEASE, List.of(RESERVATION_PREFIX + reservationId, EXPIRY_KEY), reservationId);
+        return released != null && released > 0;
+    }
+
+    @Override
+    public List<String> findExpired(long nowMillis, int limit) {
+        Set<String> expired = redisTemplate.opsForZSet().rangeByScore(EXPIRY_KEY, 0, nowMillis, 0, limit);
+        return expired != null ? List.copyOf(expired) : List.of();
+    }
+
+    @Override
+    public void adjust(String item, int delta) {
+        redisTemplate.execute(ADJUST, List.of(STOCK_PREFIX + item), String.valueOf(delta));
+    }
+
+    @Override
+    public void reset(String item) {
+        redisTemplate.delete(STOCK_PREFIX + item);
+    }
+}
@@ -0,0 +1,85 @@
+package yw.monsterInc.order.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고 예약 엔진. 결제 준비 시 재고를 원자적으로 차감(예약)하고, 결제 확정/실패/만료 때 확정 또는 되돌린다.
+ * 재고 키(item)는 StockService가 정한다. (product:{id}, option:{id})
+ * 구현: Redis(여러 노드, 기본) / 프로세스 내 CAS(단일 노드). stock.reservation.mode로 고른다.
+ */
+public interface StockReservationEngine {
+
+    /**
+     * 모든 항목을 한 번에 예약한다. 하나라도 부족하면 아무것도 차감하지 않는다.
+     * 같은 예약 ID로 다시 호출하면 이미 예약된 것으로 보고 성공을 돌려준다.
+     */
+    Result reserve(String reservationId, Map<String, Integer> quantities, long expiresAtMillis);
+
+    /**
+     * 아직 카운터가 없는 항목을 DB 재고로 초기화한다. 이미 있으면 그대로 둔다.
+     */
+    void initialize(String item, int stock);
+
+    /**
+     * 예약이 남아 있는지 (만료 시각이 지났어도 아직 해제되지 않았으면 true)
+     */
+    boolean isReserved(String reservationId);
+
+    /**
+     * 예약을 확정한다. (차감된 재고는 그대로 두고 예약 기록만 지움) 예약이 없으면(만료/해제됨) false
+     */
+    boolean confirm(String reservationId);
+
+    /**
+     * 예약을 취소하고 재고를 되돌린다. 이미 확정/해제된 예약이면 false
+     */
+    boolean release(String reservationId);
+
+    /**
+     * 만료 시각이 지난 예약 ID 목록
+     */
+    List<String> findExpired(long nowMillis, int limit);
+
+    /**
+     * 관리자가 재고를 바꿨을 때 카운터에 차이만큼 더한다. (카운터가 없으면 다음 예약 때 DB에서 읽으므로 무시)
+     */
+    void adjust(String item, int delta);
+
+    /**
+     * 카운터를 지운다. (재고 제한이 없어진 경우)
+     */
+    void reset(String item);
+
+    final class Result {
+        public enum Status { RESERVED, INSUFFICIENT, UNINITIALIZED }
+
+        private final Status status;
+        private final String item; // INSUFFICIENT / UNINITIALIZED 일 때 해당 항목
+
+        private Result(Status status, String item) {
+            this.status = status;
+            this.item = item;
+        }
+
+        public static Result reserved() {
+            return new Result(Status.RESERVED, null);
+        }
+
+        public static Result insufficient(String item) {
+            return new Result(Status.INSUFFICIENT, item);
+        }
+
+        public static Result uninitialized(String item) {
+            return new Result(Status.UNINITIALIZED, item);
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getItem() {
+            return item;
+        }
+    }
+}
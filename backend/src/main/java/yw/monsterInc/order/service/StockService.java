@@ -0,0 +1,217 @@
+package yw.monsterInc.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.event.ProductChangedEvent;
+import yw.monsterInc.Product.event.StockChangedEvent;
+import yw.monsterInc.Product.repository.OptionRepository;
+import yw.monsterInc.Product.repository.ProductRepository;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 흐름의 재고 예약/확정/해제.
+ * 결제 준비(prepare)에서는 StockReservationEngine으로만 차감하고 DB 행 락을 잡지 않는다.
+ * 결제가 확정되면 DB 재고를 조건부 UPDATE 한 문장으로 반영하고, 결제 없이 만료된 예약은 PendingPaymentSweeper가 되돌린다.
+ */
+@Slf4j
+@Service
+public class StockService {
+
+    // 재고 제한이 없는 상품의 카운터 값 (차감돼도 사실상 줄지 않음)
+    private static final int UNLIMITED = 1_000_000_000;
+    private static final String PRODUCT_ITEM = "product:";
+    private static final String OPTION_ITEM = "option:";
+
+    private final StockReservationEngine engine;
+    private final ProductRepository productRepository;
+    private final OptionRepository optionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration reservationTtl;
+
+    public StockService(StockReservationEngine engine,
+                        ProductRepository productRepository,
+                        OptionRepository optionRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${stock.reservation.ttl:15m}") Duration reservationTtl) {
+        this.engine = engine;
+        this.productRepository = productRepository;
+        this.optionRepository = optionRepository;
+        this.eventPublisher = eventPublisher;
+        this.reservationTtl = reservationTtl;
+    }
+
+    /**
+     * 저장 옵션(상품 1개 + 고른 옵션들)의 재고를 예약한다. 부족하면 409.
+     * 현재 트랜잭션이 롤백되면 예약도 바로 되돌린다.
+     */
+    public void reserve(String reservationId, SaveOption saveOption) {
+        reserveItems(reservationId, itemsOf(saveOption));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        engine.release(reservationId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 결제가 확인되면 DB 재고를 차감하고, 트랜잭션이 커밋된 뒤에 예약을 확정한다.
+     * 결제 창에 오래 머물러 예약이 이미 풀렸다면 한 번 더 예약을 시도한다. (부족하면 409)
+     * 롤백되면(웹훅 일괄 반영 실패 등) 원래 예약은 그대로 남으므로 다시 처리할 때 같은 예약을 한 번만 확정한다.
+     */
+    public void confirm(String reservationId, SaveOption saveOption) {
+        Map<String, Integer> items = itemsOf(saveOption);
+        boolean reReserved = !engine.isReserved(reservationId);
+        if (reReserved) {
+            log.info("만료된 재고 예약 재시도: reservationId={}", reservationId);
+            reserveItems(reservationId, items);
+        }
+
+        items.forEach((item, quantity) -> {
+            Long id = Long.valueOf(item.substring(item.indexOf(':') + 1));
+            if (item.startsWith(PRODUCT_ITEM)) {
+                // 재고 제한이 없는 상품(stock null)은 0행 업데이트로 끝난다.
+                if (productRepository.decreaseStock(id, quantity) > 0 && productRepository.markOutOfStockIfEmpty(id) > 0) {
+                    eventPublisher.publishEvent(new ProductChangedEvent(id));
+                }
+            } else if (optionRepository.decreaseStock(id, quantity) == 0) {
+                log.warn("옵션 DB 재고가 예약 카운터보다 적습니다: optionId={}", id);
+            }
+        });
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirmReservation(reservationId, items);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                confirmReservation(reservationId, items);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK && reReserved) {
+                    engine.release(reservationId); // 여기서 새로 잡은 예약만 되돌린다.
+                }
+            }
+        });
+    }
+
+    /**
+     * 결제 실패/취소 시 예약을 되돌린다. (이미 확정/해제됐으면 아무 일도 하지 않음)
+     * 트랜잭션 안이면 커밋된 뒤에 되돌린다. (롤백되면 예약을 그대로 둠)
+     */
+    public void release(String reservationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseReservation(reservationId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseReservation(reservationId);
+            }
+        });
+    }
+
+    /**
+     * 결제가 끝난 주문에 남아 있는 예약 기록을 지운다. (커밋 후 확정이 Redis 오류로 빠진 경우, 만료 정리에서 호출)
+     */
+    public void clearConfirmed(String reservationId) {
+        if (engine.confirm(reservationId)) {
+            log.info("확정된 주문의 남은 재고 예약 정리: reservationId={}", reservationId);
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 예약 ID(= 주문번호) 목록. 정리는 PendingPaymentSweeper가 아임포트 상태를 확인한 뒤 한다.
+     */
+    public List<String> findExpiredReservations(int limit) {
+        return engine.findExpired(System.currentTimeMillis(), limit);
+    }
+
+    // 관리자 재고 변경을 카운터에 반영한다. (제한 유무가 바뀌면 카운터를 지우고 다음 예약 때 DB에서 다시 읽음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        String item = event.getOptionId() != null ? OPTION_ITEM + event.getOptionId() : PRODUCT_ITEM + event.getProductId();
+        if (event.getOldStock() == null || event.getNewStock() == null) {
+            engine.reset(item);
+        } else {
+            engine.adjust(item, event.getNewStock() - event.getOldStock());
+        }
+    }
+
+    // 커밋 후 확정. 그 사이 만료 정리가 예약을 풀었다면 되돌려진 만큼 카운터에서 다시 뺀다.
+    private void confirmReservation(String reservationId, Map<String, Integer> items) {
+        try {
+            if (!engine.confirm(reservationId)) {
+                log.warn("확정 전에 풀린 재고 예약, 카운터를 다시 차감합니다: reservationId={}", reservationId);
+                items.forEach((item, quantity) -> engine.adjust(item, -quantity));
+            }
+        } catch (RuntimeException e) {
+            // DB는 이미 커밋됐다. 남은 예약은 만료 정리가 결제 상태를 보고 지운다.
+            log.error("재고 예약 확정 실패: reservationId={}", reservationId, e);
+        }
+    }
+
+    private void releaseReservation(String reservationId) {
+        try {
+            if (engine.release(reservationId)) {
+                log.info("재고 예약 해제: reservationId={}", reservationId);
+            }
+        } catch (RuntimeException e) {
+            log.error("재고 예약 해제 실패: reservationId={}", reservationId, e);
+        }
+    }
+
+    private void reserveItems(String reservationId, Map<String, Integer> items) {
+        long expiresAt = System.currentTimeMillis() + reservationTtl.toMillis();
+        // 처음 보는 항목은 DB 재고로 초기화하고 다시 시도한다. (항목 수만큼이면 충분)
+        for (int attempt = 0; attempt <= items.size(); attempt++) {
+            StockReservationEngine.Result result = engine.reserve(reservationId, items, expiresAt);
+            switch (result.getStatus()) {
+                case RESERVED:
+                    return;
+                case INSUFFICIENT:
+                    throw new CustomException("재고가 부족합니다.", 409);
+                case UNINITIALIZED:
+                    engine.initialize(result.getItem(), loadStock(result.getItem()));
+                    break;
+            }
+        }
+        throw new IllegalStateException("재고 카운터를 초기화하지 못했습니다: " + items.keySet());
+    }
+
+    private Map<String, Integer> itemsOf(SaveOption saveOption) {
+        Map<String, Integer> items = new LinkedHashMap<>();
+        items.put(PRODUCT_ITEM + saveOption.getMon().getId(), 1);
+        saveOption.getSelectedOptions().values().forEach(optionId -> items.merge(OPTION_ITEM + optionId, 1, Integer::sum));
+        return items;
+    }
+
+    // 락 없는 단순 조회. 상품 재고가 null이면 제한 없음
+    private int loadStock(String item) {
+        Long id = Long.valueOf(item.substring(item.indexOf(':') + 1));
+        if (item.startsWith(PRODUCT_ITEM)) {
+            return productRepository.findStockById(id).orElse(UNLIMITED);
+        }
+        return optionRepository.findStockById(id).orElse(0);
+    }
+}
@@ -0,0 +1,76 @@
+package yw.monsterInc;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.member.Repository.MemberRepository;
+import yw.monsterInc.member.entity.Member;
+import yw.monsterInc.mypage.service.MyPageService;
+import yw.monsterInc.order.service.OrderService;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * 주문 내역 / 저장 옵션 목록 조회의 할당량과 flush 시간을 잰다.
+ * 바이트코드 향상 전후 비교용: mvn test -Dbenchmark=true 와 mvn test -Dbenchmark=true -DskipEnhance 결과를 비교한다.
+ * (로컬 DB/Redis가 떠 있어야 하므로 평소 빌드에서는 돌지 않는다)
+ * 참고: DB 없이 같은 조회 모양을 재는 HibernateEnhanceBenchmarkTest 결과
+ *   (H2 2.3 MySQL 모드 인메모리 + Hibernate 6.6 단독, JDK 17, 회원 50명 x 저장 옵션 40개, 재질 JSON 4KB, 300회 평균)
+ *   저장 옵션 목록(회원 50명 한 바퀴): 향상 129 ms / 105 MB, 미향상 196 ms / 276 MB
+ *   변경 없는 flush(관리 엔티티 2000개): 7.2 ms vs 6.2 ms → 측정 오차 수준
+ * 이득은 canonicalJson 지연 로딩에서 나오고, dirty tracking으로 flush가 빨라지는 효과는 이 규모에서는 보이지 않는다.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EntityLoadBenchmarkTest {
+
+    private static final int WARM_UP = 20;
+    private static final int ROUNDS = 200;
+
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private OrderService orderService;
+    @Autowired private MyPageService myPageService;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Test
+    void listLoads() {
+        System.out.printf("SaveOption 향상 여부: %s%n",
+                PersistentAttributeInterceptable.class.isAssignableFrom(SaveOption.class));
+
+        List<Member> members = memberRepository.findAll();
+        measure("주문 내역", () -> members.forEach(orderService::getMyOrders));
+        measure("저장 옵션 목록", () -> members.forEach(member -> myPageService.findMySavedOptions(member.getId())));
+
+        // 엔티티를 잔뜩 올려 둔 상태에서 flush 비용 (향상되면 변경 필드만 보고, 아니면 스냅샷 전체를 비교한다)
+        measure("flush", () -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("select s from SaveOption s", SaveOption.class).getResultList();
+            entityManager.flush();
+        }));
+    }
+
+    private static void measure(String name, Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP; i++) {
+            task.run();
+        }
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.printf("[%s] 평균 %.3f ms, 평균 할당 %d KB%n",
+                name, elapsed / 1_000_000.0 / ROUNDS, allocated / 1024 / ROUNDS);
+    }
+}
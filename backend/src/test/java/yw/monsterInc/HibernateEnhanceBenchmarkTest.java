@@ -0,0 +1,149 @@
+package yw.monsterInc;
+
+import jakarta.persistence.Entity;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import yw.monsterInc.Product.constant.ProductStatus;
+import yw.monsterInc.Product.entity.MaterialConfig;
+import yw.monsterInc.Product.entity.Product;
+import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.member.constant.MemberRole;
+import yw.monsterInc.member.entity.Member;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 바이트코드 향상 전후 비교를 MySQL/Redis 없이 돌리는 버전. 인메모리 H2(MySQL 모드) + Hibernate 단독으로
+ * MyPageService.findMySavedOptions 와 같은 모양의 조회(엔티티 그래프 목록 + 델타 JSON IN 조회)와 변경 없는 flush를 잰다.
+ *   mvn test -Dbenchmark=true -Dtest=HibernateEnhanceBenchmarkTest
+ *   mvn test -Dbenchmark=true -Dtest=HibernateEnhanceBenchmarkTest -DskipEnhance
+ * 실제 앱 구성(Spring + MySQL)으로 재는 것은 EntityLoadBenchmarkTest.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HibernateEnhanceBenchmarkTest {
+
+    private static final int MEMBERS = 50;
+    private static final int SAVED_PER_MEMBER = 40;
+    private static final int PRODUCTS = 20;
+    private static final int CONFIGS = 200;
+    private static final int JSON_BYTES = 4096;
+    private static final int WARM_UP = 30;
+    private static final int ROUNDS = 300;
+
+    private long flushNanos;
+
+    @Test
+    void savedOptionListAndFlush() throws Exception {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:enhance-bench;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .applySetting("hibernate.connection.username", "sa")
+                .applySetting("hibernate.hbm2ddl.auto", "create-drop")
+                .applySetting("hibernate.jdbc.batch_size", "500")
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition definition : scanner.findCandidateComponents("yw.monsterInc")) {
+            sources.addAnnotatedClass(Class.forName(definition.getBeanClassName()));
+        }
+
+        try (SessionFactory sessionFactory = sources.buildMetadata().buildSessionFactory()) {
+            System.out.printf("SaveOption 향상 여부: %s%n",
+                    PersistentAttributeInterceptable.class.isAssignableFrom(SaveOption.class));
+            List<Long> memberIds = seed(sessionFactory);
+
+            measure("저장 옵션 목록 (회원 " + MEMBERS + "명)", () -> memberIds.forEach(memberId ->
+                    sessionFactory.inTransaction(session -> {
+                        List<SaveOption> options = session.createQuery(
+                                        "select s from SaveOption s left join fetch s.mon left join fetch s.materialConfig "
+                                                + "left join fetch s.baseMaterialConfig where s.member.id = :id", SaveOption.class)
+                                .setParameter("id", memberId)
+                                .getResultList();
+                        List<Long> configIds = options.stream().map(SaveOption::getMaterialConfig).filter(Objects::nonNull)
+                                .map(MaterialConfig::getId).distinct().toList();
+                        Map<Long, String> deltas = new HashMap<>();
+                        for (Object[] row : session.createQuery(
+                                        "select c.id, c.canonicalJson from MaterialConfig c where c.id in :ids", Object[].class)
+                                .setParameter("ids", configIds)
+                                .getResultList()) {
+                            deltas.put((Long) row[0], (String) row[1]);
+                        }
+                        for (SaveOption option : options) {
+                            Objects.hash(option.getSaveName(), option.getBaseMaterialHash(),
+                                    deltas.get(option.getMaterialConfig().getId()));
+                        }
+                    })));
+
+            // 목록 전체를 올려 둔 상태에서 변경 없는 flush (향상되면 변경 필드만 보고, 아니면 스냅샷 전체를 비교한다)
+            measure("flush (관리 엔티티 " + MEMBERS * SAVED_PER_MEMBER + "개)", () -> sessionFactory.inTransaction(session -> {
+                session.createQuery("select s from SaveOption s", SaveOption.class).getResultList();
+                long started = System.nanoTime();
+                session.flush();
+                flushNanos += System.nanoTime() - started;
+            }));
+            System.out.printf("  flush()만: 평균 %.3f ms%n", flushNanos / 1_000_000.0 / (WARM_UP + ROUNDS));
+        }
+    }
+
+    private static List<Long> seed(SessionFactory sessionFactory) {
+        String json = "{\"p\":\"" + "x".repeat(JSON_BYTES) + "\"}";
+        return sessionFactory.fromTransaction(session -> {
+            Product[] products = new Product[PRODUCTS];
+            for (int i = 0; i < PRODUCTS; i++) {
+                products[i] = Product.builder().name("product-" + i).basePrice(1000).status(ProductStatus.ON_SALE).build();
+                session.persist(products[i]);
+            }
+            MaterialConfig[] configs = new MaterialConfig[CONFIGS];
+            for (int i = 0; i < CONFIGS; i++) {
+                configs[i] = new MaterialConfig(String.format("%064d", i), json.replace("\"p\"", "\"p" + i + "\""));
+                session.persist(configs[i]);
+            }
+            List<Long> memberIds = new ArrayList<>();
+            for (int m = 0; m < MEMBERS; m++) {
+                Member member = Member.builder().email("member" + m + "@bench.local").name("member" + m)
+                        .memberRole(MemberRole.values()[0]).build();
+                session.persist(member);
+                for (int k = 0; k < SAVED_PER_MEMBER; k++) {
+                    int n = m * SAVED_PER_MEMBER + k;
+                    session.persist(SaveOption.builder().saveName("saved-" + n).member(member).mon(products[n % PRODUCTS])
+                            .materialConfig(configs[n % CONFIGS]).baseMaterialConfig(configs[(n * 7) % CONFIGS])
+                            .materialVersion(0).build());
+                }
+                memberIds.add(member.getId());
+            }
+            return memberIds;
+        });
+    }
+
+    private static void measure(String name, Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP; i++) {
+            task.run();
+        }
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.printf("[%s] 평균 %.3f ms, 평균 할당 %d KB%n",
+                name, elapsed / 1_000_000.0 / ROUNDS, allocated / 1024 / ROUNDS);
+    }
+}
@@ -0,0 +1,156 @@
+package yw.monsterInc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import yw.monsterInc.Product.dto.SaveOptionDto;
+import yw.monsterInc.Product.entity.SaveOption;
+import yw.monsterInc.Product.repository.ProductRepository;
+import yw.monsterInc.Product.service.ProductService;
+import yw.monsterInc.member.Repository.MemberRepository;
+import yw.monsterInc.member.entity.Member;
+import yw.monsterInc.order.constant.PaymentStatus;
+import yw.monsterInc.order.dto.PaymentPrepareRequestDto;
+import yw.monsterInc.order.dto.PaymentPrepareResponseDto;
+import yw.monsterInc.order.dto.PaymentVerifyRequestDto;
+import yw.monsterInc.order.gateway.IamportStubServer;
+import yw.monsterInc.order.repository.PaymentRepository;
+import yw.monsterInc.order.service.PaymentService;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 아임포트 응답이 느릴 때 결제 검증이 커넥션 풀을 얼마나 쓰는지 본다.
+ * 아임포트 주소(iamport.api.base-url)를 지연을 주는 로컬 스텁(IamportStubServer)으로 돌려서 실제 게이트웨이 클라이언트 경로
+ * (토큰, 벌크헤드, 서킷 브레이커 포함)를 그대로 타게 하고, 동시 검증 중 풀의 활성 커넥션 수를 계속 샘플링한다.
+ * 외부 호출이 트랜잭션 밖에 있으면 동시 요청 수와 상관없이 활성 커넥션이 거의 0 근처에 머문다.
+ * (로컬 DB/Redis가 필요하므로 mvn test -Dbenchmark=true 일 때만 돈다)
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PaymentVerifyLoadTest {
+
+    private static final int CONCURRENCY = 50;
+    private static final long GATEWAY_LATENCY_MS = 500;
+
+    private static final IamportStubServer STUB = startStub();
+
+    @Autowired private PaymentService paymentService;
+    @Autowired private PaymentRepository paymentRepository;
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void iamportProperties(DynamicPropertyRegistry registry) {
+        registry.add("iamport.api.base-url", STUB::baseUrl);
+        // 동시 검증이 전부 스텁까지 가도록 벌크헤드를 동시 요청 수만큼 연다.
+        registry.add("iamport.gateway.max-concurrent-calls", () -> CONCURRENCY);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @Test
+    void poolUsageStaysFlatUnderSlowGateway() throws Exception {
+        Member member = memberRepository.findByEmail("user@test.com").orElseThrow();
+        List<PaymentPrepareResponseDto> prepared = prepare(member, CONCURRENCY);
+
+        // 느린 아임포트 스텁: 주문번호와 금액은 준비한 주문 그대로 돌려준다
+        for (int i = 0; i < prepared.size(); i++) {
+            STUB.register("imp_" + i, prepared.get(i).getMerchantUid(), prepared.get(i).getAmount(), "paid");
+        }
+        STUB.setLatencyMs(GATEWAY_LATENCY_MS);
+
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger maxWaiting = new AtomicInteger();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                maxActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                maxWaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            PaymentVerifyRequestDto request = new PaymentVerifyRequestDto();
+            request.setImpUid("imp_" + i);
+            request.setMerchantUid(prepared.get(i).getMerchantUid());
+            futures.add(executor.submit(() -> paymentService.verifyPayment(request, member)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        sampler.interrupt();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("동시 검증 %d건, 아임포트 지연 %dms → 소요 %dms, 최대 활성 커넥션 %d / 풀 %d, 최대 대기 스레드 %d%n",
+                CONCURRENCY, GATEWAY_LATENCY_MS, elapsedMs, maxActive.get(), pool.getTotalConnections(), maxWaiting.get());
+
+        for (PaymentPrepareResponseDto order : prepared) {
+            assertThat(paymentRepository.findByMerchantUid(order.getMerchantUid()).orElseThrow().getPaymentStatus())
+                    .isEqualTo(PaymentStatus.COMPLETED);
+        }
+        // 외부 호출 동안 커넥션을 잡지 않으므로 커넥션을 기다리는 스레드가 없어야 한다.
+        assertThat(maxWaiting.get()).isZero();
+    }
+
+    private static IamportStubServer startStub() {
+        try {
+            return new IamportStubServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<PaymentPrepareResponseDto> prepare(Member member, int count) {
+        SaveOptionDto saveOptionDto = new SaveOptionDto();
+        saveOptionDto.setMon(productRepository.findAll().get(0).getId());
+        saveOptionDto.setSaveName("결제 부하 테스트");
+        SaveOption saveOption = productService.saveSaveOption(saveOptionDto, member.getId());
+
+        PaymentPrepareRequestDto.DeliveryInfoDto delivery = new PaymentPrepareRequestDto.DeliveryInfoDto();
+        delivery.setRecipientName("테스트");
+        delivery.setRecipientPhone("01000000000");
+        delivery.setRecipientAddress("서울");
+        delivery.setRecipientDetailAddress("1층");
+
+        List<PaymentPrepareResponseDto> prepared = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PaymentPrepareRequestDto request = new PaymentPrepareRequestDto();
+            request.setSaveOptionId(saveOption.getId());
+            request.setDeliveryInfo(delivery);
+            prepared.add(paymentService.preparePayment(request, member));
+        }
+        return prepared;
+    }
+}
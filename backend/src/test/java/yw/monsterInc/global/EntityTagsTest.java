@@ -0,0 +1,25 @@
+package yw.monsterInc.global;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagsTest {
+
+    private static final String ETAG = "W/\"0123abcd\"";
+
+    @Test
+    void matchesAnyTagInListWithWeakComparison() {
+        assertThat(EntityTags.matchesIfNoneMatch("\"0123abcd\"", ETAG)).isTrue();
+        assertThat(EntityTags.matchesIfNoneMatch("\"old\", W/\"0123abcd\"", ETAG)).isTrue();
+        assertThat(EntityTags.matchesIfNoneMatch("*", ETAG)).isTrue();
+    }
+
+    @Test
+    void doesNotMatchSubstringsOrMalformedLists() {
+        assertThat(EntityTags.matchesIfNoneMatch("\"x0123abcdx\"", ETAG)).isFalse(); // 예전 contains 비교는 통과했다
+        assertThat(EntityTags.matchesIfNoneMatch("\"0123abcd", ETAG)).isFalse();
+        assertThat(EntityTags.matchesIfNoneMatch("0123abcd", ETAG)).isFalse();
+        assertThat(EntityTags.matchesIfNoneMatch(null, ETAG)).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package yw.monsterInc.global.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import yw.monsterInc.global.exception.CustomException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPatchesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void replaceAtRootReplacesWholeDocument() throws Exception {
+        JsonNode result = apply("[{\"op\":\"replace\",\"path\":\"\",\"value\":{\"Body\":{\"color\":\"#ff0000\"}}}]",
+                "{\"Body\":{\"color\":\"#000000\"},\"Eye\":{}}");
+
+        assertThat(result).isEqualTo(objectMapper.readTree("{\"Body\":{\"color\":\"#ff0000\"}}"));
+    }
+
+    @Test
+    void moveIntoOwnChildIsRejected() {
+        assertThatThrownBy(() -> apply("[{\"op\":\"move\",\"from\":\"/Body\",\"path\":\"/Body/inner\"}]",
+                "{\"Body\":{\"color\":\"#000000\"}}"))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getStatus())
+                .isEqualTo(400);
+    }
+
+    @Test
+    void moveToSiblingWithSamePrefixIsAllowed() throws Exception {
+        JsonNode result = apply("[{\"op\":\"move\",\"from\":\"/Body\",\"path\":\"/BodyOld\"}]",
+                "{\"Body\":{\"color\":\"#000000\"}}");
+
+        assertThat(result).isEqualTo(objectMapper.readTree("{\"BodyOld\":{\"color\":\"#000000\"}}"));
+    }
+
+    private JsonNode apply(String patch, String target) throws Exception {
+        return JsonPatches.applyJsonPatch(objectMapper,
+                new ByteArrayInputStream(patch.getBytes(StandardCharsets.UTF_8)), objectMapper.readTree(target));
+    }
+}
@@ -0,0 +1,152 @@
+package yw.monsterInc.order;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import yw.monsterInc.order.gateway.IamportStubServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로컬 아임포트 웹훅 재전송 도구. 웹훅 수신부/워커 부하 테스트용.
+ * 기록된 웹훅(JSON 한 줄에 하나, amount를 넣으면 스텁 조회 금액으로 사용)이나 임의 웹훅을 중복/순서 섞어서 동시에 보내고
+ * 응답 지연(ack)과 처리량을 출력한다. --stub-port를 주면 같은 결제를 돌려주는 아임포트 스텁도 띄운다.
+ *
+ * 예) 스텁 띄우고 앱을 --iamport.api.base-url=http://127.0.0.1:18080 로 실행한 뒤
+ *   java ... PaymentWebhookReplayTool --stub-port 18080 --file webhooks.jsonl --duplicates 3 --concurrency 32
+ * 처리 결과는 앱의 /actuator/metrics/payment.webhook.events, payment.webhook.batch 로 본다.
+ */
+public class PaymentWebhookReplayTool {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String target = options.getOrDefault("target", "http://localhost:8080/api/payment/webhook");
+        int duplicates = Integer.parseInt(options.getOrDefault("duplicates", "3"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "0"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> webhooks = options.containsKey("file")
+                ? load(objectMapper, Path.of(options.get("file")))
+                : generate(objectMapper, Integer.parseInt(options.getOrDefault("count", "1000")));
+
+        IamportStubServer stub = null;
+        if (stubPort > 0) {
+            stub = new IamportStubServer(stubPort);
+            for (JsonNode webhook : webhooks) {
+                stub.register(webhook.path("imp_uid").asText(), webhook.path("merchant_uid").asText(),
+                        webhook.path("amount").asLong(10000), webhook.path("status").asText("paid"));
+            }
+            System.out.printf("아임포트 스텁: %s%n", stub.baseUrl());
+        }
+
+        // 같은 웹훅을 duplicates 번씩 섞어서 보낸다. (아임포트 재전송 + 순서 뒤바뀜 흉내)
+        List<String> bodies = new ArrayList<>(webhooks.size() * duplicates);
+        for (JsonNode webhook : webhooks) {
+            for (int i = 0; i < duplicates; i++) {
+                bodies.add(objectMapper.writeValueAsString(webhook));
+            }
+        }
+        Collections.shuffle(bodies);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[bodies.size()];
+
+        long started = System.nanoTime();
+        for (int i = 0; i < bodies.size(); i++) {
+            int index = i;
+            executor.execute(() -> {
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(target))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(bodies.get(index)))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        accepted.incrementAndGet();
+                    } else if (response.statusCode() == 503) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+                latencies[index] = System.nanoTime() - sent;
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        System.out.printf("웹훅 %d건 (결제 %d건 x %d) → %d ms, %.0f건/s%n",
+                bodies.size(), webhooks.size(), duplicates, elapsed / 1_000_000, bodies.size() / (elapsed / 1e9));
+        System.out.printf("200: %d, 503: %d, 오류: %d%n", accepted.get(), rejected.get(), errors.get());
+        System.out.printf("ack 지연 p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+
+        if (stub != null) {
+            System.out.println("워커가 처리할 시간을 두고 Enter를 누르면 스텁을 종료합니다.");
+            System.in.read();
+            System.out.printf("스텁 조회 요청 %d회 (웹훅 %d건)%n", stub.getPaymentRequests(), bodies.size());
+            stub.close();
+        }
+    }
+
+    private static List<JsonNode> load(ObjectMapper objectMapper, Path file) throws Exception {
+        List<JsonNode> webhooks = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.isBlank()) {
+                webhooks.add(objectMapper.readTree(line));
+            }
+        }
+        return webhooks;
+    }
+
+    private static List<JsonNode> generate(ObjectMapper objectMapper, int count) {
+        List<JsonNode> webhooks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ObjectNode webhook = objectMapper.createObjectNode();
+            webhook.put("imp_uid", "imp_replay_" + i);
+            webhook.put("merchant_uid", "ORD-replay-" + i);
+            webhook.put("status", "paid");
+            webhooks.add(webhook);
+        }
+        return webhooks;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,45 @@
+package yw.monsterInc.order.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void releasedTrialStaysHalfOpen() {
+        openAndWait();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.release(); // 시험 호출을 하지 않고 반납
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue(); // 다음 요청이 시험 호출을 다시 할 수 있다
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void successfulTrialCloses() {
+        openAndWait();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void openAndWait() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+    }
+}
@@ -0,0 +1,129 @@
+package yw.monsterInc.order.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 로컬 스텁 서버를 상대로 게이트웨이 클라이언트의 토큰 재사용, 타임아웃, 서킷 브레이커를 확인한다.
+ */
+class IamportGatewayClientTest {
+
+    private IamportStubServer stub;
+    private SimpleMeterRegistry meterRegistry;
+    private IamportGatewayClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new IamportStubServer();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new IamportGatewayClient(new ObjectMapper(), meterRegistry, stub.baseUrl(), "key", "secret",
+                Duration.ofSeconds(1), Duration.ofMillis(300), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ofSeconds(60), 4, Duration.ofMillis(50),
+                10, 4, 50, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void reusesTokenAcrossCalls() {
+        for (int i = 0; i < 5; i++) {
+            IamportPayment payment = client.getPayment("imp_" + i);
+            assertThat(payment.getMerchantUid()).isEqualTo("merchant_imp_" + i);
+            assertThat(payment.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(10000));
+        }
+        assertThat(stub.getTokenRequests()).isEqualTo(1);
+        assertThat(meterRegistry.get("iamport.gateway.requests")
+                .tag("operation", "lookup").tag("outcome", "success").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void looksUpManyPaymentsInOneRequest() {
+        stub.register("imp_a", "ORD-a", 5000, "paid");
+        stub.register("imp_b", "ORD-b", 7000, "failed");
+
+        List<IamportPayment> payments = client.getPayments(List.of("imp_a", "imp_b"));
+
+        assertThat(payments).extracting(IamportPayment::getMerchantUid, IamportPayment::getStatus)
+                .containsExactly(tuple("ORD-a", "paid"), tuple("ORD-b", "failed"));
+        assertThat(stub.getPaymentRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void findsPaymentByMerchantUid() {
+        stub.register("imp_c", "ORD-c", 3000, "ready");
+
+        assertThat(client.findPayment("ORD-c")).extracting(IamportPayment::getImpUid, IamportPayment::getStatus)
+                .containsExactly("imp_c", "ready");
+        assertThat(client.findPayment("ORD-none")).isNull(); // 결제 시도 없음 (404)
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void refreshesTokenInsideMargin() {
+        stub.setTokenTtlSeconds(30); // 만료까지 남은 시간이 refresh-margin(60s)보다 짧으면 매번 재발급
+
+        client.getPayment("imp_1");
+        client.getPayment("imp_2");
+
+        assertThat(stub.getTokenRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void slowLookupTimesOut() {
+        stub.setLatencyMs(1000);
+
+        assertThatThrownBy(() -> client.getPayment("imp_slow"))
+                .isInstanceOfSatisfying(IamportGatewayException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(IamportGatewayException.Reason.TIMEOUT));
+    }
+
+    @Test
+    void unexpectedExceptionDuringTrialReopensCircuit() throws Exception {
+        // 주소가 잘못되면 토큰 발급 단계에서 IllegalArgumentException (게이트웨이 예외가 아님)
+        IamportGatewayClient broken = new IamportGatewayClient(new ObjectMapper(), new SimpleMeterRegistry(), stub.baseUrl() + "/bad path",
+                "key", "secret", Duration.ofSeconds(1), Duration.ofMillis(300), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ofSeconds(60), 4, Duration.ofMillis(50),
+                10, 4, 50, Duration.ofMillis(100));
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> broken.getPayment("imp_x")).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(broken.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Thread.sleep(150);
+        assertThatThrownBy(() -> broken.getPayment("imp_trial")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(broken.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN); // 시험 호출 실패 → 다시 OPEN
+
+        Thread.sleep(150);
+        assertThatThrownBy(() -> broken.getPayment("imp_trial2")).isInstanceOf(IllegalArgumentException.class); // 시험 호출이 또 허용된다
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedFailures() {
+        stub.setFailing(true);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.getPayment("imp_fail"))
+                    .isInstanceOf(IamportGatewayException.class);
+        }
+        int requestsBeforeOpen = stub.getPaymentRequests();
+
+        assertThatThrownBy(() -> client.getPayment("imp_blocked"))
+                .isInstanceOfSatisfying(IamportGatewayException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(IamportGatewayException.Reason.CIRCUIT_OPEN));
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(stub.getPaymentRequests()).isEqualTo(requestsBeforeOpen); // 차단 중에는 호출하지 않는다
+    }
+}
@@ -0,0 +1,168 @@
+package yw.monsterInc.order.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 로컬 아임포트 스텁. 실제 API와 같은 { code, message, response } 형식으로 응답한다.
+ * latencyMs로 느린 응답을, failing으로 5xx 장애를 흉내 낸다.
+ * 조회 결과의 금액은 amount, merchant_uid는 "merchant_" + imp_uid 이다. (register로 결제별 값을 지정할 수 있음)
+ * 일괄 조회(GET /payments?imp_uid[]=...)와 주문번호 조회(GET /payments/find/{merchant_uid}, register한 결제만)도 지원한다.
+ */
+public class IamportStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger paymentRequests = new AtomicInteger();
+    private final Map<String, String[]> registered = new ConcurrentHashMap<>(); // imp_uid -> { merchant_uid, amount, status }
+
+    private volatile long latencyMs;
+    private volatile boolean failing;
+    private volatile long tokenTtlSeconds = 1800;
+    private volatile long amount = 10000;
+
+    public IamportStubServer() throws IOException {
+        this(0);
+    }
+
+    public IamportStubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/users/getToken", exchange -> {
+            tokenRequests.incrementAndGet();
+            long now = System.currentTimeMillis() / 1000;
+            respond(exchange, 200, "{\"code\":0,\"message\":null,\"response\":{\"access_token\":\"token-"
+                    + tokenRequests.get() + "\",\"now\":" + now + ",\"expired_at\":" + (now + tokenTtlSeconds) + "}}");
+        });
+        server.createContext("/payments", exchange -> {
+            paymentRequests.incrementAndGet();
+            sleep();
+            if (failing) {
+                respond(exchange, 503, "");
+                return;
+            }
+            String query = exchange.getRequestURI().getRawQuery();
+            StringJoiner payments = new StringJoiner(",", "[", "]");
+            for (String param : query == null ? new String[0] : query.split("&")) {
+                String[] pair = param.split("=", 2);
+                if (pair.length == 2 && URLDecoder.decode(pair[0], StandardCharsets.UTF_8).equals("imp_uid[]")) {
+                    payments.add(payment(URLDecoder.decode(pair[1], StandardCharsets.UTF_8), "paid"));
+                }
+            }
+            respond(exchange, 200, "{\"code\":0,\"message\":null,\"response\":" + payments + "}");
+        });
+        server.createContext("/payments/", exchange -> {
+            paymentRequests.incrementAndGet();
+            if (exchange.getRequestHeaders().getFirst("Authorization") == null) {
+                respond(exchange, 401, "{\"code\":-1,\"message\":\"Unauthorized\",\"response\":null}");
+                return;
+            }
+            sleep();
+            if (failing) {
+                respond(exchange, 503, "");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String impUid = path.equals("/payments/cancel") ? "cancelled" : path.substring("/payments/".length());
+            String status = path.equals("/payments/cancel") ? "cancelled" : "paid";
+            respond(exchange, 200, "{\"code\":0,\"message\":null,\"response\":" + payment(impUid, status) + "}");
+        });
+        server.createContext("/payments/find/", exchange -> {
+            paymentRequests.incrementAndGet();
+            sleep();
+            String merchantUid = exchange.getRequestURI().getPath().substring("/payments/find/".length());
+            String impUid = registered.entrySet().stream()
+                    .filter(entry -> entry.getValue()[0].equals(merchantUid))
+                    .map(Map.Entry::getKey)
+                    .findFirst().orElse(null);
+            if (impUid == null) {
+                respond(exchange, 404, "{\"code\":-1,\"message\":\"존재하지 않는 결제정보입니다.\",\"response\":null}");
+                return;
+            }
+            respond(exchange, 200, "{\"code\":0,\"message\":null,\"response\":" + payment(impUid, "paid") + "}");
+        });
+        server.start();
+    }
+
+    /**
+     * 이 imp_uid를 조회하면 주어진 주문번호/금액/상태로 응답한다.
+     */
+    public void register(String impUid, String merchantUid, long amount, String status) {
+        registered.put(impUid, new String[]{merchantUid, String.valueOf(amount), status});
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public void setTokenTtlSeconds(long tokenTtlSeconds) {
+        this.tokenTtlSeconds = tokenTtlSeconds;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public int getTokenRequests() {
+        return tokenRequests.get();
+    }
+
+    public int getPaymentRequests() {
+        return paymentRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String payment(String impUid, String defaultStatus) {
+        String[] values = registered.getOrDefault(impUid,
+                new String[]{"merchant_" + impUid, String.valueOf(amount), defaultStatus});
+        return "{\"imp_uid\":\"" + impUid + "\",\"merchant_uid\":\"" + values[0]
+                + "\",\"amount\":" + values[1] + ",\"status\":\"" + values[2] + "\"}";
+    }
+
+    private void sleep() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+}
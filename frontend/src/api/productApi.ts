@@ -1,5 +1,5 @@
 import axios from 'axios';
-import {type Product, type ProductOption } from '../types/product';
+import {type Product, type ProductOption, type PriceQuote, type SelectedOptions } from '../types/product';
 import { type PreparePaymentPayload } from '../types/order';
 import { type PreparePaymentResponse } from '../types/order';
 
@@ -26,13 +26,32 @@ export type SaveOptionsPayload = {
   mon: number;
   saveName: string;
   materialOverrides: string;
+  selectedOptions?: SelectedOptions;
 } 
 
+// 결제 요청은 한 번 누를 때마다 Idempotency-Key를 하나 만들고, 네트워크 오류(응답 없음)나
+// 409(같은 요청 처리 중)면 같은 키로 다시 보낸다. 서버는 같은 키의 재시도에 처음 응답을 그대로 돌려준다.
+const MAX_PAYMENT_ATTEMPTS = 3;
+
+const postIdempotent = async <T>(url: string, data: unknown): Promise<T> => {
+  const idempotencyKey = crypto.randomUUID();
+  for (let attempt = 1; ; attempt++) {
+    try {
+      const response = await axios.post<T>(url, data, { headers: { 'Idempotency-Key': idempotencyKey } });
+      return response.data;
+    } catch (error) {
+      const retryable = axios.isAxiosError(error) && (!error.response || error.response.status === 409);
+      if (!retryable || attempt >= MAX_PAYMENT_ATTEMPTS) {
+        throw error;
+      }
+      await new Promise((resolve) => setTimeout(resolve, 500 * attempt));
+    }
+  }
+};
+
 export const verifyPaymentApi = async (data: VerifyPaymentPayload): Promise<string> => {
   try {
-    // 형의 apiClient를 사용
-    const response = await axios.post('/api/payment/verify', data);
-    return response.data; // 성공 시 "결제 검증 완료" 같은 문자열이 반환됨
+    return await postIdempotent<string>('/api/payment/verify', data); // 성공 시 "결제 검증 완료" 같은 문자열이 반환됨
   } catch (error) {
     console.error('결제 검증에 실패했습니다:', error);
     throw error;
@@ -75,6 +94,24 @@ export const fetchProductById = async (productId: string): Promise<any> => { //
   }
 };
 
+// 여러 상품 상세를 한 번에 (요청 순서대로, 없는 상품 id는 missingIds)
+export const fetchProductsByIds = async (productIds: number[]): Promise<{ products: any[]; missingIds: number[] }> => {
+  if (productIds.length === 0) return { products: [], missingIds: [] };
+  const response = await axios.get('/api/products/batch', { params: { ids: productIds.join(',') } });
+  return response.data;
+};
+
+// 고른 옵션 기준 견적 (옵션을 바꿀 때마다 호출). 결제 금액도 서버에서 같은 방식으로 계산된다.
+export const fetchPriceQuote = async (productId: string, selectedOptions: SelectedOptions): Promise<PriceQuote> => {
+  const response = await axios.post<PriceQuote>(`/api/products/${productId}/quote`, { selectedOptions });
+  return response.data;
+};
+
+// 커스터마이저 진입 기록 (집계용이라 실패해도 화면에는 영향 없음)
+export const recordConfiguratorOpen = (productId: string): void => {
+  axios.post(`/api/products/${productId}/configurator-opens`).catch(() => {});
+};
+
 // ✅ [추가] 선택한 옵션을 서버에 저장하는 API 함수
 export const saveSelectedOptions = async (payload: SaveOptionsPayload): Promise<any> => {
   try {
@@ -89,11 +126,70 @@ export const saveSelectedOptions = async (payload: SaveOptionsPayload): Promise<
   }
 };
 
+// 재질 기본값 스냅샷은 해시 주소라서 내용이 바뀌지 않는다 → 한 번 받은 것은 메모리에 재사용
+const materialConfigCache = new Map<string, Promise<string>>();
+
+export const fetchMaterialConfig = (hash: string): Promise<string> => {
+  let cached = materialConfigCache.get(hash);
+  if (!cached) {
+    cached = axios.get(`/api/products/material-configs/${hash}`, { transformResponse: (data) => data })
+      .then((response) => response.data as string);
+    cached.catch(() => materialConfigCache.delete(hash)); // 실패한 요청은 캐시하지 않음
+    materialConfigCache.set(hash, cached);
+  }
+  return cached;
+};
+
+/**
+ * 저장 옵션의 델타(바꾼 파츠만)를 기본값 스냅샷 위에 펼쳐서 전체 재질 JSON 문자열로 만든다.
+ */
+export const expandMaterialOverrides = async (
+  materialOverrides: string | null,
+  baseMaterialHash?: string | null,
+): Promise<string | null> => {
+  if (!baseMaterialHash) return materialOverrides;
+  const base = JSON.parse(await fetchMaterialConfig(baseMaterialHash));
+  const delta = materialOverrides ? JSON.parse(materialOverrides) : {};
+  return JSON.stringify({ ...base, ...delta });
+};
+
+// 저장 옵션 재질(기본값까지 펼친 전체 JSON)과 ETag. ETag는 부분 수정 때 If-Match로 다시 보낸다.
+export type SavedMaterials = { materials: Record<string, unknown>; etag: string };
+
+export const fetchSavedOptionMaterials = async (saveOptionId: number): Promise<SavedMaterials> => {
+  const response = await axios.get(`/api/products/me/saved-options/${saveOptionId}/materials`);
+  return { materials: response.data, etag: response.headers['etag'] };
+};
+
+// 자동 저장: 바뀐 파츠만 Merge Patch로 보낸다. 다른 탭에서 먼저 고쳤으면 412가 나므로 다시 불러와야 한다.
+export const patchSavedOptionMaterials = async (
+  saveOptionId: number,
+  changedParts: Record<string, unknown>,
+  etag: string,
+): Promise<SavedMaterials> => {
+  const response = await axios.patch(`/api/products/me/saved-options/${saveOptionId}/materials`, changedParts, {
+    headers: { 'Content-Type': 'application/merge-patch+json', 'If-Match': etag },
+  });
+  return { materials: response.data, etag: response.headers['etag'] };
+};
+
+// 서버가 기본값과 델타를 합쳐 둔 해석된 설정 (불변 URL이라 같은 것은 한 번만 받는다)
+const resolvedConfigCache = new Map<string, Promise<string>>();
+
+export const fetchResolvedConfig = (url: string): Promise<string> => {
+  let cached = resolvedConfigCache.get(url);
+  if (!cached) {
+    cached = axios.get(url, { transformResponse: (data) => data }).then((response) => response.data as string);
+    cached.catch(() => resolvedConfigCache.delete(url)); // 실패한 요청은 캐시하지 않음
+    resolvedConfigCache.set(url, cached);
+  }
+  return cached;
+};
+
 // ✅ [추가] 결제 준비 API를 호출하는 함수
 export const preparePaymentApi = async (payload: PreparePaymentPayload): Promise<PreparePaymentResponse> => {
   try {
-    const response = await axios.post<PreparePaymentResponse>('/api/payment/prepare', payload);
-    return response.data;
+    return await postIdempotent<PreparePaymentResponse>('/api/payment/prepare', payload);
   } catch (error) {
     console.error('결제 준비에 실패했습니다:', error);
     throw error;
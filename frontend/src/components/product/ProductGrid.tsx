@@ -1,4 +1,4 @@
-import React from 'react';
+import React, { Suspense } from 'react';
 import { type Product } from '../../types/product'; // 방금 만든 타입을 가져와
 import { Link } from 'react-router-dom'; // [추가] 라우팅을 위한 Link 컴포넌트 import
 import styles from './ProductGrid.module.css';
@@ -12,12 +12,31 @@ interface ProductItemProps {
   product: Product;
 }
 
+// 3D 모델을 받는 동안 보여줄 썸네일. 브라우저가 화면 크기에 맞는 폭만 골라 받는다.
+const ProductThumbnail = ({ product }: ProductItemProps) => {
+  if (!product.imageSrcset || product.imageSrcset.length === 0) return null;
+  const srcSet = product.imageSrcset.map((source) => `${source.url} ${source.width}w`).join(', ');
+  return (
+    <img
+      src={product.imageSrcset[0].url}
+      srcSet={srcSet}
+      sizes="500px"
+      alt={product.name}
+      loading="lazy"
+      decoding="async"
+      style={{ width: '100%', height: '100%', objectFit: 'contain' }}
+    />
+  );
+};
+
 const ProductItem = ({ product }: ProductItemProps) => {
   return (
     <div className={styles.itemContainer}>
       {/* 1. 왼쪽: 이미지 영역 */}
       <div className={styles.imageWrapper}>
-        <ProductModelViewer modelUrl={product.modelUrl} />
+        <Suspense fallback={<ProductThumbnail product={product} />}>
+          <ProductModelViewer modelUrl={product.modelUrl} />
+        </Suspense>
       </div>
 
       {/* [추가] 2. 오른쪽: 모든 텍스트 정보를 감싸는 컨테이너 */}
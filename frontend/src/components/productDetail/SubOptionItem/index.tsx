@@ -45,7 +45,7 @@ const SubOptionItem = ({
   let isSelected = false; // 기본값은 false
     if (categoryMap && currentSelections) {
       const dtoKey = categoryMap[category].dtoKey;
-      isSelected = currentSelections[dtoKey] === option.productId;
+      isSelected = currentSelections[dtoKey] === option.id;
   }
 
   const itemClassName = `${styles.itemContainer} ${isOutOfStock ? styles.disabled : ''} ${isSelected ? styles.selected : ''}`;
@@ -54,7 +54,7 @@ const SubOptionItem = ({
     if (isOutOfStock || !onOptionSelect) {
       return;
     }
-    onOptionSelect(category, option.productId); 
+    onOptionSelect(category, option.id); 
   };
 
   return (
@@ -1,6 +1,7 @@
 import React, {useEffect, useState} from 'react';
 import styles from './style.module.css';
 import {type CustomizablePart, type MaterialOverrides, type MaterialProperties } from '../../../types/productDetail';
+import { type ProductOption, type SelectedOptions } from '../../../types/product';
 
 interface SubOptionPanelProps {
   basePrice: number;
@@ -8,14 +9,21 @@ interface SubOptionPanelProps {
   customParts: CustomizablePart[];
   materialOverrides: MaterialOverrides;
   onMaterialChange: (partDisplayName: string, property: keyof MaterialProperties, value: string | number) => void;
+  options?: ProductOption[];
+  selectedOptions?: SelectedOptions;
+  onOptionSelect?: (category: string, optionId: number | null) => void;
   onSave: () => void;
   onBuy: () => void;
 }
 
 const SubOptionPanel = ({ 
+  totalPrice,
   customParts,
   materialOverrides,
   onMaterialChange,
+  options = [],
+  selectedOptions = {},
+  onOptionSelect,
   onSave,
   onBuy,
 }: SubOptionPanelProps) => {
@@ -35,6 +43,12 @@ const SubOptionPanel = ({
 
   // 선택된 파츠의 현재 재질 값을 가져오는 헬퍼 변수. 코드를 깔끔하게 만들어줍니다.
   const currentMaterial = selectedPart ? materialOverrides[selectedPart.displayName] : null;
+
+  // 카테고리별로 옵션 묶기 (서버가 내려준 순서 유지)
+  const optionGroups = options.reduce<Record<string, ProductOption[]>>((groups, option) => {
+    (groups[option.parts] ??= []).push(option);
+    return groups;
+  }, {});
   return (
     // ✅ [수정] isOpen, onClose 관련 로직을 제거하고 항상 열려있는 상태로 만듭니다.
     <div className={`${styles.panelContainer} ${styles.open}`}>
@@ -93,12 +107,30 @@ const SubOptionPanel = ({
         )}
       </div>
       
-      {/* 3. 가격 표시 (기존과 동일) */}
+      {/* 3. 카테고리별 옵션 선택 (같은 옵션을 다시 누르면 선택 해제) */}
+      {Object.entries(optionGroups).map(([category, group]) => (
+        <div key={category} className={styles.optionGroup}>
+          <span className={styles.optionGroupTitle}>{category}</span>
+          {group.map((option) => (
+            <button
+              key={option.id}
+              className={`${styles.partButton} ${selectedOptions[category] === option.id ? styles.active : ''}`}
+              disabled={option.stock === 0}
+              onClick={() => onOptionSelect?.(category, selectedOptions[category] === option.id ? null : option.id)}
+            >
+              {option.optionName}{option.optionPrice > 0 ? ` (+${option.optionPrice.toLocaleString()})` : ''}
+            </button>
+          ))}
+        </div>
+      ))}
+
+      {/* 4. 가격 표시 (서버 견적 기준) */}
       <div className={styles.totalPriceSection}>
-        {/* ... 가격 표시 JSX ... */}
+        <span>총 금액</span>
+        <strong>{totalPrice.toLocaleString()}원</strong>
       </div>
 
-      {/* 4. 저장 및 구매 버튼 (MainOptionBar에서 이식) */}
+      {/* 5. 저장 및 구매 버튼 (MainOptionBar에서 이식) */}
       <div className={styles.actionButtonsSection}>
         <button className={styles.actionButton} onClick={onSave}>
           저장하기
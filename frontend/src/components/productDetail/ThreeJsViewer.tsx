@@ -10,7 +10,7 @@ import { type ProductDetail } from '../../types/product';
 import { type CustomizablePart, type MaterialOverrides } from '../../types/productDetail';
 
 interface ModelProps {
-  productInfo: ProductDetail | null;
+  modelUrl?: string;
   materialOverrides: MaterialOverrides;
   onPartsDiscovered: (parts: CustomizablePart[]) => void;
 }
@@ -20,8 +20,7 @@ interface GLTFResult extends GLTF {
   materials: Record<string, THREE.MeshStandardMaterial>;
 }
 
-const Model = ({ productInfo, materialOverrides, onPartsDiscovered }: ModelProps) => {
-  const { modelUrl} = productInfo || {};
+const Model = ({ modelUrl, materialOverrides, onPartsDiscovered }: ModelProps) => {
   if (!modelUrl) return null;
 
   const { scene } = useGLTF(modelUrl) as unknown as GLTFResult;
@@ -82,9 +81,16 @@ interface ThreeJsViewerProps {
   materialOverrides: MaterialOverrides;
 }
 
+// 미리보기용 저해상도 모델은 파츠 목록을 다시 알릴 필요가 없다
+const ignoreParts = () => {};
+
 const ThreeJsViewer: React.FC<ThreeJsViewerProps> = ({ 
   productInfo, onPartsDiscovered, materialOverrides
  }) => {
+  // ✅ 가장 거친 LOD를 먼저 보여주고, 원본 모델이 다 받아지면 교체한다.
+  const modelLods = productInfo?.modelLods ?? [];
+  const previewUrl = modelLods.length > 0 ? modelLods[modelLods.length - 1].url : undefined;
+
   return (
     <Canvas style={{ background: '#282c34' }} camera={{ position: [0, 1, 8], fov: 50 }}>
       <ambientLight intensity={1.5} />
@@ -94,11 +100,17 @@ const ThreeJsViewer: React.FC<ThreeJsViewerProps> = ({
       <React.Suspense fallback={null}>
         <group position={[0, -2, 0]}> 
           <Bounds fit clip observe margin={1.8}>
-            <Model 
-              productInfo={productInfo}
-              materialOverrides={materialOverrides}
-              onPartsDiscovered={onPartsDiscovered}
-            />
+            <React.Suspense
+              fallback={previewUrl ? (
+                <Model modelUrl={previewUrl} materialOverrides={materialOverrides} onPartsDiscovered={ignoreParts} />
+              ) : null}
+            >
+              <Model 
+                modelUrl={productInfo?.modelUrl}
+                materialOverrides={materialOverrides}
+                onPartsDiscovered={onPartsDiscovered}
+              />
+            </React.Suspense>
           </Bounds>
         </group>
       </React.Suspense>
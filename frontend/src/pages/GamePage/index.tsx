@@ -4,6 +4,7 @@ import styles from './style.module.css';
 import Modal from '../../components/Modal';
 import GameCanvas from '../../components/game/GameCanvas';
 import axios from 'axios';
+import { expandMaterialOverrides, fetchResolvedConfig } from '../../api/productApi';
 
 // API 응답 데이터 타입 (+ 기본 캐릭터를 위한 materialOverrides는 null일 수 있음)
 interface SavedOption {
@@ -11,6 +12,8 @@ interface SavedOption {
   saveName: string;
   modelUrl: string;
   materialOverrides: string | null; 
+  baseMaterialHash?: string | null; // 있으면 materialOverrides는 이 기본값에 대한 델타
+  resolvedConfigUrl?: string | null; // 서버가 기본값과 델타를 합쳐 둔 문서 주소
 }
 
 const GamePage = () => {
@@ -46,7 +49,13 @@ const GamePage = () => {
       try {
         // ✅ [수정] 형이 사용하시는 API 경로로 수정했습니다.
         const response = await axios.get<SavedOption[]>('/api/products/me/saved-options');
-        const savedList = response.data;
+        // 서버는 바꾼 파츠만(델타) 내려주므로, 합쳐 둔 문서(캐시되는 GET 한 번)를 받아 쓴다.
+        const savedList = await Promise.all(response.data.map(async (option) => ({
+          ...option,
+          materialOverrides: option.resolvedConfigUrl
+            ? await fetchResolvedConfig(option.resolvedConfigUrl)
+            : await expandMaterialOverrides(option.materialOverrides, option.baseMaterialHash),
+        })));
         
         const finalOptions = [defaultCharacter, ...savedList];
         setSavedOptions(finalOptions);
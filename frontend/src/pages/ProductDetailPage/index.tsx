@@ -1,12 +1,12 @@
 // src/pages/ProductDetailPage.tsx (최종 완성본)
 
-import React, { useState, useEffect, useMemo, useCallback } from 'react';
+import React, { useState, useEffect, useMemo, useCallback, useRef } from 'react';
 import { useParams } from 'react-router-dom';
 import styles from './style.module.css';
 import SubOptionPanel from '../../components/productDetail/SubOptionPanel';
 import { ThreeJsViewer} from '../../components/productDetail';
-import {  type ProductDetail } from '../../types/product';
-import {  saveSelectedOptions, fetchProductById, preparePaymentApi, verifyPaymentApi  } from '../../api/productApi';
+import {  type ProductDetail, type SelectedOptions } from '../../types/product';
+import {  saveSelectedOptions, fetchProductById, preparePaymentApi, verifyPaymentApi, recordConfiguratorOpen, fetchPriceQuote  } from '../../api/productApi';
 import {type CustomizablePart,  type MaterialOverrides, type MaterialProperties} from '../../types/productDetail';
 import DeliveryInfoModal, { type DeliveryInfoData } from '../../components/productDetail/DeliveryInfoModal';
 import Modal from '../../components/Modal';
@@ -23,6 +23,7 @@ const ProductDetailPage = () => {
   const [merchantUid, setMerchantUid] = useState<string | null>(null);
   const [customizableParts, setCustomizableParts] = useState<CustomizablePart[]>([]);
     const [materialOverrides, setMaterialOverrides] = useState<MaterialOverrides>({});
+  const [selectedOptions, setSelectedOptions] = useState<SelectedOptions>({});
 
   // 데이터 로딩, 가격 계산 useEffect (변경 없음)
   useEffect(() => {
@@ -37,6 +38,34 @@ const ProductDetailPage = () => {
     loadData();
   }, [id]);
   
+  // 옵션을 바꿀 때마다 서버 견적으로 총 금액을 갱신 (결제 금액과 같은 계산)
+  useEffect(() => {
+    if (!id || !productInfo) return;
+    let cancelled = false;
+    fetchPriceQuote(id, selectedOptions)
+      .then((quote) => { if (!cancelled) setTotalPrice(quote.totalPrice); })
+      .catch((error) => console.error('견적 계산에 실패했습니다:', error));
+    return () => { cancelled = true; };
+  }, [id, productInfo, selectedOptions]);
+
+  const handleOptionSelect = useCallback((category: string, optionId: number | null) => {
+    setSelectedOptions(prev => {
+      const next = { ...prev };
+      if (optionId === null) delete next[category];
+      else next[category] = optionId;
+      return next;
+    });
+    setIsSaved(false); // 구성이 바뀌었으니 다시 저장해야 함
+  }, []);
+
+  // 모델이 로드되어 파츠 편집이 가능해지면 상품당 한 번 커스터마이저 진입으로 기록
+  const recordedOpenFor = useRef<string | null>(null);
+  useEffect(() => {
+    if (!id || customizableParts.length === 0 || recordedOpenFor.current === id) return;
+    recordedOpenFor.current = id;
+    recordConfiguratorOpen(id);
+  }, [id, customizableParts]);
+
   // ✅ [수정] '바로구매' 버튼의 컨트롤 타워
   const handlePurchaseClick = () => {
     // 1. 이미 저장이 되어 있다면, 저장된 ID로 바로 배송 정보 모달을 연다.
@@ -52,7 +81,7 @@ const ProductDetailPage = () => {
 
   const handleSaveAndProceedToDelivery = async () => {
     if (!id) return;
-    const payload = { mon: parseInt(id, 10), saveName: saveName, materialOverrides: JSON.stringify(materialOverrides) };
+    const payload = { mon: parseInt(id, 10), saveName: saveName, materialOverrides: JSON.stringify(materialOverrides), selectedOptions };
     try {
       // 1. 먼저 저장을 한다.
       const savedData = await saveSelectedOptions(payload);
@@ -123,7 +152,7 @@ const ProductDetailPage = () => {
   // '단순 저장' 로직 (이름 입력 모달과 연결됨)
   const handleConfirmSaveOnly = async () => {
     if (!id) return;
-    const payload = {  mon: parseInt(id, 10), saveName: saveName, materialOverrides: JSON.stringify(materialOverrides)};
+    const payload = {  mon: parseInt(id, 10), saveName: saveName, materialOverrides: JSON.stringify(materialOverrides), selectedOptions };
     try {
       if(!isSaved){
         const savedData = await saveSelectedOptions(payload);
@@ -191,6 +220,9 @@ const ProductDetailPage = () => {
           customParts={customizableParts}
           materialOverrides={materialOverrides}
           onMaterialChange={handleMaterialChange}
+          options={productInfo.options}
+          selectedOptions={selectedOptions}
+          onOptionSelect={handleOptionSelect}
           onSave={() => setIsSaveModalOpen(true)} 
           onBuy={handlePurchaseClick}   
         />
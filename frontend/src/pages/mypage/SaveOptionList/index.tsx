@@ -14,9 +14,18 @@ interface SavedOption {
   saveName: string;
   productName: string;
   savedAt: string;
-  materialOverrides: string; // JSON 문자열
+  materialOverrides: string | null; // JSON 문자열 (기본값에서 바꾼 파츠만)
 }
 
+// 저장 옵션 커서 페이지 응답
+interface SavedOptionPage {
+  items: SavedOption[];
+  nextCursor: number | null;
+  hasNext: boolean;
+}
+
+const PAGE_SIZE = 20;
+
 // ✅ [추가] JSON을 파싱한 뒤의 객체 타입을 위한 정의
 interface MaterialInfo {
   color: string;
@@ -59,12 +68,23 @@ const SavedOptions = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
+  const [nextCursor, setNextCursor] = useState<number | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  // 한 페이지씩 읽어서 뒤에 붙인다 (저장한 게 많아도 첫 화면은 빨리 뜨도록)
+  const fetchPage = async (cursor: number | null) => {
+    const response = await axios.get<SavedOptionPage>('/api/mypage/saved-options/page', {
+      params: { size: PAGE_SIZE, ...(cursor !== null && { cursor }) },
+    });
+    setSavedOptions(prev => (cursor === null ? response.data.items : [...prev, ...response.data.items]));
+    setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
+  };
+
   // 데이터 로딩을 위한 useEffect
   useEffect(() => {
     const fetchSavedOptions = async () => {
       try {
-        const response = await axios.get<SavedOption[]>('/api/mypage/saved-options');
-        setSavedOptions(response.data);
+        await fetchPage(null);
       } catch (err) {
         setError('저장된 옵션을 불러오는 데 실패했습니다.');
         console.error(err);
@@ -75,6 +95,19 @@ const SavedOptions = () => {
     fetchSavedOptions();
   }, []); // 처음 렌더링 시 한 번만 실행
 
+  const handleLoadMore = async () => {
+    if (nextCursor === null) return;
+    setLoadingMore(true);
+    try {
+      await fetchPage(nextCursor);
+    } catch (err) {
+      alert('저장된 옵션을 더 불러오지 못했습니다.');
+      console.error(err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   
   /**
    * [핵심] 삭제 버튼 클릭 시 실행될 함수
@@ -129,7 +162,7 @@ const SavedOptions = () => {
                 <td>{new Date(item.savedAt).toLocaleDateString()}</td>
                 <td>
                   {/* ✅✅✅ [핵심] 헬퍼 컴포넌트를 사용하여 재질 정보 렌더링 */}
-                  <MaterialDisplay materialJson={item.materialOverrides} />
+                  <MaterialDisplay materialJson={item.materialOverrides ?? '{}'} />
                 </td>
                 <td style={{ textAlign: 'center' }}>
                   <button onClick={() => handleDelete(item.id)} className={styles.deleteButton}>
@@ -141,6 +174,13 @@ const SavedOptions = () => {
           </tbody>
         </table>
       )}
+      {nextCursor !== null && (
+        <div className={styles.loadMore}>
+          <button onClick={handleLoadMore} disabled={loadingMore} className={styles.loadMoreButton}>
+            {loadingMore ? '불러오는 중...' : '더 보기'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
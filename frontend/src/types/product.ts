@@ -1,5 +1,11 @@
 export type ProductStatus = 'ON_SALE' | 'OUT_OF_STOCK' | 'CURRENTLY_UNAVAILABLE' | 'DISCONTINUED';
 
+// 고정 폭 썸네일 파생본 (srcset 한 항목)
+export interface ImageSource {
+  width: number;
+  url: string;
+}
+
 export interface Product {
   id: number;          // 각 상품을 구분할 고유 ID (상세페이지 이동 시 필수)
   name: string;        // 상품 이름
@@ -8,6 +14,8 @@ export interface Product {
   modelUrl: string;    // 상품 이미지 주소
   basePrice: number;
   status: ProductStatus;   // 기준 가격 ('500~' 처럼 표시할 때 사용)
+  imageUrl?: string;
+  imageSrcset?: ImageSource[];
   isCustom? : boolean;
 }
 
@@ -18,6 +26,7 @@ export interface SubOption {
 }
 
 export interface ProductOption {
+  id: number;          // 옵션 ID (선택/견적 요청에 사용)
   productId: number;
   parts: string; // 'skin', 'part1' 등 카테고리
   optionName: string;
@@ -27,10 +36,43 @@ export interface ProductOption {
   stock: number;
 }
 
+export interface MaterialProperties {
+  color: string;
+  metalness: number;
+  roughness: number;
+}
+
+// 단순화된 모델 (level이 클수록 삼각형이 적다)
+export interface ModelLod {
+  level: number;
+  url: string;
+  triangleCount: number;
+  byteSize: number;
+}
+
 export interface ProductDetail {
   id: number;
   name: string;
   basePrice: number;
   modelUrl?: string;
-  materialMap?: { [key: string]: string };
+  materialMap?: { [key: string]: MaterialProperties };
+  modelLods?: ModelLod[];
+  options?: ProductOption[];
+}
+
+// 카테고리(SKIN, PARTS_ONE ...)별로 고른 옵션 ID
+export type SelectedOptions = { [category: string]: number };
+
+export interface PriceQuoteLine {
+  category: string;
+  optionId: number;
+  optionName: string;
+  price: number;
+}
+
+export interface PriceQuote {
+  productId: number;
+  basePrice: number;
+  lines: PriceQuoteLine[];
+  totalPrice: number;
 }
\ No newline at end of file